@@ -20,6 +20,17 @@ public class Command {
      */
     private String note;
 
+    /**
+     * The interned CommandValue and code combination for this command.
+     */
+    private final Code code;
+
+    /**
+     * Reusable builder for each thread.
+     * @see #builder()
+     */
+    private static final ThreadLocal<Builder> BUILDERS = ThreadLocal.withInitial(Builder::new);
+
     /**
      * <pre>
      * String value constant that provides text based description for the StatusCode enumeration
@@ -178,12 +189,6 @@ public class Command {
         /** A ticket needs to be cancelled because it's a duplicate or inappropriate. */
         CANCEL }
 
-    /**
-     * Private field that references the set command.
-     * @see CommandValue
-     */
-    private CommandValue commandValue;
-
 
 
 
@@ -207,13 +212,6 @@ public class Command {
         /** This ticket is waiting on information from a 3rd party provider. */
         AWAITING_PROVIDER }
 
-    /**
-     * Private field of enum type FeedbackCode that references one of three possible feedback codes.
-     * @see FeedbackCode
-     */
-
-    private FeedbackCode feedbackCode;
-
     /**
      * Standard getter method to retrieve the feedback status update.
      * @return returns a {@link FeedbackCode} enumeraion value that can be: <br>
@@ -221,7 +219,7 @@ public class Command {
      * @see FeedbackCode for the types of feedback codes and their context
      */
     public FeedbackCode getFeedbackCode() {
-        return feedbackCode;
+        return code.feedbackCode;
     }
 
 
@@ -275,12 +273,6 @@ public class Command {
          */
         CALLER_CLOSED }
 
-    /**
-     * Private field of enum type ResolutionCode that references one of six possible resolution codes.
-     * @see ResolutionCode
-     */
-    private ResolutionCode resolutionCode;
-
     /**
      * Standard getter method to retrieve the enum value of type {@link ResolutionCode} required
      * for {@link CommandValue#RESOLVE}
@@ -291,7 +283,7 @@ public class Command {
      * @see ResolutionCode for the types of resolution codes and their context
      */
     public ResolutionCode getResolutionCode() {
-        return resolutionCode;
+        return code.resolutionCode;
     }
 
 
@@ -305,11 +297,6 @@ public class Command {
      */
     public enum CancellationCode { DUPLICATE, INAPPROPRIATE }
 
-    /**
-     * Private field that references one of two possible cancellation codes.
-     */
-    private CancellationCode cancellationCode;
-
     /**
      * Standard getter method to retrieve a cancellation request.
      * @return returns the enum{@code CancellationCode>} that can be:<br>
@@ -317,20 +304,15 @@ public class Command {
      * @see CancellationCode for the types of cancellation codes and their context
      */
     public CancellationCode getCancellationCode() {
-        return cancellationCode;
+        return code.cancellationCode;
     }
 
-    /**
-     * Instance variable to hold the String value definition of the assigned code.
-     */
-    private String codeString;
-
     /**
      * Standard getter method to retrieve the assigned code value.
      * @return returns the String value definition of the assigned code.
      */
     public String getCodeString() {
-        return codeString;
+        return code.codeString;
     }
 
 
@@ -392,61 +374,20 @@ public class Command {
     public Command(CommandValue command, String ownerId, FeedbackCode feedbackCode,
                    ResolutionCode resolutionCode, CancellationCode cancellationCode, String note) {
 
-        setNote(note);
-        setCommand(command);
-        setOwnerId(ownerId);
-
-        setFeedbackCode(feedbackCode);
-        setResolutionCode(resolutionCode);
-        setCancellationCode(cancellationCode);
-
-    }
-
-    /**
-     * For use by constructor. If passed null, ignores the value.
-     * Otherwise, sets the instance variable.
-     * @param cancellationCode the enum CancellationCode to set the instance variable to.
-     */
-    private void setCancellationCode(CancellationCode cancellationCode) {
-        if (cancellationCode == null) {
-            return;
-        } else { this.cancellationCode = cancellationCode; }
-
-        if (cancellationCode == CancellationCode.DUPLICATE) { this.codeString = CC_DUPLICATE; }
-        if (cancellationCode == CancellationCode.INAPPROPRIATE) { this.codeString = CC_INAPPROPRIATE; }
-    }
-
-    /**
-     * For use by constructor. If passed null, ignores the value.
-     * Otherwise, sets the instance variable.
-     * @param resolutionCode the enum ResolutionCode to set the instance variable to.
-     */
-    private void setResolutionCode(ResolutionCode resolutionCode) {
-        if (resolutionCode == null) {
-            return;
-        } else { this.resolutionCode = resolutionCode; }
-
-        if (resolutionCode == ResolutionCode.COMPLETED) 	{ this.codeString = RC_COMPLETED; }
-        if (resolutionCode == ResolutionCode.NOT_COMPLETED) { this.codeString = RC_NOT_COMPLETED; }
-        if (resolutionCode == ResolutionCode.SOLVED) 		{ this.codeString = RC_SOLVED; }
-        if (resolutionCode == ResolutionCode.NOT_SOLVED) 	{ this.codeString = RC_NOT_SOLVED; }
-        if (resolutionCode == ResolutionCode.WORKAROUND) 	{ this.codeString = RC_WORKAROUND; }
-        if (resolutionCode == ResolutionCode.CALLER_CLOSED) { this.codeString = RC_CALLER_CLOSED; }
+        this(Code.of(command, feedbackCode, resolutionCode, cancellationCode), ownerId, note);
     }
 
     /**
-     * For use by constructor. If passed null, ignores the value.
-     * Otherwise, sets the instance variable.
-     * @param feedbackCode the enum FeedbackCode to set the instance variable to.
+     * Constructor shared by the public constructor and {@link Builder}.
+     * @param code the interned command and code combination
+     * @param ownerId the owner assigned to a ticket
+     * @param note the note for the command
+     * @throws IllegalArgumentException if the note is null or empty or the ownerId is null
      */
-    private void setFeedbackCode(FeedbackCode feedbackCode) {
-        if (feedbackCode == null) {
-            return;
-        } else { this.feedbackCode = feedbackCode; }
-
-        if (feedbackCode == FeedbackCode.AWAITING_CALLER) { this.codeString = F_CALLER; }
-        if (feedbackCode == FeedbackCode.AWAITING_CHANGE) { this.codeString = F_CHANGE; }
-        if (feedbackCode == FeedbackCode.AWAITING_PROVIDER) {this.codeString = F_PROVIDER; }
+    private Command(Code code, String ownerId, String note) {
+        setNote(note);
+        this.code = code;
+        setOwnerId(ownerId);
     }
 
     /**
@@ -460,13 +401,6 @@ public class Command {
         this.ownerId = ownerId;
     }
 
-    /**
-     * Sets the {@link command} to the specified CommandValue.
-     * @param command the specified command to set
-     * @see CommandValue
-     */
-    private void setCommand(CommandValue command) { this.commandValue = command; }
-
     /**
      * Sets the {@link note} to a specified String value.
      * @param note the String value to set the note to.
@@ -490,7 +424,7 @@ public class Command {
      * @see CommandValue for the types of command's that can be given and their context
      */
     public CommandValue getCommand() {
-        return commandValue;
+        return code.command;
     }
 
     /**
@@ -511,4 +445,266 @@ public class Command {
         return note;
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns this thread's reusable {@link Builder}, cleared of any previous values. The
+     * same instance is returned on every call from a thread, so a builder must not be held
+     * across calls to this method.
+     * @return the thread's builder
+     */
+    public static Builder builder() {
+        Builder b = BUILDERS.get();
+        b.reset();
+        return b;
+    }
+
+    /**
+     * <pre>
+     * Mutable, reusable source of Commands for ingestion paths.
+     *
+     * The command value and codes resolve to an interned flyweight, so {@link #build()}
+     * allocates only the Command itself; the owner and note Strings are passed through.
+     * </pre>
+     */
+    public static final class Builder {
+
+        /** The command value to build. */
+        private CommandValue command;
+
+        /** The owner id to build. */
+        private String ownerId;
+
+        /** The feedback code to build. */
+        private FeedbackCode feedbackCode;
+
+        /** The resolution code to build. */
+        private ResolutionCode resolutionCode;
+
+        /** The cancellation code to build. */
+        private CancellationCode cancellationCode;
+
+        /** The note to build. */
+        private String note;
+
+        /**
+         * Creates an empty builder. Most callers should use {@link Command#builder()}.
+         */
+        public Builder() {
+            // All fields start null
+        }
+
+        /**
+         * Clears every value so the builder can be reused.
+         * @return this builder
+         */
+        public Builder reset() {
+            command = null;
+            ownerId = null;
+            feedbackCode = null;
+            resolutionCode = null;
+            cancellationCode = null;
+            note = null;
+            return this;
+        }
+
+        /**
+         * Sets the command value.
+         * @param command the command value
+         * @return this builder
+         */
+        public Builder command(CommandValue command) {
+            this.command = command;
+            return this;
+        }
+
+        /**
+         * Sets the owner id.
+         * @param ownerId the owner id
+         * @return this builder
+         */
+        public Builder ownerId(String ownerId) {
+            this.ownerId = ownerId;
+            return this;
+        }
+
+        /**
+         * Sets the feedback code.
+         * @param feedbackCode the feedback code
+         * @return this builder
+         */
+        public Builder feedbackCode(FeedbackCode feedbackCode) {
+            this.feedbackCode = feedbackCode;
+            return this;
+        }
+
+        /**
+         * Sets the resolution code.
+         * @param resolutionCode the resolution code
+         * @return this builder
+         */
+        public Builder resolutionCode(ResolutionCode resolutionCode) {
+            this.resolutionCode = resolutionCode;
+            return this;
+        }
+
+        /**
+         * Sets the cancellation code.
+         * @param cancellationCode the cancellation code
+         * @return this builder
+         */
+        public Builder cancellationCode(CancellationCode cancellationCode) {
+            this.cancellationCode = cancellationCode;
+            return this;
+        }
+
+        /**
+         * Sets the note.
+         * @param note the note
+         * @return this builder
+         */
+        public Builder note(String note) {
+            this.note = note;
+            return this;
+        }
+
+        /**
+         * Creates a Command from the current values. The builder keeps its values, so
+         * commands that differ only in their note can be built by changing the note.
+         * @return the new Command
+         * @throws IllegalArgumentException for the same values the Command constructor rejects
+         */
+        public Command build() {
+            return new Command(Code.of(command, feedbackCode, resolutionCode, cancellationCode),
+                    ownerId, note);
+        }
+    }
+
+    /**
+     * <pre>
+     * Flyweight for the CommandValue and code part of a Command.
+     *
+     * There are only 7 x 4 x 7 x 3 combinations of a (possibly null) CommandValue,
+     * FeedbackCode, ResolutionCode, and CancellationCode, so every combination is built
+     * once up front, with its code string, and looked up by ordinal.
+     * </pre>
+     */
+    private static final class Code {
+
+        /** Feedback code strings indexed by {@link FeedbackCode#ordinal()}. */
+        private static final String[] FEEDBACK_STRINGS = { F_CALLER, F_CHANGE, F_PROVIDER };
+
+        /** Resolution code strings indexed by {@link ResolutionCode#ordinal()}. */
+        private static final String[] RESOLUTION_STRINGS = { RC_COMPLETED, RC_NOT_COMPLETED,
+            RC_SOLVED, RC_WORKAROUND, RC_NOT_SOLVED, RC_CALLER_CLOSED };
+
+        /** Cancellation code strings indexed by {@link CancellationCode#ordinal()}. */
+        private static final String[] CANCELLATION_STRINGS = { CC_DUPLICATE, CC_INAPPROPRIATE };
+
+        /** Number of CommandValue slots, including null. */
+        private static final int CV = CommandValue.values().length + 1;
+
+        /** Number of FeedbackCode slots, including null. */
+        private static final int FC = FeedbackCode.values().length + 1;
+
+        /** Number of ResolutionCode slots, including null. */
+        private static final int RC = ResolutionCode.values().length + 1;
+
+        /** Number of CancellationCode slots, including null. */
+        private static final int CC = CancellationCode.values().length + 1;
+
+        /** Every combination, indexed by {@link #index(int, int, int, int)}. */
+        private static final Code[] TABLE = new Code[CV * FC * RC * CC];
+
+        static {
+            for (int v = 0; v < CV; v++) {
+                for (int f = 0; f < FC; f++) {
+                    for (int r = 0; r < RC; r++) {
+                        for (int c = 0; c < CC; c++) {
+                            TABLE[index(v, f, r, c)] = new Code(
+                                    v == 0 ? null : CommandValue.values()[v - 1],
+                                    f == 0 ? null : FeedbackCode.values()[f - 1],
+                                    r == 0 ? null : ResolutionCode.values()[r - 1],
+                                    c == 0 ? null : CancellationCode.values()[c - 1]);
+                        }
+                    }
+                }
+            }
+        }
+
+        /** The command value, may be null. */
+        final CommandValue command;
+
+        /** The feedback code, may be null. */
+        final FeedbackCode feedbackCode;
+
+        /** The resolution code, may be null. */
+        final ResolutionCode resolutionCode;
+
+        /** The cancellation code, may be null. */
+        final CancellationCode cancellationCode;
+
+        /**
+         * The String value definition of the code. When more than one code is given the
+         * cancellation code wins, then the resolution code.
+         */
+        final String codeString;
+
+        /**
+         * Creates a flyweight.
+         * @param command the command value
+         * @param feedbackCode the feedback code
+         * @param resolutionCode the resolution code
+         * @param cancellationCode the cancellation code
+         */
+        private Code(CommandValue command, FeedbackCode feedbackCode, ResolutionCode resolutionCode,
+                     CancellationCode cancellationCode) {
+            this.command = command;
+            this.feedbackCode = feedbackCode;
+            this.resolutionCode = resolutionCode;
+            this.cancellationCode = cancellationCode;
+            if (cancellationCode != null) {
+                codeString = CANCELLATION_STRINGS[cancellationCode.ordinal()];
+            } else if (resolutionCode != null) {
+                codeString = RESOLUTION_STRINGS[resolutionCode.ordinal()];
+            } else if (feedbackCode != null) {
+                codeString = FEEDBACK_STRINGS[feedbackCode.ordinal()];
+            } else {
+                codeString = null;
+            }
+        }
+
+        /**
+         * Returns the flyweight for a combination of values.
+         * @param command the command value, may be null
+         * @param feedbackCode the feedback code, may be null
+         * @param resolutionCode the resolution code, may be null
+         * @param cancellationCode the cancellation code, may be null
+         * @return the shared Code
+         */
+        static Code of(CommandValue command, FeedbackCode feedbackCode, ResolutionCode resolutionCode,
+                       CancellationCode cancellationCode) {
+            return TABLE[index(slot(command), slot(feedbackCode), slot(resolutionCode), slot(cancellationCode))];
+        }
+
+        /**
+         * Returns the table slot of an enum value, 0 for null.
+         * @param e the value
+         * @return ordinal + 1, or 0
+         */
+        private static int slot(Enum<?> e) {
+            return e == null ? 0 : e.ordinal() + 1;
+        }
+
+        /**
+         * Computes the table index of a combination of slots.
+         * @param v command value slot
+         * @param f feedback code slot
+         * @param r resolution code slot
+         * @param c cancellation code slot
+         * @return the index into {@link #TABLE}
+         */
+        private static int index(int v, int f, int r, int c) {
+            return ((v * FC + f) * RC + r) * CC + c;
+        }
+    }
+
+}
@@ -0,0 +1,357 @@
+package edu.ncsu.csc216.ticket_manager.model.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+
+/**
+ * <pre>
+ * Priority-aware admission control in front of ticket creation and
+ * {@link Ticket#update(Command)}.
+ *
+ * Every request names a priority and a caller. URGENT requests are always admitted. Any
+ * other request needs a permit from both its priority's {@link TokenBucket} and its
+ * caller's, so neither a flood of low priority work nor one noisy caller can crowd out
+ * the rest. A request without permits is handled by priority:
+ *
+ * 	HIGH, MEDIUM	queued, up to a shared capacity, and run by {@link #drain()}
+ * 	LOW		rejected
+ *
+ * Admitted work runs on the submitting thread. Queued work that throws when drained is
+ * counted by {@link #getFailedCount(Priority)} and does not stop the drain. Caller buckets
+ * that have refilled completely are discarded once there are more than
+ * {@value #SWEEP_THRESHOLD} callers, so the map only holds recently active callers. All
+ * state is lock free.
+ * </pre>
+ * @author brandonortiz
+ */
+public class AdmissionController {
+
+    /**
+     * Outcome of a submission.
+     */
+    public enum Decision {
+        /** The work was run. */
+        ADMITTED,
+        /** The work was queued and will run from {@link AdmissionController#drain()}. */
+        QUEUED,
+        /** The work was dropped. */
+        REJECTED
+    }
+
+    /** Number of priorities. */
+    private static final int PRIORITIES = Priority.values().length;
+
+    /** Number of caller buckets above which full buckets are discarded. */
+    static final int SWEEP_THRESHOLD = 1024;
+
+    /** Source of the current time in {@link System#nanoTime()} units. */
+    private final LongSupplier clock;
+
+    /** Permit bucket per priority ordinal; null for URGENT. */
+    private final TokenBucket[] priorityBuckets = new TokenBucket[PRIORITIES];
+
+    /** Permit bucket per caller. */
+    private final ConcurrentHashMap<String, TokenBucket> callerBuckets = new ConcurrentHashMap<String, TokenBucket>();
+
+    /** Sustained permits per second for each caller. */
+    private final int callerRate;
+
+    /** Caller count at which the next sweep of full caller buckets runs. */
+    private volatile int sweepAt = SWEEP_THRESHOLD;
+
+    /** True while a thread is sweeping caller buckets. */
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    /** Queued work per priority ordinal. */
+    private final Queue<Pending>[] queues;
+
+    /** Maximum number of queued requests across all priorities. */
+    private final int queueCapacity;
+
+    /** Number of requests queued now. */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /** Requests admitted per priority ordinal. */
+    private final LongAdder[] admittedCounts = newAdders();
+
+    /** Requests queued per priority ordinal, including those since drained. */
+    private final LongAdder[] queuedCounts = newAdders();
+
+    /** Requests rejected per priority ordinal. */
+    private final LongAdder[] rejectedCounts = newAdders();
+
+    /** Queued requests per priority ordinal that threw when drained. */
+    private final LongAdder[] failedCounts = newAdders();
+
+    /**
+     * Creates a controller.
+     * @param permitsPerSecond sustained permits per second for each priority, indexed by
+     * 		ordinal; the URGENT entry is ignored. Each bucket allows a burst of one second's
+     * 		permits.
+     * @param callerPermitsPerSecond sustained permits per second for each caller
+     * @param queueCapacity the maximum number of queued requests
+     * @throws IllegalArgumentException if there is not one rate per priority, a rate is less
+     * 		than 1, or the capacity is negative
+     */
+    public AdmissionController(int[] permitsPerSecond, int callerPermitsPerSecond, int queueCapacity) {
+        this(permitsPerSecond, callerPermitsPerSecond, queueCapacity, System::nanoTime);
+    }
+
+    /**
+     * Creates a controller.
+     * @param permitsPerSecond sustained permits per second for each priority, indexed by
+     * 		ordinal; the URGENT entry is ignored. Each bucket allows a burst of one second's
+     * 		permits.
+     * @param callerPermitsPerSecond sustained permits per second for each caller
+     * @param queueCapacity the maximum number of queued requests
+     * @param clock source of the current time in {@link System#nanoTime()} units
+     * @throws IllegalArgumentException if there is not one rate per priority, a rate is less
+     * 		than 1, the capacity is negative, or the clock is null
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public AdmissionController(int[] permitsPerSecond, int callerPermitsPerSecond, int queueCapacity,
+                               LongSupplier clock) {
+        if (permitsPerSecond == null || permitsPerSecond.length != PRIORITIES || callerPermitsPerSecond < 1
+                || queueCapacity < 0 || clock == null) {
+            throw new IllegalArgumentException();
+        }
+        this.clock = clock;
+        long now = clock.getAsLong();
+        for (int p = 0; p < PRIORITIES; p++) {
+            if (p != Priority.URGENT.ordinal()) {
+                priorityBuckets[p] = new TokenBucket(permitsPerSecond[p], permitsPerSecond[p], now);
+            }
+        }
+        this.callerRate = callerPermitsPerSecond;
+        this.queueCapacity = queueCapacity;
+        queues = new Queue[PRIORITIES];
+        for (int p = 0; p < PRIORITIES; p++) { queues[p] = new ConcurrentLinkedQueue<Pending>(); }
+    }
+
+    /**
+     * Submits work for admission.
+     * @param priority the priority of the ticket the work is for
+     * @param caller the caller the work is on behalf of
+     * @param work the work, such as creating a ticket or applying a Command
+     * @return whether the work was run, queued, or rejected
+     * @throws IllegalArgumentException if any argument is null
+     */
+    public Decision submit(Priority priority, String caller, Runnable work) {
+        if (priority == null || caller == null || work == null) { throw new IllegalArgumentException(); }
+        int p = priority.ordinal();
+        if (priority == Priority.URGENT || tryAcquire(p, caller)) {
+            admittedCounts[p].increment();
+            work.run();
+            return Decision.ADMITTED;
+        }
+        if (priority != Priority.LOW && reserveQueueSlot()) {
+            queues[p].add(new Pending(caller, work));
+            queuedCounts[p].increment();
+            return Decision.QUEUED;
+        }
+        rejectedCounts[p].increment();
+        return Decision.REJECTED;
+    }
+
+    /**
+     * Submits a Command for a ticket, using the ticket's priority and caller.
+     * @param ticket the ticket to update
+     * @param command the Command to apply
+     * @return whether the Command was applied, queued, or rejected
+     * @throws IllegalArgumentException if either argument is null or the ticket has no
+     * 		valid priority
+     * @throws UnsupportedOperationException if the Command is admitted and the FSM rejects it
+     */
+    public Decision submitUpdate(Ticket ticket, Command command) {
+        if (ticket == null || command == null) { throw new IllegalArgumentException(); }
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        if (p < 0) { throw new IllegalArgumentException("Invalid priority"); }
+        return submit(Priority.values()[p], ticket.getCaller(), () -> ticket.update(command));
+    }
+
+    /**
+     * Runs queued work for which permits are now available, higher priorities first, in
+     * arrival order within a priority. Work whose caller is still over its limit stays
+     * queued. Work that throws is counted by {@link #getFailedCount(Priority)} and the
+     * drain goes on. Call this periodically from a worker thread.
+     * @return the number of requests run, including ones that threw
+     */
+    public int drain() {
+        int run = 0;
+        for (int p = 0; p < PRIORITIES; p++) {
+            Queue<Pending> q = queues[p];
+            for (int n = q.size(); n > 0; n--) {
+                long now = clock.getAsLong();
+                if (priorityBuckets[p] != null && !priorityBuckets[p].tryAcquire(now)) { break; }
+                Pending next = q.poll();
+                if (next == null) {
+                    if (priorityBuckets[p] != null) { priorityBuckets[p].refund(); }
+                    break;
+                }
+                if (!callerBucket(next.caller).tryAcquire(now)) {
+                    if (priorityBuckets[p] != null) { priorityBuckets[p].refund(); }
+                    q.add(next);
+                    continue;
+                }
+                queued.decrementAndGet();
+                admittedCounts[p].increment();
+                run++;
+                try {
+                    next.work.run();
+                } catch (RuntimeException e) {
+                    failedCounts[p].increment();
+                }
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Returns the number of requests admitted at a priority, including queued requests
+     * later run by {@link #drain()}.
+     * @param priority the priority
+     * @return the count
+     */
+    public long getAdmittedCount(Priority priority) {
+        return admittedCounts[priority.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of requests at a priority that have been queued.
+     * @param priority the priority
+     * @return the count
+     */
+    public long getQueuedCount(Priority priority) {
+        return queuedCounts[priority.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of requests rejected at a priority.
+     * @param priority the priority
+     * @return the count
+     */
+    public long getRejectedCount(Priority priority) {
+        return rejectedCounts[priority.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of queued requests at a priority that threw when drained.
+     * @param priority the priority
+     * @return the count
+     */
+    public long getFailedCount(Priority priority) {
+        return failedCounts[priority.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of callers with a bucket, for monitoring the caller map.
+     * @return the number of caller buckets
+     */
+    public int getCallerBucketCount() {
+        return callerBuckets.size();
+    }
+
+    /**
+     * Returns the number of requests waiting in the queue now.
+     * @return the queue length
+     */
+    public int getQueueLength() {
+        return queued.get();
+    }
+
+    /**
+     * Takes a permit from both the priority's and the caller's bucket, or neither.
+     * @param p the priority ordinal
+     * @param caller the caller
+     * @return true if both permits were taken
+     */
+    private boolean tryAcquire(int p, String caller) {
+        long now = clock.getAsLong();
+        if (!priorityBuckets[p].tryAcquire(now)) { return false; }
+        if (callerBucket(caller).tryAcquire(now)) { return true; }
+        priorityBuckets[p].refund();
+        return false;
+    }
+
+    /**
+     * Returns a caller's bucket, creating it on first use. Creating one may sweep the map.
+     * @param caller the caller
+     * @return the bucket
+     */
+    private TokenBucket callerBucket(String caller) {
+        TokenBucket b = callerBuckets.get(caller);
+        if (b != null) { return b; }
+        if (callerBuckets.size() >= sweepAt) { sweep(); }
+        return callerBuckets.computeIfAbsent(caller, c -> new TokenBucket(callerRate, callerRate, clock.getAsLong()));
+    }
+
+    /**
+     * Discards caller buckets that have refilled completely, since a new bucket would be
+     * identical, and sets the next sweep for when the map has doubled. A thread that
+     * fetched a bucket just before it was discarded may still take one permit from it.
+     */
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) { return; }
+        try {
+            long now = clock.getAsLong();
+            callerBuckets.values().removeIf(bucket -> bucket.isFull(now));
+            sweepAt = Math.max(SWEEP_THRESHOLD, callerBuckets.size() * 2);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * Claims a queue slot if the queue is not full.
+     * @return true if a slot was claimed
+     */
+    private boolean reserveQueueSlot() {
+        while (true) {
+            int n = queued.get();
+            if (n >= queueCapacity) { return false; }
+            if (queued.compareAndSet(n, n + 1)) { return true; }
+        }
+    }
+
+    /**
+     * Creates one counter per priority.
+     * @return the counters
+     */
+    private static LongAdder[] newAdders() {
+        LongAdder[] a = new LongAdder[PRIORITIES];
+        for (int p = 0; p < PRIORITIES; p++) { a[p] = new LongAdder(); }
+        return a;
+    }
+
+    /**
+     * A queued request.
+     */
+    private static final class Pending {
+
+        /** The caller. */
+        final String caller;
+
+        /** The work. */
+        final Runnable work;
+
+        /**
+         * Creates a queued request.
+         * @param caller the caller
+         * @param work the work
+         */
+        Pending(String caller, Runnable work) {
+            this.caller = caller;
+            this.work = work;
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+package edu.ncsu.csc216.ticket_manager.model.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * <pre>
+ * Thread-per-core execution mode for ticket commands.
+ *
+ * Tickets are partitioned by ticketId across N shards. Each shard is a single thread that
+ * owns its Tickets outright and drains a bounded mailbox of work, so a shard calls
+ * {@link Ticket#update(Command)} without any locking. Results are returned to callers
+ * through futures.
+ *
+ * A Ticket handed to the engine must no longer be read or modified by any other thread
+ * except through {@link #query(int, Function)}.
+ * </pre>
+ * @author brandonortiz
+ */
+public class ShardedTicketEngine {
+
+    /** Default capacity of each shard's mailbox. */
+    public static final int DEFAULT_MAILBOX_CAPACITY = 1024;
+
+    /** The shards, indexed by {@link #shardFor(int)}. */
+    private final Shard[] shards;
+
+    /** True once {@link #shutdown()} has been called. Written under {@link #shutdownLock}. */
+    private volatile boolean shutdown;
+
+    /**
+     * Held for reading while a task is checked against {@link #shutdown} and enqueued, and
+     * for writing while shutting down, so no task can land behind a shard's exit marker.
+     */
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates an engine with one shard per available processor.
+     */
+    public ShardedTicketEngine() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    /**
+     * Creates an engine and starts its shard threads.
+     * @param shardCount the number of shards, normally the number of cores
+     * @param mailboxCapacity the maximum number of pending requests per shard. Callers block
+     * 		when a shard's mailbox is full.
+     * @throws IllegalArgumentException if either value is less than 1
+     */
+    public ShardedTicketEngine(int shardCount, int mailboxCapacity) {
+        if (shardCount < 1 || mailboxCapacity < 1) { throw new IllegalArgumentException(); }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, mailboxCapacity);
+            shards[i].start();
+        }
+    }
+
+    /**
+     * Hands ownership of a Ticket to the shard responsible for its ticketId.
+     * @param ticket the ticket to add
+     * @return a future completed with the ticket once the shard has stored it
+     * @throws IllegalArgumentException if the ticket is null
+     */
+    public CompletableFuture<Ticket> addTicket(Ticket ticket) {
+        if (ticket == null) { throw new IllegalArgumentException(); }
+        CompletableFuture<Ticket> result = new CompletableFuture<Ticket>();
+        Shard shard = shardFor(ticket.getTicketId());
+        submit(shard, () -> {
+            shard.tickets.put(ticket.getTicketId(), ticket);
+            result.complete(ticket);
+        }, result);
+        return result;
+    }
+
+    /**
+     * Applies a Command to a Ticket on its owning shard.
+     * @param ticketId the id of the ticket to update
+     * @param command the command to apply
+     * @return a future completed with the ticket's state after the update, or completed
+     * 		exceptionally with the UnsupportedOperationException thrown by the FSM, or an
+     * 		IllegalArgumentException if no ticket has the given id
+     */
+    public CompletableFuture<String> execute(int ticketId, Command command) {
+        if (command == null) { throw new IllegalArgumentException(); }
+        CompletableFuture<String> result = new CompletableFuture<String>();
+        Shard shard = shardFor(ticketId);
+        submit(shard, () -> {
+            Ticket t = shard.tickets.get(ticketId);
+            if (t == null) { throw new IllegalArgumentException("No ticket " + ticketId); }
+            t.update(command);
+            result.complete(t.getState());
+        }, result);
+        return result;
+    }
+
+    /**
+     * Runs a read-only function against a Ticket on its owning shard.
+     * @param <T> the result type
+     * @param ticketId the id of the ticket
+     * @param reader the function to apply; it must not keep a reference to the ticket
+     * @return a future completed with the function's result, or with null if no ticket has
+     * 		the given id
+     */
+    public <T> CompletableFuture<T> query(int ticketId, Function<Ticket, T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<T>();
+        Shard shard = shardFor(ticketId);
+        submit(shard, () -> {
+            Ticket t = shard.tickets.get(ticketId);
+            result.complete(t == null ? null : reader.apply(t));
+        }, result);
+        return result;
+    }
+
+    /**
+     * Removes a Ticket from the engine.
+     * @param ticketId the id of the ticket to remove
+     * @return a future completed with the removed ticket, or null if there was none
+     */
+    public CompletableFuture<Ticket> removeTicket(int ticketId) {
+        CompletableFuture<Ticket> result = new CompletableFuture<Ticket>();
+        Shard shard = shardFor(ticketId);
+        submit(shard, () -> result.complete(shard.tickets.remove(ticketId)), result);
+        return result;
+    }
+
+    /**
+     * Returns the number of shards.
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stops accepting work. Requests already in a mailbox are still processed before each
+     * shard thread exits. Does not wait for full mailboxes to drain.
+     */
+    public void shutdown() {
+        shutdownLock.writeLock().lock();
+        try {
+            if (shutdown) { return; }
+            shutdown = true;
+            for (Shard s : shards) {
+                s.mailbox.add(Shard.POISON);
+            }
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for all shard threads to exit after {@link #shutdown()}.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        for (Shard s : shards) {
+            s.join();
+        }
+    }
+
+    /**
+     * Returns the shard that owns a ticketId.
+     * @param ticketId the ticket id
+     * @return the owning shard
+     */
+    private Shard shardFor(int ticketId) {
+        return shards[Math.floorMod(ticketId, shards.length)];
+    }
+
+    /**
+     * Enqueues a task on a shard, blocking while its mailbox is full. Anything thrown by the
+     * task, including an Error, completes the future exceptionally.
+     * @param shard the target shard
+     * @param task the work to run on the shard thread
+     * @param result the future to fail if the task throws or cannot be queued
+     */
+    private void submit(Shard shard, Runnable task, CompletableFuture<?> result) {
+        if (shutdown) {
+            result.completeExceptionally(new RejectedExecutionException("Engine is shut down"));
+            return;
+        }
+        try {
+            shard.slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return;
+        }
+        shutdownLock.readLock().lock();
+        try {
+            if (!shutdown) {
+                shard.mailbox.add(new Task(task, result));
+                return;
+            }
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        shard.slots.release();
+        result.completeExceptionally(new RejectedExecutionException("Engine is shut down"));
+    }
+
+    /**
+     * A queued request and the future it reports to.
+     */
+    private static final class Task implements Runnable {
+
+        /** The work. */
+        final Runnable work;
+
+        /** The future to fail if the work throws or never runs. */
+        final CompletableFuture<?> result;
+
+        /**
+         * Creates a task.
+         * @param work the work
+         * @param result the caller's future
+         */
+        Task(Runnable work, CompletableFuture<?> result) {
+            this.work = work;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            try {
+                work.run();
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * A single-threaded partition of the ticket set.
+     */
+    private static final class Shard extends Thread {
+
+        /** Marker task that tells a shard to exit. */
+        static final Runnable POISON = () -> { };
+
+        /** Tickets owned by this shard. Only touched by this thread. */
+        final Map<Integer, Ticket> tickets = new HashMap<Integer, Ticket>();
+
+        /** Pending work for this shard, plus the exit marker. */
+        final BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<Runnable>();
+
+        /**
+         * Free places in the mailbox. The mailbox itself is unbounded so the exit marker
+         * never waits; submitters take a slot first and the shard returns it.
+         */
+        final Semaphore slots;
+
+        /**
+         * Creates a shard thread.
+         * @param index the shard index, used in the thread name
+         * @param capacity the mailbox capacity
+         */
+        Shard(int index, int capacity) {
+            super("ticket-shard-" + index);
+            setDaemon(true);
+            slots = new Semaphore(capacity);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Runnable task = mailbox.take();
+                    if (task == POISON) { return; }
+                    slots.release();
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // Wake submitters still waiting for a slot; they then see the shutdown
+                slots.release(Integer.MAX_VALUE / 2);
+                for (Runnable task = mailbox.poll(); task != null; task = mailbox.poll()) {
+                    if (task instanceof Task) {
+                        ((Task) task).result.completeExceptionally(
+                                new RejectedExecutionException("Shard " + getName() + " has exited"));
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.ticket_manager.model.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <pre>
+ * Lock-free token bucket.
+ *
+ * The bucket is kept as a single theoretical arrival time (the generic cell rate
+ * algorithm): each permit pushes the time forward by one interval, and a permit is
+ * refused while the time is more than the burst ahead of now. Taking a permit is one
+ * compare-and-set on an AtomicLong.
+ * </pre>
+ * @author brandonortiz
+ */
+final class TokenBucket {
+
+    /** Nanoseconds between permits at the sustained rate. */
+    private final long interval;
+
+    /** How far ahead of now the arrival time may run, in nanoseconds. */
+    private final long tolerance;
+
+    /** Theoretical arrival time of the next permit, in {@link System#nanoTime()} units. */
+    private final AtomicLong arrival;
+
+    /**
+     * Creates a full bucket.
+     * @param permitsPerSecond the sustained rate
+     * @param burst the number of permits that may be taken at once
+     * @throws IllegalArgumentException if either value is less than 1
+     */
+    TokenBucket(int permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System.nanoTime());
+    }
+
+    /**
+     * Creates a bucket that is full at a given time.
+     * @param permitsPerSecond the sustained rate
+     * @param burst the number of permits that may be taken at once
+     * @param now the current {@link System#nanoTime()}
+     * @throws IllegalArgumentException if either value is less than 1
+     */
+    TokenBucket(int permitsPerSecond, int burst, long now) {
+        if (permitsPerSecond < 1 || burst < 1) { throw new IllegalArgumentException(); }
+        interval = 1_000_000_000L / permitsPerSecond;
+        tolerance = interval * (burst - 1);
+        arrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a permit if one is available.
+     * @param now the current {@link System#nanoTime()}
+     * @return true if a permit was taken
+     */
+    boolean tryAcquire(long now) {
+        while (true) {
+            long a = arrival.get();
+            long next = a - now < 0 ? now : a;
+            if (next - now > tolerance) { return false; }
+            if (arrival.compareAndSet(a, next + interval)) { return true; }
+        }
+    }
+
+    /**
+     * Returns true if the bucket has refilled completely, so it behaves exactly like a new
+     * one and can be discarded.
+     * @param now the current {@link System#nanoTime()}
+     * @return true if every permit is available
+     */
+    boolean isFull(long now) {
+        return arrival.get() - now <= 0;
+    }
+
+    /**
+     * Returns a permit taken by {@link #tryAcquire(long)} that was not used.
+     */
+    void refund() {
+        arrival.addAndGet(-interval);
+    }
+
+}
@@ -0,0 +1,177 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * <pre>
+ * Moves saving off the GUI and API threads.
+ *
+ * {@link #requestSave(Supplier)} stages a source of the current tickets and returns at
+ * once with a future; it never touches the file. A persistence thread takes the latest
+ * source, reads the tickets from it and writes them to an {@link IncrementalTicketFile}.
+ * Requests that arrive while a write is running only replace the staged source, so any
+ * number of them are merged into one follow-up write, and all of their futures complete
+ * together when it is durable. Callers that do not need durability can ignore the future.
+ *
+ * A caller whose collection is not safe to read from another thread uses
+ * {@link #requestSave(Collection)}, which copies the references first, outside the lock.
+ *
+ * If the write throws an Error, the future is failed, the saver closes itself and the
+ * Error is rethrown on the persistence thread.
+ * </pre>
+ * @author brandonortiz
+ */
+public class BackgroundSaver implements Closeable {
+
+    /** The file written by the persistence thread. */
+    private final IncrementalTicketFile file;
+
+    /** Source of the tickets for the next write, or null. Guarded by this. */
+    private Supplier<? extends Collection<Ticket>> staged;
+
+    /** Future for the next write, or null if no request is waiting. Guarded by this. */
+    private CompletableFuture<Integer> pending;
+
+    /** True once close() has been called or the persistence thread has died. Guarded by this. */
+    private boolean closed;
+
+    /** Number of save requests received. Guarded by this. */
+    private long requests;
+
+    /** Number of writes performed. Guarded by this. */
+    private long writes;
+
+    /** The persistence thread. */
+    private final Thread worker;
+
+    /**
+     * Creates a saver and starts its persistence thread.
+     * @param file the file to save to
+     * @throws IllegalArgumentException if the file is null
+     */
+    public BackgroundSaver(IncrementalTicketFile file) {
+        if (file == null) { throw new IllegalArgumentException(); }
+        this.file = file;
+        this.worker = new Thread(this::run, "ticket-saver");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Copies the current ticket references and stages them for saving, without blocking on
+     * I/O. The copy is taken before the lock, so a large list never holds up the
+     * persistence thread.
+     * @param tickets the current ticket list
+     * @return a future completed with the number of records written once the save is on
+     * 		disk, or completed exceptionally if the write failed
+     * @throws IllegalStateException if the saver is closed
+     */
+    public CompletableFuture<Integer> requestSave(Collection<Ticket> tickets) {
+        List<Ticket> copy = Arrays.asList(tickets.toArray(new Ticket[0]));
+        return requestSave(() -> copy);
+    }
+
+    /**
+     * Stages a source of the current tickets for saving and returns at once. The source is
+     * called on the persistence thread, so it must be safe to call from there, such as a
+     * view of a concurrent map; only the latest source staged before a write is called.
+     * @param tickets supplies the current tickets
+     * @return a future completed with the number of records written once the save is on
+     * 		disk, or completed exceptionally if the source or the write failed
+     * @throws IllegalStateException if the saver is closed
+     */
+    public synchronized CompletableFuture<Integer> requestSave(Supplier<? extends Collection<Ticket>> tickets) {
+        if (closed) { throw new IllegalStateException("Saver is closed"); }
+        requests++;
+        staged = tickets;
+        if (pending == null) {
+            pending = new CompletableFuture<Integer>();
+            notifyAll();
+        }
+        return pending;
+    }
+
+    /**
+     * Returns the number of save requests received.
+     * @return the number of requests
+     */
+    public synchronized long getRequestCount() {
+        return requests;
+    }
+
+    /**
+     * Returns the number of writes performed. Lower than the request count when requests
+     * were merged.
+     * @return the number of writes
+     */
+    public synchronized long getWriteCount() {
+        return writes;
+    }
+
+    /**
+     * Finishes any pending save and stops the persistence thread. The file is not closed.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Persistence thread loop: wait for a request, take the staged source, write. However
+     * the loop ends, the saver is closed and no future is left incomplete.
+     */
+    private void run() {
+        try {
+            while (true) {
+                CompletableFuture<Integer> done;
+                Supplier<? extends Collection<Ticket>> source;
+                synchronized (this) {
+                    while (pending == null && !closed) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                    if (pending == null) { return; }
+                    done = pending;
+                    pending = null;
+                    source = staged;
+                    staged = null;
+                    writes++;
+                }
+                try {
+                    done.complete(file.save(source.get()));
+                } catch (Throwable e) {
+                    done.completeExceptionally(e);
+                    if (e instanceof Error) { throw (Error) e; }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                closed = true;
+                staged = null;
+                if (pending != null) {
+                    pending.completeExceptionally(new IllegalStateException("Saver is closed"));
+                    pending = null;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,512 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.NoteCompressor;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.trace.TicketFileEvent;
+
+/**
+ * <pre>
+ * Ticket file that is saved incrementally.
+ *
+ * The file is a sequence of slots, each holding one ticket record in the text format of
+ * {@link Ticket#toString()}:
+ *
+ * 	[int capacity][int length][int ticketId][int crc][byte live][capacity bytes]
+ *
+ * An in-memory index maps each ticketId to the offset of its live slot. {@link #save}
+ * writes only tickets that are dirty: a record that still fits its slot is patched in
+ * place, otherwise the record is appended in a new slot with some room to grow, and only
+ * then is the old slot marked dead (a tombstone). Once dead slots outweigh live ones the
+ * file is compacted on a background thread. Save cost therefore follows the number of
+ * changed tickets, not the size of the backlog.
+ *
+ * Every slot carries the CRC-32 of its record. If a save is interrupted, opening the file
+ * recovers as follows:
+ *
+ * 	a partial slot at the end of the file was never marked live and is cut off
+ * 	of two live slots for one ticket, the later one is kept and the earlier marked dead
+ * 	a slot whose record fails its checksum is dead if a live copy of the ticket precedes
+ * 		it; otherwise it is a torn patch, and the file is reported as corrupt
+ *
+ * A file opened with compressNotes keeps the notes of Closed and Canceled tickets
+ * compressed, as {@link TicketWriter} does, and holds the trained note dictionaries in a
+ * slot with ticketId 0 that is rewritten whenever a dictionary is added.
+ * </pre>
+ * @author brandonortiz
+ */
+public class IncrementalTicketFile implements Closeable {
+
+    /** Bytes in a slot header. */
+    private static final int HEADER = 17;
+
+    /** Offset of the CRC within a slot header. */
+    private static final int CRC_OFFSET = 12;
+
+    /** Dead bytes below which the file is never compacted. */
+    private static final long MIN_COMPACT_BYTES = 1024 * 1024;
+
+    /** TicketId of the slot holding note dictionaries; real ticket ids start at 1. */
+    private static final int DICTIONARY_SLOT = 0;
+
+    /** Name of the file. */
+    private final String fileName;
+
+    /** True to write terminal tickets' notes compressed. */
+    private final boolean compressNotes;
+
+    /** Number of dictionaries held in the dictionary slot. */
+    private int savedDictionaries;
+
+    /** The open file. */
+    private RandomAccessFile file;
+
+    /** Offset of each ticket's live slot. */
+    private final Map<Integer, Long> index = new HashMap<Integer, Long>();
+
+    /** Bytes taken up by live slots. */
+    private long liveBytes;
+
+    /** Bytes taken up by dead slots. */
+    private long deadBytes;
+
+    /** End of the last complete slot; a failed append leaves bytes past it to be overwritten. */
+    private long end;
+
+    /** Runs compaction off the caller's thread. */
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ticket-file-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Pending or running compaction, or null. */
+    private CompletableFuture<Void> compaction;
+
+    /**
+     * Opens a file, creating it if needed, and indexes its live slots.
+     * @param fileName the file name
+     * @throws IllegalArgumentException if the file cannot be opened or is corrupt
+     */
+    public IncrementalTicketFile(String fileName) {
+        this(fileName, false);
+    }
+
+    /**
+     * Opens a file, creating it if needed, and indexes its live slots. Note dictionaries
+     * held in the file are installed in the shared NoteCompressor.
+     * @param fileName the file name
+     * @param compressNotes true to write the notes of Closed and Canceled tickets compressed
+     * @throws IllegalArgumentException if the file cannot be opened or is corrupt
+     */
+    public IncrementalTicketFile(String fileName, boolean compressNotes) {
+        this.fileName = fileName;
+        this.compressNotes = compressNotes;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to load file.");
+        }
+    }
+
+    /**
+     * Reads every live ticket through the IO constructor.
+     * @return the tickets in file order
+     * @throws IllegalArgumentException if the file cannot be read
+     */
+    public synchronized List<Ticket> load() {
+        List<Ticket> tickets = new ArrayList<Ticket>(index.size());
+        TicketFileEvent event = new TicketFileEvent();
+        event.begin();
+        try {
+            long pos = 0;
+            while (pos < end) {
+                file.seek(pos);
+                int capacity = file.readInt();
+                int length = file.readInt();
+                int id = file.readInt();
+                Long live = index.get(id);
+                if (live != null && live == pos && id != DICTIONARY_SLOT) {
+                    byte[] b = new byte[length];
+                    file.seek(pos + HEADER);
+                    file.readFully(b);
+                    tickets.add(TicketReader.processTicket(new String(b, StandardCharsets.UTF_8)));
+                }
+                pos += HEADER + capacity;
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to load file.");
+        } finally {
+            commit(event, TicketFileEvent.LOAD, tickets.size());
+        }
+        return tickets;
+    }
+
+    /**
+     * Writes every dirty ticket, or any ticket not yet in the file, and clears its dirty
+     * flag. Tickets in the file that are not in the collection are left alone; use
+     * {@link #delete(int)} to remove them. If the save fails, every ticket it cleared is
+     * marked dirty again, so the next save writes it.
+     * @param tickets the current tickets
+     * @return the number of records written
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    public synchronized int save(Collection<Ticket> tickets) {
+        List<Ticket> cleared = new ArrayList<Ticket>();
+        int written = 0;
+        boolean saved = false;
+        TicketFileEvent event = new TicketFileEvent();
+        event.begin();
+        try {
+            try {
+                ByteArrayOutputStream buf = new ByteArrayOutputStream(256);
+                if (compressNotes) { saveDictionaries(buf); }
+                for (Ticket t : tickets) {
+                    Long offset = index.get(t.getTicketId());
+                    if (t.clearDirty()) {
+                        cleared.add(t);
+                    } else if (offset != null) {
+                        continue;
+                    }
+                    buf.reset();
+                    t.writeTo(buf, compressNotes);
+                    write(t.getTicketId(), offset, buf.toByteArray());
+                    written++;
+                }
+            } finally {
+                commit(event, TicketFileEvent.SAVE, written);
+            }
+            if (written > 0) {
+                TicketFileEvent sync = new TicketFileEvent();
+                sync.begin();
+                file.getChannel().force(false);
+                commit(sync, TicketFileEvent.FSYNC, written);
+            }
+            saved = true;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        } finally {
+            if (!saved) {
+                for (Ticket t : cleared) { t.markDirty(); }
+            }
+        }
+        maybeCompact();
+        return written;
+    }
+
+    /**
+     * Marks a ticket's slot dead.
+     * @param ticketId the ticket id
+     * @return true if the ticket was in the file
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    public synchronized boolean delete(int ticketId) {
+        Long offset = index.remove(ticketId);
+        if (offset == null) { return false; }
+        try {
+            kill(offset);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        }
+        maybeCompact();
+        return true;
+    }
+
+    /**
+     * Returns the number of live tickets in the file.
+     * @return the number of tickets
+     */
+    public synchronized int size() {
+        return index.containsKey(DICTIONARY_SLOT) ? index.size() - 1 : index.size();
+    }
+
+    /**
+     * Returns the number of bytes held by dead slots.
+     * @return the dead bytes
+     */
+    public synchronized long getDeadBytes() {
+        return deadBytes;
+    }
+
+    /**
+     * Starts a compaction on the background thread unless one is already pending.
+     * @return a future completed when the compaction is done
+     */
+    public synchronized CompletableFuture<Void> compactAsync() {
+        if (compaction == null || compaction.isDone()) {
+            compaction = CompletableFuture.runAsync(this::compact, compactor);
+        }
+        return compaction;
+    }
+
+    /**
+     * Rewrites the file with only its live slots.
+     * @throws IllegalArgumentException if the file cannot be rewritten
+     */
+    public synchronized void compact() {
+        Path target = Paths.get(fileName);
+        Path temp = Paths.get(fileName + ".compact");
+        TicketFileEvent event = new TicketFileEvent();
+        event.begin();
+        try {
+            try (RandomAccessFile out = new RandomAccessFile(temp.toFile(), "rw")) {
+                out.setLength(0);
+                for (long offset : index.values()) {
+                    file.seek(offset);
+                    int capacity = file.readInt();
+                    byte[] slot = new byte[HEADER + capacity];
+                    file.seek(offset);
+                    file.readFully(slot);
+                    out.write(slot);
+                }
+                out.getChannel().force(true);
+            }
+            file.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        } finally {
+            commit(event, TicketFileEvent.COMPACT, index.size());
+        }
+    }
+
+    /**
+     * Ends a file event and records it if it passed its threshold.
+     * @param event the event, begun when the operation started
+     * @param operation the operation name
+     * @param tickets the number of tickets read or written
+     */
+    private void commit(TicketFileEvent event, String operation, int tickets) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(operation, fileName, tickets);
+            event.commit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        CompletableFuture<Void> pending;
+        synchronized (this) {
+            pending = compaction;
+        }
+        if (pending != null) { pending.exceptionally(e -> null).join(); }
+        synchronized (this) {
+            file.close();
+        }
+    }
+
+    /**
+     * Opens the file, rebuilds the index and byte counts, and recovers from an interrupted
+     * save as described in the class comment.
+     * @throws IOException if the file cannot be read, or a live slot was torn
+     */
+    private void open() throws IOException {
+        file = new RandomAccessFile(fileName, "rw");
+        index.clear();
+        liveBytes = 0;
+        deadBytes = 0;
+        savedDictionaries = 0;
+        long pos = 0;
+        long length = file.length();
+        while (pos < length) {
+            if (length - pos < HEADER) { break; }
+            file.seek(pos);
+            int capacity = file.readInt();
+            int recordLength = file.readInt();
+            int id = file.readInt();
+            int crc = file.readInt();
+            boolean live = file.readBoolean();
+            if (capacity < 0 || length - pos - HEADER < capacity) { break; }
+            if (live && (recordLength < 0 || recordLength > capacity || crc != crc(read(pos, recordLength)))) {
+                if (!index.containsKey(id)) { throw new IOException("Corrupt slot"); }
+                // An append whose save was interrupted; the earlier copy is still live
+                live = false;
+                markDead(pos);
+            }
+            if (live) {
+                liveBytes += HEADER + capacity;
+                Long earlier = index.put(id, pos);
+                // The save that appended this slot was interrupted before it killed the old one
+                if (earlier != null) { kill(earlier); }
+            } else {
+                deadBytes += HEADER + capacity;
+            }
+            pos += HEADER + capacity;
+        }
+        if (pos != length) { file.setLength(pos); }
+        end = pos;
+        Long dictionaries = index.get(DICTIONARY_SLOT);
+        if (dictionaries != null) { loadDictionaries(dictionaries); }
+    }
+
+    /**
+     * Rewrites the dictionary slot if a dictionary has been added since it was written, so
+     * every compressed note written after it can be read back.
+     * @param buf scratch buffer
+     * @throws IOException if the write fails
+     */
+    private void saveDictionaries(ByteArrayOutputStream buf) throws IOException {
+        List<byte[]> dicts = NoteCompressor.getShared().getDictionaries();
+        if (dicts.size() == savedDictionaries) { return; }
+        buf.reset();
+        for (byte[] d : dicts) {
+            buf.write((TicketReader.dictionaryLine(d) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        write(DICTIONARY_SLOT, index.get(DICTIONARY_SLOT), buf.toByteArray());
+        savedDictionaries = dicts.size();
+    }
+
+    /**
+     * Installs the dictionaries held in the dictionary slot.
+     * @param offset the dictionary slot's offset
+     * @throws IOException if the slot cannot be read or is corrupt
+     */
+    private void loadDictionaries(long offset) throws IOException {
+        file.seek(offset + 4);
+        byte[] b = read(offset, file.readInt());
+        savedDictionaries = 0;
+        for (String line : new String(b, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.startsWith(TicketReader.DICTIONARY_PREFIX)) { continue; }
+            try {
+                NoteCompressor.getShared().addDictionary(
+                        Base64.getDecoder().decode(line.substring(TicketReader.DICTIONARY_PREFIX.length())));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt dictionary slot");
+            }
+            savedDictionaries++;
+        }
+    }
+
+    /**
+     * Writes a record into its existing slot if it fits, otherwise into a new slot. A new
+     * slot is written dead, then marked live and indexed, and only then is the old slot
+     * marked dead, so the file always holds one complete live copy of the ticket. A patch
+     * rewrites the length and checksum with the record, so a patch torn part way fails its
+     * checksum when the file is next opened.
+     * @param ticketId the ticket id
+     * @param offset the existing slot's offset, or null
+     * @param record the record bytes
+     * @throws IOException if the write fails
+     */
+    private void write(int ticketId, Long offset, byte[] record) throws IOException {
+        int crc = crc(record);
+        if (offset != null) {
+            file.seek(offset);
+            if (record.length <= file.readInt()) {
+                file.writeInt(record.length);
+                file.seek(offset + CRC_OFFSET);
+                file.writeInt(crc);
+                file.seek(offset + HEADER);
+                file.write(record);
+                return;
+            }
+        }
+        int capacity = record.length + record.length / 4 + 16;
+        ByteArrayOutputStream slot = new ByteArrayOutputStream(HEADER + record.length);
+        DataOutputStream out = new DataOutputStream(slot);
+        out.writeInt(capacity);
+        out.writeInt(record.length);
+        out.writeInt(ticketId);
+        out.writeInt(crc);
+        out.writeBoolean(false);
+        out.write(record);
+        file.seek(end);
+        file.write(slot.toByteArray());
+        file.setLength(end + HEADER + capacity);
+        file.seek(end + HEADER - 1);
+        file.writeBoolean(true);
+        index.put(ticketId, end);
+        liveBytes += HEADER + capacity;
+        end += HEADER + capacity;
+        if (offset != null) { kill(offset); }
+    }
+
+    /**
+     * Marks a slot dead.
+     * @param offset the slot offset
+     * @throws IOException if the write fails
+     */
+    private void kill(long offset) throws IOException {
+        markDead(offset);
+        int size = slotSize(offset);
+        liveBytes -= size;
+        deadBytes += size;
+    }
+
+    /**
+     * Clears a slot's live flag without touching the byte counts.
+     * @param offset the slot offset
+     * @throws IOException if the write fails
+     */
+    private void markDead(long offset) throws IOException {
+        file.seek(offset + HEADER - 1);
+        file.writeBoolean(false);
+    }
+
+    /**
+     * Returns the size of a slot, header included.
+     * @param offset the slot offset
+     * @return the slot size in bytes
+     * @throws IOException if the read fails
+     */
+    private int slotSize(long offset) throws IOException {
+        file.seek(offset);
+        return HEADER + file.readInt();
+    }
+
+    /**
+     * Reads the record held in a slot.
+     * @param offset the slot offset
+     * @param length the record length
+     * @return the record bytes
+     * @throws IOException if the read fails
+     */
+    private byte[] read(long offset, int length) throws IOException {
+        byte[] b = new byte[length];
+        file.seek(offset + HEADER);
+        file.readFully(b);
+        return b;
+    }
+
+    /**
+     * Computes the checksum stored with a record.
+     * @param record the record bytes
+     * @return the CRC-32, truncated to an int
+     */
+    private static int crc(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Schedules a background compaction once dead slots outweigh live ones.
+     */
+    private void maybeCompact() {
+        if (deadBytes > MIN_COMPACT_BYTES && deadBytes > liveBytes) { compactAsync(); }
+    }
+
+}
@@ -0,0 +1,194 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.SymbolTable;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TransitionLog;
+
+/**
+ * <pre>
+ * Append-only file of archived Tickets.
+ *
+ * Each record is a 4 byte length followed by the ticket's fields as length-prefixed UTF-8
+ * strings, then its {@link TransitionLog}: an entry count and, per entry, the time, state
+ * and command ordinals, and owner name. Owners are stored by name, since symbols are only
+ * meaningful within one run. Records written before the history was added end after the
+ * notes and are restored with a new history. A ticket is identified by the file offset of
+ * its record, so the only thing a caller must keep in memory to reload a ticket is one
+ * long.
+ *
+ * Records are never rewritten. A ticket that is archived again is appended as a new
+ * record and the old one is left as garbage.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TicketArchive implements Closeable {
+
+    /** The archive file. */
+    private final RandomAccessFile file;
+
+    /**
+     * Opens an archive file, creating it if needed. New records are appended after any
+     * existing ones.
+     * @param fileName the archive file name
+     * @throws IllegalArgumentException if the file cannot be opened
+     */
+    public TicketArchive(String fileName) {
+        try {
+            file = new RandomAccessFile(fileName, "rw");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to open archive.");
+        }
+    }
+
+    /**
+     * Appends a ticket to the archive.
+     * @param ticket the ticket to archive
+     * @return the offset of the new record, used to read it back
+     * @throws IllegalArgumentException if the record cannot be written
+     */
+    public synchronized long append(Ticket ticket) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(ticket.getTicketId());
+            writeString(out, ticket.getState());
+            writeString(out, ticket.getTicketTypeString());
+            writeString(out, ticket.getSubject());
+            writeString(out, ticket.getCaller());
+            writeString(out, ticket.getCategory());
+            writeString(out, ticket.getPriority());
+            writeString(out, ticket.getOwner());
+            writeString(out, ticket.getCode());
+            writeString(out, ticket.getNotes());
+            writeHistory(out, ticket.getHistory());
+            out.flush();
+
+            long offset = file.length();
+            file.seek(offset);
+            file.writeInt(bytes.size());
+            file.write(bytes.toByteArray());
+            return offset;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to write archive.");
+        }
+    }
+
+    /**
+     * Reads back an archived ticket.
+     * @param offset the offset returned by {@link #append(Ticket)}
+     * @return the restored ticket
+     * @throws IllegalArgumentException if the record cannot be read
+     */
+    public synchronized Ticket read(long offset) {
+        try {
+            file.seek(offset);
+            byte[] record = new byte[file.readInt()];
+            file.readFully(record);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            int id = in.readInt();
+            String[] f = new String[9];
+            for (int i = 0; i < f.length; i++) { f[i] = readString(in); }
+            TransitionLog history = in.available() > 0 ? readHistory(in) : null;
+            return Ticket.restore(id, f[0], f[1], f[2], f[3], f[4], f[5], f[6], f[7], f[8], history);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read archive.");
+        }
+    }
+
+    /**
+     * Returns the size of the archive file.
+     * @return the file length in bytes
+     * @throws IllegalArgumentException if the length cannot be read
+     */
+    public synchronized long length() {
+        try {
+            return file.length();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read archive.");
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Writes a nullable string as a length (-1 for null) followed by UTF-8 bytes.
+     * @param out the stream to write to
+     * @param s the string, may be null
+     * @throws IOException if the write fails
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    /**
+     * Writes a ticket's history.
+     * @param out the stream to write to
+     * @param history the history
+     * @throws IOException if the write fails
+     */
+    private static void writeHistory(DataOutputStream out, TransitionLog history) throws IOException {
+        // Copy first so the count matches the entries if the ticket is updated meanwhile
+        TransitionLog copy = new TransitionLog();
+        copy.appendAll(history);
+        out.writeInt(copy.size());
+        for (int i = 0; i < copy.size(); i++) {
+            out.writeLong(copy.getTime(i));
+            out.writeByte(copy.getState(i));
+            out.writeByte(copy.getCommand(i));
+            writeString(out, SymbolTable.getShared().name(copy.getOwner(i)));
+        }
+    }
+
+    /**
+     * Reads a history written by {@link #writeHistory(DataOutputStream, TransitionLog)}.
+     * @param in the stream to read from
+     * @return the history
+     * @throws IOException if the read fails or an entry is invalid
+     */
+    private static TransitionLog readHistory(DataInputStream in) throws IOException {
+        TransitionLog history = new TransitionLog();
+        int count = in.readInt();
+        try {
+            for (int i = 0; i < count; i++) {
+                history.append(in.readLong(), in.readByte(), in.readByte(),
+                        SymbolTable.getShared().intern(readString(in)));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt history");
+        }
+        return history;
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     * @param in the stream to read from
+     * @return the string, or null
+     * @throws IOException if the read fails
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) { return null; }
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,352 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * <pre>
+ * Streams tickets to CSV or JSON Lines without building the export in memory.
+ *
+ * Tickets are taken from the iterator one at a time and encoded into a single fixed size
+ * buffer, which is written out whenever it fills. Memory use is one record plus one
+ * buffer however many tickets are exported. {@link #publisher(Iterable, Format, int)}
+ * exposes the same stream as a {@link Flow.Publisher} that only encodes a chunk when the
+ * subscriber has requested one.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TicketExporter {
+
+    /** Size of the encode buffer. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Smallest chunk that always has room for one character, a surrogate pair in UTF-8. */
+    public static final int MIN_CHUNK_SIZE = 4;
+
+    /** Column names, in output order. */
+    private static final String[] FIELDS = { "id", "state", "type", "subject", "caller", "category", "priority",
+        "owner", "code", "notes" };
+
+    /**
+     * Export format.
+     */
+    public enum Format {
+        /** RFC 4180 comma separated values with a header row. */
+        CSV,
+        /** One JSON object per line. */
+        JSON_LINES
+    }
+
+    /**
+     * Exports tickets to a file, replacing its contents.
+     * @param fileName the name of the file to write
+     * @param tickets the tickets to export
+     * @param format the export format
+     * @return the number of tickets exported
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    public static long exportFile(String fileName, Iterable<Ticket> tickets, Format format) {
+        try (FileOutputStream out = new FileOutputStream(fileName)) {
+            FileChannel channel = out.getChannel();
+            return export(tickets, format, channel);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        }
+    }
+
+    /**
+     * Exports tickets to a channel. The channel is not closed.
+     * @param tickets the tickets to export
+     * @param format the export format
+     * @param channel the channel to write to
+     * @return the number of tickets exported
+     * @throws IOException if the channel cannot be written, or a CharacterCodingException
+     * 		if a field is not valid UTF-16, such as one holding a lone surrogate
+     */
+    public static long export(Iterable<Ticket> tickets, Format format, WritableByteChannel channel)
+            throws IOException {
+        Encoder encoder = new Encoder(tickets.iterator(), format);
+        ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        boolean more = true;
+        while (more) {
+            more = encoder.fill(buf);
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            buf.clear();
+        }
+        return encoder.count;
+    }
+
+    /**
+     * Returns a cold publisher of the export. Each subscriber gets its own pass over the
+     * tickets, and a chunk is only encoded once the subscriber has requested it, so a slow
+     * consumer holds the export back instead of letting it queue up. Chunks are delivered
+     * on the thread calling {@link Flow.Subscription#request(long)}. A field that cannot
+     * be encoded fails the subscription with a CharacterCodingException.
+     * @param tickets the tickets to export
+     * @param format the export format
+     * @param chunkSize the maximum size of each chunk in bytes
+     * @return the publisher
+     * @throws IllegalArgumentException if chunkSize is less than {@link #MIN_CHUNK_SIZE}
+     */
+    public static Flow.Publisher<ByteBuffer> publisher(Iterable<Ticket> tickets, Format format, int chunkSize) {
+        if (chunkSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be at least " + MIN_CHUNK_SIZE);
+        }
+        return subscriber -> {
+            ExportSubscription s = new ExportSubscription(subscriber, new Encoder(tickets.iterator(), format),
+                    chunkSize);
+            subscriber.onSubscribe(s);
+        };
+    }
+
+    /**
+     * Subscription that encodes one chunk per unit of demand.
+     */
+    private static class ExportSubscription implements Flow.Subscription {
+
+        /** The subscriber. */
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        /** The encoder. */
+        private final Encoder encoder;
+
+        /** The chunk size. */
+        private final int chunkSize;
+
+        /** Chunks requested and not yet delivered. */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Number of drain requests, so only one thread drains at a time. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** Whether the subscription has completed, failed, or been cancelled. */
+        private volatile boolean done;
+
+        /**
+         * Creates the subscription.
+         * @param subscriber the subscriber
+         * @param encoder the encoder
+         * @param chunkSize the chunk size
+         */
+        ExportSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, Encoder encoder, int chunkSize) {
+            this.subscriber = subscriber;
+            this.encoder = encoder;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (!done) {
+                    done = true;
+                    subscriber.onError(new IllegalArgumentException("Request must be positive"));
+                }
+                return;
+            }
+            demand.getAndAccumulate(n, (d, add) -> d + add < 0 ? Long.MAX_VALUE : d + add);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        /**
+         * Delivers chunks while there is demand. Reentrant calls from onNext just record
+         * that another pass is needed.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) { return; }
+            do {
+                while (!done && demand.get() > 0) {
+                    ByteBuffer chunk = ByteBuffer.allocate(chunkSize);
+                    boolean more;
+                    try {
+                        more = encoder.fill(chunk);
+                    } catch (CharacterCodingException | RuntimeException e) {
+                        done = true;
+                        subscriber.onError(e);
+                        break;
+                    }
+                    chunk.flip();
+                    if (chunk.hasRemaining()) {
+                        demand.decrementAndGet();
+                        subscriber.onNext(chunk);
+                    }
+                    if (!more && !done) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+
+    /**
+     * Encodes tickets into byte buffers, carrying a partly written record over to the next
+     * buffer.
+     */
+    private static class Encoder {
+
+        /** The tickets left to encode. */
+        private final Iterator<Ticket> tickets;
+
+        /** The export format. */
+        private final Format format;
+
+        /** UTF-8 encoder. */
+        private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder();
+
+        /** Record being built. */
+        private final StringBuilder record = new StringBuilder();
+
+        /** Characters of the current record not yet encoded, or null. */
+        private CharBuffer pending;
+
+        /** Number of tickets encoded. */
+        private long count;
+
+        /**
+         * Creates an encoder.
+         * @param tickets the tickets to encode
+         * @param format the export format
+         */
+        Encoder(Iterator<Ticket> tickets, Format format) {
+            this.tickets = tickets;
+            this.format = format;
+            if (format == Format.CSV) {
+                record.append(String.join(",", FIELDS)).append("\r\n");
+                pending = CharBuffer.wrap(record);
+            }
+        }
+
+        /**
+         * Encodes records into a buffer until it is full or the tickets run out.
+         * @param buf the buffer to fill, with room for at least {@link #MIN_CHUNK_SIZE} bytes
+         * @return true if there is more to encode
+         * @throws CharacterCodingException if a record holds malformed or unmappable text
+         * @throws IllegalArgumentException if the buffer is too small for the next character
+         */
+        boolean fill(ByteBuffer buf) throws CharacterCodingException {
+            int start = buf.position();
+            while (true) {
+                if (pending != null) {
+                    CoderResult r = utf8.encode(pending, buf, true);
+                    if (r.isError()) { r.throwException(); }
+                    if (r.isOverflow()) {
+                        if (buf.position() == start) {
+                            throw new IllegalArgumentException("Buffer too small for one character");
+                        }
+                        return true;
+                    }
+                    utf8.reset();
+                    pending = null;
+                }
+                if (!tickets.hasNext()) { return false; }
+                record.setLength(0);
+                String[] values = tickets.next().read(Encoder::values);
+                if (format == Format.CSV) {
+                    appendCsv(values);
+                } else {
+                    appendJson(values);
+                }
+                count++;
+                pending = CharBuffer.wrap(record);
+            }
+        }
+
+        /**
+         * Appends a ticket as a CSV row.
+         * @param values the ticket's values from {@link #values(Ticket)}
+         */
+        private void appendCsv(String[] values) {
+            record.append(values[0]);
+            for (int i = 1; i < values.length; i++) {
+                record.append(',');
+                String v = values[i];
+                if (v == null) { continue; }
+                if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) {
+                    record.append(v);
+                } else {
+                    record.append('"').append(v.replace("\"", "\"\"")).append('"');
+                }
+            }
+            record.append("\r\n");
+        }
+
+        /**
+         * Appends a ticket as a JSON object and a newline.
+         * @param values the ticket's values from {@link #values(Ticket)}
+         */
+        private void appendJson(String[] values) {
+            record.append("{\"id\":").append(values[0]);
+            for (int i = 1; i < values.length; i++) {
+                record.append(",\"").append(FIELDS[i]).append("\":");
+                String v = values[i];
+                if (v == null) {
+                    record.append("null");
+                    continue;
+                }
+                record.append('"');
+                for (int j = 0; j < v.length(); j++) {
+                    char c = v.charAt(j);
+                    switch (c) {
+                    case '"':
+                        record.append("\\\"");
+                        break;
+                    case '\\':
+                        record.append("\\\\");
+                        break;
+                    case '\n':
+                        record.append("\\n");
+                        break;
+                    case '\r':
+                        record.append("\\r");
+                        break;
+                    case '\t':
+                        record.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            record.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            record.append(c);
+                        }
+                    }
+                }
+                record.append('"');
+            }
+            record.append("}\n");
+        }
+
+        /**
+         * Returns a ticket's field values in {@link #FIELDS} order, read from one version of
+         * the ticket through {@link Ticket#read(java.util.function.Function)}.
+         * @param t the ticket
+         * @return the values
+         */
+        private static String[] values(Ticket t) {
+            return new String[] { Integer.toString(t.getTicketId()), t.getState(), t.getTicketTypeString(), t.getSubject(), t.getCaller(),
+                t.getCategory(), t.getPriority(), t.getOwner(), t.getCode(), t.getNotes() };
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import edu.ncsu.csc216.ticket_manager.model.io.TicketReader.RecordReader;
+
+/**
+ * <pre>
+ * Merges ticket files from several sites into one file.
+ *
+ * Each input must be sorted by ticketId. The inputs are read one record at a time and
+ * merged through a heap keyed on (ticketId, input index), so memory holds one record per
+ * input however large the files are. Records that must be renumbered after the merge wait
+ * in a temporary file rather than in memory. Records are copied as text with only the id
+ * in the header rewritten; no Ticket is constructed, so the ticket counter is not touched.
+ * Note dictionary lines from every input are written ahead of the records, so compressed
+ * notes stay readable.
+ *
+ * Every record whose id changes is written to a mapping file as
+ *
+ * 	input-file,old-id,new-id
+ *
+ * The output ids are unique under either {@link IdPolicy}, and sorted.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TicketFileMerger {
+
+    /**
+     * How merged records are given ids.
+     */
+    public enum IdPolicy {
+        /**
+         * Keep each record's id unless a record merged before it already has that id. Those
+         * records are held in a spill file and appended after the merge, numbered from one
+         * more than the highest id in any input.
+         */
+        KEEP_UNLESS_TAKEN,
+        /** Number every record from 1 in merge order. */
+        RENUMBER_ALL
+    }
+
+    /**
+     * Merges ticket files.
+     * @param inputFiles the names of the id-sorted files to merge, in site priority order;
+     * 		for equal ids, the record from the earlier file keeps its id
+     * @param outputFile the name of the consolidated file to write
+     * @param mappingFile the name of the id mapping file to write
+     * @param policy how ids are assigned
+     * @return the number of records written
+     * @throws IllegalArgumentException if a file cannot be read or written, a record is
+     * 		invalid, or an input is not sorted by id
+     */
+    public static int merge(List<String> inputFiles, String outputFile, String mappingFile, IdPolicy policy) {
+        if (inputFiles == null || policy == null) { throw new IllegalArgumentException(); }
+        Source[] sources = new Source[inputFiles.size()];
+        PriorityQueue<Source> heap = new PriorityQueue<Source>(Math.max(1, sources.length),
+                (a, b) -> a.id != b.id ? Integer.compare(a.id, b.id) : Integer.compare(a.index, b.index));
+        Path spill = null;
+        try (Writer out = writer(outputFile); Writer map = writer(mappingFile)) {
+            spill = Files.createTempFile("ticket-merge", ".spill");
+            int written = 0;
+            int lastId = Integer.MIN_VALUE;
+            try (Writer spilled = writer(spill.toString())) {
+                for (int i = 0; i < sources.length; i++) {
+                    sources[i] = new Source(i, inputFiles.get(i));
+                    if (sources[i].advance()) { heap.add(sources[i]); }
+                }
+                // Each input's dictionary lines precede its first record, so all are known now
+                Set<String> dictionaries = new LinkedHashSet<String>();
+                for (Source s : sources) { dictionaries.addAll(s.reader.getDictionaryLines()); }
+                for (String line : dictionaries) { out.write(line + "\n"); }
+                while (!heap.isEmpty()) {
+                    Source s = heap.poll();
+                    if (policy == IdPolicy.RENUMBER_ALL) {
+                        write(out, map, s.fileName, s.record, s.id, written + 1);
+                        written++;
+                    } else if (s.id == lastId) {
+                        // Spill header: *input-index:old-id#rest
+                        spilled.write("*" + s.index + ":" + s.record.substring(1) + "\n");
+                    } else {
+                        write(out, map, s.fileName, s.record, s.id, s.id);
+                        lastId = s.id;
+                        written++;
+                    }
+                    if (s.advance()) { heap.add(s); }
+                }
+            } finally {
+                for (Source s : sources) {
+                    if (s != null) { s.reader.close(); }
+                }
+            }
+            try (RecordReader in = new RecordReader(spill.toString())) {
+                int nextId = Math.max(lastId, 0);
+                String record;
+                while ((record = in.next()) != null) {
+                    int colon = record.indexOf(':');
+                    String rest = "*" + record.substring(colon + 1);
+                    String fileName = inputFiles.get(Integer.parseInt(record.substring(1, colon)));
+                    write(out, map, fileName, rest, TicketReader.recordId(rest), ++nextId);
+                    written++;
+                }
+            }
+            return written;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        } finally {
+            if (spill != null) {
+                try {
+                    Files.deleteIfExists(spill);
+                } catch (IOException e) {
+                    spill.toFile().deleteOnExit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a record under a new id, and a mapping line if the id changed.
+     * @param out the consolidated file
+     * @param map the mapping file
+     * @param fileName the record's input file
+     * @param record the record text
+     * @param oldId the record's id in its input
+     * @param newId the record's id in the output
+     * @throws IOException if a file cannot be written
+     */
+    private static void write(Writer out, Writer map, String fileName, String record, int oldId, int newId)
+            throws IOException {
+        if (newId != oldId) {
+            map.write(fileName + "," + oldId + "," + newId + "\n");
+        }
+        int hash = record.indexOf('#');
+        out.write("*");
+        out.write(Integer.toString(newId));
+        out.write(record, hash, record.length() - hash);
+        out.write("\n");
+    }
+
+    /**
+     * Opens a buffered UTF-8 writer, replacing the file's contents.
+     * @param fileName the file name
+     * @return the writer
+     * @throws IOException if the file cannot be opened
+     */
+    private static Writer writer(String fileName) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * One input file and its current record.
+     */
+    private static class Source {
+
+        /** Position of the file in the input list. */
+        private final int index;
+
+        /** The file name. */
+        private final String fileName;
+
+        /** The record reader. */
+        private final RecordReader reader;
+
+        /** The current record. */
+        private String record;
+
+        /** The current record's id. */
+        private int id;
+
+        /**
+         * Opens an input.
+         * @param index the input's position
+         * @param fileName the file name
+         * @throws IllegalArgumentException if the file cannot be opened
+         */
+        Source(int index, String fileName) {
+            this.index = index;
+            this.fileName = fileName;
+            try {
+                this.reader = new RecordReader(fileName);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unable to load file.");
+            }
+            this.id = Integer.MIN_VALUE;
+        }
+
+        /**
+         * Reads the next record.
+         * @return false at the end of the file
+         * @throws IOException if the file cannot be read
+         * @throws IllegalArgumentException if the record is invalid or out of order
+         */
+        boolean advance() throws IOException {
+            record = reader.next();
+            if (record == null) { return false; }
+            int next = TicketReader.recordId(record);
+            if (next < id) { throw new IllegalArgumentException("Ticket file is not sorted by id: " + fileName); }
+            id = next;
+            return true;
+        }
+    }
+
+}
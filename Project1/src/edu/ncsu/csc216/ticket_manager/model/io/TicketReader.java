@@ -0,0 +1,242 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.NoteCompressor;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.trace.TicketFileEvent;
+import edu.ncsu.csc216.ticket_manager.model.trace.TicketParseEvent;
+
+/**
+ * <pre>
+ * Reads Tickets from a file in the ticket file format:
+ *
+ * *id#state#ticket-type#subject#caller#category#priority#owner#code
+ * -note
+ * -note
+ *
+ * A line starting with '-' begins a new note; any other line continues the previous note.
+ *
+ * A file written with compressed notes may start with dictionary lines, each
+ * {@link #DICTIONARY_PREFIX} followed by the Base64 of a {@link NoteCompressor}
+ * dictionary, and a Closed or Canceled ticket's notes may be a single line written by
+ * {@link NoteCompressor#encode(byte[])}. Dictionaries are installed in the shared
+ * NoteCompressor as they are read.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TicketReader {
+
+    /** Start of a line holding a note dictionary, before the first record of a file. */
+    static final String DICTIONARY_PREFIX = "!dictionary ";
+
+    /**
+     * Reads every ticket in a file.
+     * @param fileName the name of the file to read
+     * @return the tickets in file order
+     * @throws IllegalArgumentException if the file cannot be read or a record is invalid
+     */
+    public static ArrayList<Ticket> readTicketFile(String fileName) {
+        ArrayList<Ticket> tickets = new ArrayList<Ticket>();
+        TicketFileEvent event = new TicketFileEvent();
+        event.begin();
+        try (RecordReader in = new RecordReader(fileName)) {
+            String record;
+            while ((record = in.next()) != null) {
+                tickets.add(processTicket(record));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to load file.");
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(TicketFileEvent.LOAD, fileName, tickets.size());
+                event.commit();
+            }
+        }
+        return tickets;
+    }
+
+    /**
+     * Builds a Ticket from one record, starting with its '*' header line, through the IO
+     * constructor.
+     * @param record the record text
+     * @return the ticket
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    static Ticket processTicket(String record) {
+        TicketParseEvent event = new TicketParseEvent();
+        event.begin();
+        Ticket ticket = null;
+        try {
+            ticket = parse(record);
+            return ticket;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(ticket == null ? -1 : ticket.getTicketId(), record.length());
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Parses one record for {@link #processTicket(String)}.
+     * @param record the record text
+     * @return the ticket
+     * @throws IllegalArgumentException if the record is invalid
+     */
+    private static Ticket parse(String record) {
+        String[] lines = record.split("\n");
+        String header = lines[0];
+        if (!header.startsWith("*")) { throw new IllegalArgumentException("Unable to load file."); }
+        String[] f = header.substring(1).split("#", -1);
+        if (f.length != 9) { throw new IllegalArgumentException("Unable to load file."); }
+
+        ArrayList<String> notes = new ArrayList<String>();
+        if (lines.length == 2 && NoteCompressor.isEncoded(lines[1])) {
+            lines = (header + "\n" + NoteCompressor.getShared().decode(lines[1])).split("\n");
+        }
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].startsWith("-") || notes.isEmpty()) {
+                notes.add(lines[i]);
+            } else {
+                notes.set(notes.size() - 1, notes.get(notes.size() - 1) + "\n" + lines[i]);
+            }
+        }
+        try {
+            return new Ticket(Integer.parseInt(f[0]), f[1], f[2], f[3], f[4], f[5], f[6],
+                    emptyToNull(f[7]), emptyToNull(f[8]), notes);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to load file.");
+        }
+    }
+
+    /**
+     * Parses the ticketId from a record's header line.
+     * @param record the record text
+     * @return the ticketId
+     * @throws IllegalArgumentException if the header has no valid id
+     */
+    static int recordId(String record) {
+        int end = record.indexOf('#');
+        if (!record.startsWith("*") || end < 0) { throw new IllegalArgumentException("Unable to load file."); }
+        try {
+            return Integer.parseInt(record.substring(1, end));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to load file.");
+        }
+    }
+
+    /**
+     * Formats a note dictionary as a dictionary line.
+     * @param dictionary the dictionary bytes
+     * @return the line, without a line break
+     */
+    static String dictionaryLine(byte[] dictionary) {
+        return DICTIONARY_PREFIX + Base64.getEncoder().encodeToString(dictionary);
+    }
+
+    /**
+     * Maps an empty optional field to null.
+     * @param s the field
+     * @return the field, or null if it is empty
+     */
+    private static String emptyToNull(String s) {
+        return s.isEmpty() ? null : s;
+    }
+
+    /**
+     * Reads a ticket file one record at a time, holding only the current record.
+     */
+    static class RecordReader implements Closeable {
+
+        /** The file. */
+        private final BufferedReader in;
+
+        /** Header line of the next record, already read, or null. */
+        private String nextHeader;
+
+        /** Dictionary lines read from the start of the file. */
+        private final List<String> dictionaries = new ArrayList<String>();
+
+        /**
+         * Opens a ticket file.
+         * @param fileName the name of the file to read
+         * @throws IOException if the file cannot be opened
+         */
+        RecordReader(String fileName) throws IOException {
+            in = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Reads the next record: its '*' header line and following note lines, joined by
+         * newlines.
+         * @return the record, or null at the end of the file
+         * @throws IOException if the file cannot be read
+         * @throws IllegalArgumentException if text other than dictionary lines appears
+         * 		before the first record
+         */
+        String next() throws IOException {
+            String line;
+            while (nextHeader == null) {
+                line = in.readLine();
+                if (line == null) { return null; }
+                if (line.startsWith("*")) {
+                    nextHeader = line;
+                } else if (line.startsWith(DICTIONARY_PREFIX)) {
+                    addDictionary(line);
+                } else if (!line.isEmpty()) {
+                    throw new IllegalArgumentException("Unable to load file.");
+                }
+            }
+            StringBuilder record = new StringBuilder(nextHeader);
+            nextHeader = null;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("*")) {
+                    nextHeader = line;
+                    break;
+                }
+                record.append('\n').append(line);
+            }
+            return record.toString();
+        }
+
+        /**
+         * Returns the dictionary lines read so far, which all precede the first record.
+         * @return the dictionary lines
+         */
+        List<String> getDictionaryLines() {
+            return dictionaries;
+        }
+
+        /**
+         * Installs a dictionary line's dictionary in the shared NoteCompressor.
+         * @param line the dictionary line
+         * @throws IllegalArgumentException if the line is not valid Base64
+         */
+        private void addDictionary(String line) {
+            try {
+                NoteCompressor.getShared().addDictionary(
+                        Base64.getDecoder().decode(line.substring(DICTIONARY_PREFIX.length()).trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unable to load file.");
+            }
+            dictionaries.add(line);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.NoteCompressor;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.trace.TicketFileEvent;
+
+/**
+ * Writes Tickets to a file in the ticket file format. Each ticket's record is produced
+ * by {@link Ticket#writeTo(OutputStream)}, so unchanged tickets copy their cached bytes.
+ * @author brandonortiz
+ */
+public class TicketWriter {
+
+    /** Size of the output buffer. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the given tickets to a file, replacing its contents.
+     * @param fileName the name of the file to write
+     * @param tickets the tickets to write, in file order
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    public static void writeTicketFile(String fileName, List<Ticket> tickets) {
+        writeTicketFile(fileName, tickets, false);
+    }
+
+    /**
+     * Writes the given tickets to a file, replacing its contents, optionally keeping the
+     * notes of Closed and Canceled tickets compressed. A file with compressed notes starts
+     * with the trained {@link NoteCompressor} dictionaries, so it can be read back after
+     * a restart; see {@link TicketReader}.
+     * @param fileName the name of the file to write
+     * @param tickets the tickets to write, in file order
+     * @param compressNotes true to write terminal tickets' notes compressed
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    public static void writeTicketFile(String fileName, List<Ticket> tickets, boolean compressNotes) {
+        TicketFileEvent event = new TicketFileEvent();
+        event.begin();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName), BUFFER_SIZE)) {
+            if (compressNotes) {
+                for (byte[] dict : NoteCompressor.getShared().getDictionaries()) {
+                    out.write((TicketReader.dictionaryLine(dict) + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            for (Ticket t : tickets) {
+                t.writeTo(out, compressNotes);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(TicketFileEvent.SAVE, fileName, tickets.size());
+                event.commit();
+            }
+        }
+    }
+
+}
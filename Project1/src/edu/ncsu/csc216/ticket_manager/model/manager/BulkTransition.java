@@ -0,0 +1,269 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * <pre>
+ * Applies one Command to every ticket matching a predicate, in parallel.
+ *
+ * The tickets are split in halves on a {@link ForkJoinPool} down to slices of
+ * {@value #THRESHOLD}. Each ticket is tested and updated with
+ * {@link Ticket#update(Command, long)} at the version the predicate saw, so the Command is
+ * only applied to a ticket that still matches; if another update got in between, the
+ * ticket is re-read and re-tested. The Command is immutable and shared by every ticket.
+ *
+ * Neither an FSM rejection nor a predicate that throws stops the run: each is recorded
+ * against its ticket in the {@link Summary}, and the remaining tickets are still processed.
+ *
+ * For example, to cancel every New ticket from one caller:
+ *
+ * 	BulkTransition.apply(tickets,
+ * 		t -&gt; Ticket.NEW_NAME.equals(t.getState()) &amp;&amp; "jdoe".equals(t.getCaller()),
+ * 		Command.builder().command(CommandValue.CANCEL).ownerId("admin")
+ * 			.cancellationCode(CancellationCode.INAPPROPRIATE).note("bulk cancel").build());
+ * </pre>
+ * @author brandonortiz
+ */
+public class BulkTransition {
+
+    /** Largest slice of tickets processed without splitting. */
+    static final int THRESHOLD = 256;
+
+    /**
+     * Applies a Command to the matching tickets on the common pool.
+     * @param tickets the tickets to consider
+     * @param filter selects the tickets to update
+     * @param command the Command applied to each selected ticket
+     * @return the summary
+     * @throws IllegalArgumentException if any argument is null
+     */
+    public static Summary apply(Collection<Ticket> tickets, Predicate<? super Ticket> filter, Command command) {
+        return apply(tickets, filter, command, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies a Command to the matching tickets on the given pool.
+     * @param tickets the tickets to consider
+     * @param filter selects the tickets to update
+     * @param command the Command applied to each selected ticket
+     * @param pool the pool to run on
+     * @return the summary
+     * @throws IllegalArgumentException if any argument is null
+     */
+    public static Summary apply(Collection<Ticket> tickets, Predicate<? super Ticket> filter, Command command,
+                                ForkJoinPool pool) {
+        if (tickets == null || filter == null || command == null || pool == null) {
+            throw new IllegalArgumentException();
+        }
+        Ticket[] array = tickets.toArray(new Ticket[0]);
+        return pool.invoke(new Slice(array, 0, array.length, filter, command));
+    }
+
+    /**
+     * Result of a bulk transition.
+     */
+    public static class Summary {
+
+        /** Number of tickets the predicate selected. */
+        private int selected;
+
+        /** Number of tickets updated. */
+        private int succeeded;
+
+        /** Tickets the FSM refused the Command for, or whose update threw, in input order. */
+        private final List<Failure> failures = new ArrayList<Failure>();
+
+        /** Tickets the predicate threw for, in input order. */
+        private final List<Failure> filterErrors = new ArrayList<Failure>();
+
+        /**
+         * Returns the number of tickets the predicate selected.
+         * @return the number selected
+         */
+        public int getSelected() {
+            return selected;
+        }
+
+        /**
+         * Returns the number of tickets the Command was applied to.
+         * @return the number updated
+         */
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * Returns the tickets the FSM rejected the Command for, or whose update otherwise
+         * threw, with the exception each one threw, in the order of the input collection. A ticket that appears more than once
+         * in the input has an entry per rejection.
+         * @return the failures
+         */
+        public List<Failure> getFailures() {
+            return Collections.unmodifiableList(failures);
+        }
+
+        /**
+         * Returns the tickets the predicate threw for, with the exception it threw, in the
+         * order of the input collection. These tickets are not counted as selected.
+         * @return the predicate failures
+         */
+        public List<Failure> getFilterErrors() {
+            return Collections.unmodifiableList(filterErrors);
+        }
+
+        /**
+         * Adds another slice's result to this one.
+         * @param other the other summary
+         * @return this summary
+         */
+        private Summary merge(Summary other) {
+            selected += other.selected;
+            succeeded += other.succeeded;
+            failures.addAll(other.failures);
+            filterErrors.addAll(other.filterErrors);
+            return this;
+        }
+    }
+
+    /**
+     * A ticket that could not be processed and the exception that stopped it.
+     */
+    public static class Failure {
+
+        /** The ticket. */
+        private final Ticket ticket;
+
+        /** The exception. */
+        private final RuntimeException cause;
+
+        /**
+         * Creates a failure.
+         * @param ticket the ticket
+         * @param cause the exception
+         */
+        Failure(Ticket ticket, RuntimeException cause) {
+            this.ticket = ticket;
+            this.cause = cause;
+        }
+
+        /**
+         * Returns the ticket.
+         * @return the ticket
+         */
+        public Ticket getTicket() {
+            return ticket;
+        }
+
+        /**
+         * Returns the ticket's id.
+         * @return the ticketId
+         */
+        public int getTicketId() {
+            return ticket.getTicketId();
+        }
+
+        /**
+         * Returns the exception thrown for the ticket.
+         * @return the exception
+         */
+        public RuntimeException getCause() {
+            return cause;
+        }
+    }
+
+    /**
+     * Fork-join task over a slice of the tickets.
+     */
+    private static class Slice extends RecursiveTask<Summary> {
+
+        /** Serial version. */
+        private static final long serialVersionUID = 1L;
+
+        /** All tickets. */
+        private final Ticket[] tickets;
+
+        /** First index of the slice. */
+        private final int from;
+
+        /** End index of the slice, exclusive. */
+        private final int to;
+
+        /** The selection predicate. */
+        private final Predicate<? super Ticket> filter;
+
+        /** The Command to apply. */
+        private final Command command;
+
+        /**
+         * Creates a slice task.
+         * @param tickets all tickets
+         * @param from first index
+         * @param to end index, exclusive
+         * @param filter the predicate
+         * @param command the Command
+         */
+        Slice(Ticket[] tickets, int from, int to, Predicate<? super Ticket> filter, Command command) {
+            this.tickets = tickets;
+            this.from = from;
+            this.to = to;
+            this.filter = filter;
+            this.command = command;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from > THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                Slice left = new Slice(tickets, from, mid, filter, command);
+                left.fork();
+                Summary right = new Slice(tickets, mid, to, filter, command).compute();
+                return left.join().merge(right);
+            }
+            Summary s = new Summary();
+            for (int i = from; i < to; i++) {
+                updateIfMatches(tickets[i], s);
+            }
+            return s;
+        }
+
+        /**
+         * Tests a ticket and applies the Command if it matches, retrying if another update
+         * changed the ticket in between, and records the outcome.
+         * @param t the ticket
+         * @param s the summary to record the outcome in
+         */
+        private void updateIfMatches(Ticket t, Summary s) {
+            while (true) {
+                long version = t.getVersion();
+                try {
+                    if (!filter.test(t)) { return; }
+                } catch (RuntimeException e) {
+                    s.filterErrors.add(new Failure(t, e));
+                    return;
+                }
+                try {
+                    if (t.update(command, version)) {
+                        s.selected++;
+                        s.succeeded++;
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    s.selected++;
+                    s.failures.add(new Failure(t, e));
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+}
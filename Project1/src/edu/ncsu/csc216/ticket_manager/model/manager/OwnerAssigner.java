@@ -0,0 +1,320 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Picks the least-loaded eligible owner for the ownerId of a
+ * {@link Command.CommandValue#PROCESS} command.
+ *
+ * An owner's load is the sum of the priority weights of the open (Working or Feedback)
+ * tickets they own. Each {@link Category} has an indexable binary min-heap of the owners
+ * eligible for it, and every owner remembers its position in each heap, so a load change
+ * is sifted in place in O(log n) and the least-loaded owner is read in O(1).
+ *
+ * Register the assigner with {@link Ticket#addTicketListener(TicketListener)} so that
+ * owners' loads follow tickets as they are processed, resolved, cancelled, and reopened.
+ * </pre>
+ * @author brandonortiz
+ */
+public class OwnerAssigner implements TicketListener {
+
+    /** Load added by an open ticket of each priority, indexed by {@link Priority#ordinal()}. */
+    private static final int[] WEIGHTS = { 8, 4, 2, 1 };
+
+    /** Number of categories, and so of heaps. */
+    private static final int CATEGORIES = Category.values().length;
+
+    /** Registered owners by id. */
+    private final Map<String, Owner> owners = new HashMap<String, Owner>();
+
+    /** One min-heap of owners per category. */
+    private final Owner[][] heaps = new Owner[CATEGORIES][];
+
+    /** Number of owners in each heap. */
+    private final int[] sizes = new int[CATEGORIES];
+
+    /**
+     * Creates an assigner with no owners.
+     */
+    public OwnerAssigner() {
+        for (int c = 0; c < CATEGORIES; c++) { heaps[c] = new Owner[16]; }
+    }
+
+    /**
+     * An owner's load and heap positions.
+     */
+    private static final class Owner {
+
+        /** The owner id. */
+        final String id;
+
+        /** Sum of priority weights of the owner's open tickets. */
+        long load;
+
+        /** Number of open tickets. */
+        int open;
+
+        /** Position in each category heap, or -1 if not eligible. */
+        final int[] pos = new int[CATEGORIES];
+
+        /**
+         * Creates an owner.
+         * @param id the owner id
+         */
+        Owner(String id) {
+            this.id = id;
+            Arrays.fill(pos, -1);
+        }
+    }
+
+    /**
+     * Registers an owner for the given categories. Registering an existing owner replaces
+     * their categories and keeps their load.
+     * @param ownerId the owner id
+     * @param categories the categories the owner may be assigned
+     * @throws IllegalArgumentException if the id is null or empty or no categories are given
+     */
+    public synchronized void addOwner(String ownerId, Category... categories) {
+        if (ownerId == null || "".equals(ownerId) || categories == null || categories.length == 0) {
+            throw new IllegalArgumentException();
+        }
+        Owner o = owners.get(ownerId);
+        if (o == null) {
+            o = new Owner(ownerId);
+            owners.put(ownerId, o);
+        } else {
+            leaveAll(o);
+        }
+        for (Category c : categories) {
+            if (o.pos[c.ordinal()] < 0) { insert(c.ordinal(), o); }
+        }
+    }
+
+    /**
+     * Removes an owner so they are no longer assigned work.
+     * @param ownerId the owner id
+     * @return true if the owner was registered
+     */
+    public synchronized boolean removeOwner(String ownerId) {
+        Owner o = owners.remove(ownerId);
+        if (o == null) { return false; }
+        leaveAll(o);
+        return true;
+    }
+
+    /**
+     * Returns the least-loaded owner eligible for a category. Ties are broken by owner id.
+     * @param category the ticket category
+     * @return the owner id, or null if no owner is eligible
+     */
+    public synchronized String leastLoaded(Category category) {
+        int c = category.ordinal();
+        return sizes[c] == 0 ? null : heaps[c][0].id;
+    }
+
+    /**
+     * Returns the least-loaded owner eligible for a ticket's category.
+     * @param ticket the ticket being processed
+     * @return the owner id, or null if no owner is eligible
+     */
+    public String leastLoaded(Ticket ticket) {
+        int c = Ticket.categoryOrdinal(ticket.getCategory());
+        if (c < 0) { return null; }
+        return leastLoaded(Category.values()[c]);
+    }
+
+    /**
+     * Returns an owner's current weighted load.
+     * @param ownerId the owner id
+     * @return the load, or 0 if the owner is not registered
+     */
+    public synchronized long getLoad(String ownerId) {
+        Owner o = owners.get(ownerId);
+        return o == null ? 0 : o.load;
+    }
+
+    /**
+     * Returns the number of open tickets owned by an owner.
+     * @param ownerId the owner id
+     * @return the open ticket count, or 0 if the owner is not registered
+     */
+    public synchronized int getOpenCount(String ownerId) {
+        Owner o = owners.get(ownerId);
+        return o == null ? 0 : o.open;
+    }
+
+    /**
+     * Records that an owner took an open ticket.
+     * @param ownerId the owner id; unregistered owners are ignored
+     * @param priority the ticket's priority
+     */
+    public synchronized void taken(String ownerId, Priority priority) {
+        adjust(ownerId, priority.ordinal(), 1);
+    }
+
+    /**
+     * Records that an owner's open ticket was resolved or cancelled.
+     * @param ownerId the owner id; unregistered owners are ignored
+     * @param priority the ticket's priority
+     */
+    public synchronized void released(String ownerId, Priority priority) {
+        adjust(ownerId, priority.ordinal(), -1);
+    }
+
+    /**
+     * Counts tickets that are loaded from a file already open.
+     */
+    @Override
+    public synchronized void ticketCreated(Ticket ticket) {
+        if (isOpen(ticket.getState())) {
+            adjust(ticket.getOwner(), Ticket.priorityOrdinal(ticket.getPriority()), 1);
+        }
+    }
+
+    /**
+     * Adds load when a ticket becomes open (PROCESS, REOPEN) and removes it when the ticket
+     * is resolved, closed, or cancelled.
+     */
+    @Override
+    public synchronized void stateChanged(Ticket ticket, String fromState, String toState, String owner,
+            String code) {
+        boolean was = isOpen(fromState);
+        boolean is = isOpen(toState);
+        if (was == is) { return; }
+        adjust(owner, Ticket.priorityOrdinal(ticket.getPriority()), is ? 1 : -1);
+    }
+
+    /**
+     * Returns true for the states in which an owner is working on a ticket.
+     * @param state the state name
+     * @return true for Working and Feedback
+     */
+    private static boolean isOpen(String state) {
+        return Ticket.WORKING_NAME.equals(state) || Ticket.FEEDBACK_NAME.equals(state);
+    }
+
+    /**
+     * Changes an owner's load and restores heap order in every heap the owner is in.
+     * @param ownerId the owner id
+     * @param priority the priority ordinal, ignored if negative
+     * @param delta +1 for a taken ticket, -1 for a released one
+     */
+    private void adjust(String ownerId, int priority, int delta) {
+        Owner o = ownerId == null ? null : owners.get(ownerId);
+        if (o == null || priority < 0) { return; }
+        o.load = Math.max(0, o.load + delta * WEIGHTS[priority]);
+        o.open = Math.max(0, o.open + delta);
+        for (int c = 0; c < CATEGORIES; c++) {
+            if (o.pos[c] < 0) { continue; }
+            if (delta > 0) { siftDown(c, o.pos[c]); } else { siftUp(c, o.pos[c]); }
+        }
+    }
+
+    /**
+     * Removes an owner from every heap.
+     * @param o the owner
+     */
+    private void leaveAll(Owner o) {
+        for (int c = 0; c < CATEGORIES; c++) {
+            if (o.pos[c] >= 0) { delete(c, o); }
+        }
+    }
+
+    /**
+     * Inserts an owner into a heap.
+     * @param c the heap
+     * @param o the owner
+     */
+    private void insert(int c, Owner o) {
+        if (sizes[c] == heaps[c].length) { heaps[c] = Arrays.copyOf(heaps[c], sizes[c] * 2); }
+        int i = sizes[c]++;
+        place(c, i, o);
+        siftUp(c, i);
+    }
+
+    /**
+     * Deletes an owner from a heap by moving the last entry into its slot.
+     * @param c the heap
+     * @param o the owner
+     */
+    private void delete(int c, Owner o) {
+        int i = o.pos[c];
+        int last = --sizes[c];
+        Owner moved = heaps[c][last];
+        heaps[c][last] = null;
+        o.pos[c] = -1;
+        if (i == last) { return; }
+        place(c, i, moved);
+        siftUp(c, i);
+        siftDown(c, moved.pos[c]);
+    }
+
+    /**
+     * Moves an entry toward the root while it is smaller than its parent.
+     * @param c the heap
+     * @param i the starting index
+     */
+    private void siftUp(int c, int i) {
+        Owner[] h = heaps[c];
+        Owner o = h[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(o, h[parent])) { break; }
+            place(c, i, h[parent]);
+            i = parent;
+        }
+        place(c, i, o);
+    }
+
+    /**
+     * Moves an entry toward the leaves while a child is smaller.
+     * @param c the heap
+     * @param i the starting index
+     */
+    private void siftDown(int c, int i) {
+        Owner[] h = heaps[c];
+        int n = sizes[c];
+        Owner o = h[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) { break; }
+            if (child + 1 < n && less(h[child + 1], h[child])) { child++; }
+            if (!less(h[child], o)) { break; }
+            place(c, i, h[child]);
+            i = child;
+        }
+        place(c, i, o);
+    }
+
+    /**
+     * Stores an owner at a heap index and records the index.
+     * @param c the heap
+     * @param i the index
+     * @param o the owner
+     */
+    private void place(int c, int i, Owner o) {
+        heaps[c][i] = o;
+        o.pos[c] = i;
+    }
+
+    /**
+     * Heap order: lower load first, then owner id.
+     * @param a an owner
+     * @param b another owner
+     * @return true if a should be nearer the root than b
+     */
+    private static boolean less(Owner a, Owner b) {
+        if (a.load != b.load) { return a.load < b.load; }
+        return a.id.compareTo(b.id) < 0;
+    }
+
+}
@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <pre>
+ * Immutable map from non-negative int keys to values, with structural sharing.
+ *
+ * The map is a 32-way trie over the bits of the key, seven levels deep. Putting or
+ * removing a key copies only the seven nodes on its path and shares the rest with the
+ * previous map, so every old map stays valid and unchanged for as long as something
+ * references it. Ticket ids are dense, so the trie nodes are well filled.
+ * </pre>
+ * @param <V> the value type
+ * @author brandonortiz
+ */
+final class PersistentIntMap<V> {
+
+    /** Bits of the key consumed per level. */
+    private static final int BITS = 5;
+
+    /** Mask for one level's index. */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** Shift of the root level. */
+    private static final int TOP_SHIFT = 30;
+
+    /** The empty map. */
+    private static final PersistentIntMap<Object> EMPTY = new PersistentIntMap<Object>(null, 0);
+
+    /** The root node, or null if the map is empty. */
+    private final Object[] root;
+
+    /** The number of keys. */
+    private final int size;
+
+    /**
+     * Creates a map.
+     * @param root the root node
+     * @param size the number of keys
+     */
+    private PersistentIntMap(Object[] root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     * @param <V> the value type
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    /**
+     * Returns the number of keys.
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value for a key.
+     * @param key the key
+     * @return the value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        Object[] node = root;
+        for (int shift = TOP_SHIFT; shift > 0 && node != null; shift -= BITS) {
+            node = (Object[]) node[(key >>> shift) & MASK];
+        }
+        return node == null ? null : (V) node[key & MASK];
+    }
+
+    /**
+     * Returns a map with a key set to a value. This map is unchanged.
+     * @param key the key, at least 0
+     * @param value the value, not null
+     * @return the new map
+     */
+    PersistentIntMap<V> put(int key, V value) {
+        if (key < 0 || value == null) { throw new IllegalArgumentException(); }
+        boolean added = get(key) == null;
+        return new PersistentIntMap<V>(put(root, TOP_SHIFT, key, value), added ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without a key. This map is unchanged.
+     * @param key the key
+     * @return the new map, or this map if the key is absent
+     */
+    PersistentIntMap<V> remove(int key) {
+        if (get(key) == null) { return this; }
+        return new PersistentIntMap<V>(remove(root, TOP_SHIFT, key), size - 1);
+    }
+
+    /**
+     * Visits every entry in ascending key order.
+     * @param action the action to perform on each key and value
+     */
+    void forEach(BiConsumer<Integer, ? super V> action) {
+        if (root != null) { forEach(root, TOP_SHIFT, 0, action); }
+    }
+
+    /**
+     * Path-copying insert.
+     * @param node the node at this level, may be null
+     * @param shift the level's shift
+     * @param key the key
+     * @param value the value
+     * @return the copied node
+     */
+    private static Object[] put(Object[] node, int shift, int key, Object value) {
+        Object[] copy = node == null ? new Object[MASK + 1] : node.clone();
+        int i = (key >>> shift) & MASK;
+        if (shift == 0) {
+            copy[i] = value;
+        } else {
+            copy[i] = put((Object[]) copy[i], shift - BITS, key, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Path-copying delete of a key known to be present. Nodes left empty are dropped.
+     * @param node the node at this level
+     * @param shift the level's shift
+     * @param key the key
+     * @return the copied node, or null if it became empty
+     */
+    private static Object[] remove(Object[] node, int shift, int key) {
+        Object[] copy = node.clone();
+        int i = (key >>> shift) & MASK;
+        copy[i] = shift == 0 ? null : remove((Object[]) copy[i], shift - BITS, key);
+        for (Object o : copy) {
+            if (o != null) { return copy; }
+        }
+        return null;
+    }
+
+    /**
+     * Recursive in-order traversal.
+     * @param node the node
+     * @param shift the node's shift
+     * @param prefix the key bits above this node
+     * @param action the action to perform
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> void forEach(Object[] node, int shift, int prefix, BiConsumer<Integer, ? super V> action) {
+        for (int i = 0; i <= MASK; i++) {
+            Object o = node[i];
+            if (o == null) { continue; }
+            int key = prefix | (i << shift);
+            if (shift == 0) {
+                action.accept(key, (V) o);
+            } else {
+                forEach((Object[]) o, shift - BITS, key, action);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Maintained ordering of tickets by priority, then ticketId, for paged list views.
+ *
+ * Each state has a concurrent skip list keyed on (Priority ordinal, ticketId) packed into
+ * one long, and one more skip list holds every ticket. Urgent tickets sort first. The
+ * index also counts tickets per state and priority, so a page number is turned into a
+ * starting priority group without walking earlier groups.
+ *
+ * {@link #pageAfter(String, Ticket, int)} and {@link #topK(String, int)} run in
+ * O(log n + page size). {@link #page(String, int, int)} additionally walks the tickets
+ * that precede the page within its priority group; views that page forward should pass
+ * the last ticket shown to pageAfter instead.
+ *
+ * Register the index with {@link Ticket#addTicketListener(TicketListener)} to keep it
+ * current.
+ * </pre>
+ * @author brandonortiz
+ */
+public class SortedTicketIndex implements TicketListener {
+
+    /** Number of priorities. */
+    private static final int PRIORITIES = Priority.values().length;
+
+    /** Slot used for the index of all tickets regardless of state. */
+    private static final int ALL = Ticket.STATE_COUNT;
+
+    /** Ordered tickets per state, plus all tickets at {@link #ALL}. */
+    private final List<ConcurrentSkipListMap<Long, Ticket>> maps =
+            new ArrayList<ConcurrentSkipListMap<Long, Ticket>>();
+
+    /** Number of tickets per (state slot, priority), indexed by slot * PRIORITIES + priority. */
+    private final AtomicIntegerArray counts = new AtomicIntegerArray((ALL + 1) * PRIORITIES);
+
+    /**
+     * Creates an empty index.
+     */
+    public SortedTicketIndex() {
+        for (int i = 0; i <= ALL; i++) { maps.add(new ConcurrentSkipListMap<Long, Ticket>()); }
+    }
+
+    /**
+     * Adds a ticket to the index in its current state.
+     * @param ticket the ticket to add
+     */
+    public void add(Ticket ticket) {
+        int s = Ticket.stateOrdinal(ticket.getState());
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        if (s < 0 || p < 0) { return; }
+        long key = key(p, ticket.getTicketId());
+        insert(ALL, p, key, ticket);
+        insert(s, p, key, ticket);
+    }
+
+    /**
+     * Removes a ticket from the index.
+     * @param ticket the ticket to remove, in its current state
+     */
+    public void remove(Ticket ticket) {
+        int s = Ticket.stateOrdinal(ticket.getState());
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        if (s < 0 || p < 0) { return; }
+        long key = key(p, ticket.getTicketId());
+        delete(ALL, p, key);
+        delete(s, p, key);
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        add(ticket);
+    }
+
+    @Override
+    public void stateChanged(Ticket ticket, String fromState, String toState, String owner, String code) {
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        if (p < 0) { return; }
+        long key = key(p, ticket.getTicketId());
+        int from = Ticket.stateOrdinal(fromState);
+        int to = Ticket.stateOrdinal(toState);
+        if (from >= 0) { delete(from, p, key); }
+        if (to >= 0) { insert(to, p, key, ticket); }
+    }
+
+    /**
+     * Returns the number of tickets in a state.
+     * @param state the state name, or null for all tickets
+     * @return the number of tickets
+     */
+    public int count(String state) {
+        int slot = slot(state);
+        int n = 0;
+        for (int p = 0; p < PRIORITIES; p++) { n += counts.get(slot * PRIORITIES + p); }
+        return n;
+    }
+
+    /**
+     * Returns the highest priority tickets in a state.
+     * @param state the state name, or null for all tickets
+     * @param k the maximum number of tickets to return
+     * @return up to k tickets, most urgent first and then by ticketId
+     */
+    public List<Ticket> topK(String state, int k) {
+        return collect(maps.get(slot(state)), k);
+    }
+
+    /**
+     * Returns the tickets that follow a given ticket in the view's order.
+     * @param state the state name, or null for all tickets
+     * @param last the last ticket of the previous page, or null for the first page
+     * @param pageSize the maximum number of tickets to return
+     * @return the next page of tickets
+     */
+    public List<Ticket> pageAfter(String state, Ticket last, int pageSize) {
+        ConcurrentSkipListMap<Long, Ticket> map = maps.get(slot(state));
+        if (last == null) { return collect(map, pageSize); }
+        int p = Ticket.priorityOrdinal(last.getPriority());
+        if (p < 0) { throw new IllegalArgumentException(); }
+        return collect(map.tailMap(key(p, last.getTicketId()), false), pageSize);
+    }
+
+    /**
+     * Returns a page of tickets by page number.
+     * @param state the state name, or null for all tickets
+     * @param pageNumber the zero-based page number
+     * @param pageSize the number of tickets per page
+     * @return the tickets on the page, empty if the page is past the end
+     * @throws IllegalArgumentException if the page number is negative or the size is not positive
+     */
+    public List<Ticket> page(String state, int pageNumber, int pageSize) {
+        if (pageNumber < 0 || pageSize < 1) { throw new IllegalArgumentException(); }
+        int slot = slot(state);
+        long skip = (long) pageNumber * pageSize;
+        int p = 0;
+        for (; p < PRIORITIES; p++) {
+            int inGroup = counts.get(slot * PRIORITIES + p);
+            if (skip < inGroup) { break; }
+            skip -= inGroup;
+        }
+        if (p == PRIORITIES) { return new ArrayList<Ticket>(); }
+
+        Iterator<Ticket> it = maps.get(slot).tailMap(key(p, 0), true).values().iterator();
+        while (skip > 0 && it.hasNext()) {
+            it.next();
+            skip--;
+        }
+        List<Ticket> page = new ArrayList<Ticket>(pageSize);
+        while (page.size() < pageSize && it.hasNext()) { page.add(it.next()); }
+        return page;
+    }
+
+    /**
+     * Copies up to n tickets from the start of a map.
+     * @param map the map
+     * @param n the maximum number of tickets
+     * @return the tickets
+     */
+    private static List<Ticket> collect(ConcurrentNavigableMap<Long, Ticket> map, int n) {
+        if (n < 0) { throw new IllegalArgumentException(); }
+        List<Ticket> result = new ArrayList<Ticket>(Math.min(n, 64));
+        Iterator<Ticket> it = map.values().iterator();
+        while (result.size() < n && it.hasNext()) { result.add(it.next()); }
+        return result;
+    }
+
+    /**
+     * Adds an entry and counts it.
+     * @param slot the state slot
+     * @param p the priority ordinal
+     * @param key the entry key
+     * @param ticket the ticket
+     */
+    private void insert(int slot, int p, long key, Ticket ticket) {
+        if (maps.get(slot).put(key, ticket) == null) { counts.incrementAndGet(slot * PRIORITIES + p); }
+    }
+
+    /**
+     * Removes an entry and uncounts it.
+     * @param slot the state slot
+     * @param p the priority ordinal
+     * @param key the entry key
+     */
+    private void delete(int slot, int p, long key) {
+        if (maps.get(slot).remove(key) != null) { counts.decrementAndGet(slot * PRIORITIES + p); }
+    }
+
+    /**
+     * Maps a state name to its slot.
+     * @param state the state name, or null for all tickets
+     * @return the slot
+     * @throws IllegalArgumentException if the state is not a known state name
+     */
+    private static int slot(String state) {
+        if (state == null) { return ALL; }
+        int s = Ticket.stateOrdinal(state);
+        if (s < 0) { throw new IllegalArgumentException("Invalid state"); }
+        return s;
+    }
+
+    /**
+     * Packs a priority and ticketId into an order preserving key.
+     * @param priority the priority ordinal
+     * @param ticketId the ticket id
+     * @return the key
+     */
+    private static long key(int priority, int ticketId) {
+        return ((long) priority << 32) | (ticketId & 0xFFFFFFFFL);
+    }
+
+}
@@ -0,0 +1,295 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.SymbolTable;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Multi-version store that gives reports and exports a consistent point-in-time view of
+ * every ticket while transitions continue.
+ *
+ * The store keeps an immutable {@link TicketVersion} of each ticket in a persistent map.
+ * A writer builds a new map that shares all but one path with the old one and swaps it in
+ * with a compare-and-set, so writers never wait for readers. {@link #snapshot()} just
+ * captures the current map, so it is O(1), and the snapshot sees the same versions
+ * however long it is held. Versions that no snapshot references any more are reclaimed by
+ * the garbage collector.
+ *
+ * Register the store with {@link Ticket#addTicketListener(TicketListener)} to record a new
+ * version on every update of a ticket it holds, whether or not its state changes.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TicketSnapshotStore implements TicketListener {
+
+    /** The latest versions of all tickets. */
+    private final AtomicReference<PersistentIntMap<TicketVersion>> current =
+            new AtomicReference<PersistentIntMap<TicketVersion>>(PersistentIntMap.<TicketVersion>empty());
+
+    /**
+     * Records the current contents of a ticket as its latest version. The fields are copied
+     * in one validated read, see {@link Ticket#read(java.util.function.Function)}. A copy
+     * older than the version already held of the same Ticket object, from a put that lost
+     * a race with a later update, is ignored. Versions are only compared within one object:
+     * a ticket reloaded from an archive or a file is a new object whose version starts
+     * again at 0, and its copies always replace those of the object it replaced.
+     * @param ticket the ticket to record
+     */
+    public void put(Ticket ticket) {
+        TicketVersion v = ticket.read(TicketVersion::new);
+        current.updateAndGet(m -> {
+            TicketVersion old = m.get(v.getTicketId());
+            return old != null && old.isCopyOf(ticket) && old.getVersion() > v.getVersion()
+                    ? m : m.put(v.getTicketId(), v);
+        });
+    }
+
+    /**
+     * Removes a ticket. Snapshots taken earlier still contain it.
+     * @param ticketId the ticket id
+     */
+    public void remove(int ticketId) {
+        current.updateAndGet(m -> m.remove(ticketId));
+    }
+
+    /**
+     * Returns the latest version of a ticket.
+     * @param ticketId the ticket id
+     * @return the version, or null if the store does not hold the ticket
+     */
+    public TicketVersion get(int ticketId) {
+        return current.get().get(ticketId);
+    }
+
+    /**
+     * Returns the number of tickets in the store.
+     * @return the number of tickets
+     */
+    public int size() {
+        return current.get().size();
+    }
+
+    /**
+     * Captures a consistent view of every ticket as of now.
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(current.get());
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        // Tickets join the store through put()
+    }
+
+    /**
+     * Records a new version of a ticket the store already holds.
+     */
+    @Override
+    public void ticketUpdated(Ticket ticket) {
+        if (current.get().get(ticket.getTicketId()) != null) { put(ticket); }
+    }
+
+    @Override
+    public void stateChanged(Ticket ticket, String fromState, String toState, String owner, String code) {
+        // Already recorded by ticketUpdated()
+    }
+
+    /**
+     * Frozen view of the store at the moment it was taken.
+     */
+    public static final class Snapshot {
+
+        /** The map captured by the snapshot. */
+        private final PersistentIntMap<TicketVersion> map;
+
+        /**
+         * Creates a snapshot.
+         * @param map the captured map
+         */
+        private Snapshot(PersistentIntMap<TicketVersion> map) {
+            this.map = map;
+        }
+
+        /**
+         * Returns a ticket as it was when the snapshot was taken.
+         * @param ticketId the ticket id
+         * @return the version, or null if the ticket was not in the store
+         */
+        public TicketVersion get(int ticketId) {
+            return map.get(ticketId);
+        }
+
+        /**
+         * Returns the number of tickets in the snapshot.
+         * @return the number of tickets
+         */
+        public int size() {
+            return map.size();
+        }
+
+        /**
+         * Visits every ticket version in ascending ticketId order.
+         * @param action the action to perform
+         */
+        public void forEach(Consumer<TicketVersion> action) {
+            map.forEach((id, v) -> action.accept(v));
+        }
+
+        /**
+         * Returns every ticket version in ascending ticketId order.
+         * @return a new list of the versions
+         */
+        public List<TicketVersion> toList() {
+            List<TicketVersion> list = new ArrayList<TicketVersion>(map.size());
+            forEach(list::add);
+            return list;
+        }
+    }
+
+    /**
+     * <pre>
+     * Immutable copy of the fields of a Ticket at one version, including its notes.
+     * </pre>
+     */
+    public static final class TicketVersion {
+
+        /** The ticket id. */
+        private final int ticketId;
+
+        /** The Ticket object copied, held weakly so archived tickets can be reclaimed. */
+        private final WeakReference<Ticket> source;
+
+        /** The ticket's version when copied. */
+        private final long version;
+
+        /** The state name. */
+        private final String state;
+
+        /** The ticket type name. */
+        private final String ticketType;
+
+        /** The subject. */
+        private final String subject;
+
+        /** The caller's symbol in the shared SymbolTable. */
+        private final int caller;
+
+        /** The category name. */
+        private final String category;
+
+        /** The priority name. */
+        private final String priority;
+
+        /** The owner's symbol in the shared SymbolTable, or SymbolTable.NONE. */
+        private final int owner;
+
+        /** The code of the last transition, may be null. */
+        private final String code;
+
+        /** The notes. */
+        private final String notes;
+
+        /**
+         * Copies a ticket. Must be called within {@link Ticket#read(java.util.function.Function)}.
+         * @param t the ticket
+         */
+        TicketVersion(Ticket t) {
+            this.ticketId = t.getTicketId();
+            this.source = new WeakReference<Ticket>(t);
+            this.version = t.getVersion();
+            this.state = t.getState();
+            this.ticketType = t.getTicketTypeString();
+            this.subject = t.getSubject();
+            this.caller = t.getCallerSymbol();
+            this.category = t.getCategory();
+            this.priority = t.getPriority();
+            this.owner = t.getOwnerSymbol();
+            this.code = t.getCode();
+            this.notes = t.getNotes();
+        }
+
+        /**
+         * Returns the ticket id.
+         * @return the ticket id
+         */
+        public int getTicketId() { return ticketId; }
+
+        /**
+         * Returns true if this is a copy of the given Ticket object, so its version can be
+         * compared with the object's.
+         * @param t the ticket
+         * @return true if this version was copied from t
+         */
+        boolean isCopyOf(Ticket t) { return source.get() == t; }
+
+        /**
+         * Returns the ticket's version number when this copy was taken.
+         * @return the version
+         * @see Ticket#getVersion()
+         */
+        public long getVersion() { return version; }
+
+        /**
+         * Returns the state name.
+         * @return the state
+         */
+        public String getState() { return state; }
+
+        /**
+         * Returns the ticket type name.
+         * @return the ticket type
+         */
+        public String getTicketTypeString() { return ticketType; }
+
+        /**
+         * Returns the subject.
+         * @return the subject
+         */
+        public String getSubject() { return subject; }
+
+        /**
+         * Returns the caller.
+         * @return the caller
+         */
+        public String getCaller() { return SymbolTable.getShared().name(caller); }
+
+        /**
+         * Returns the category name.
+         * @return the category
+         */
+        public String getCategory() { return category; }
+
+        /**
+         * Returns the priority name.
+         * @return the priority
+         */
+        public String getPriority() { return priority; }
+
+        /**
+         * Returns the owner.
+         * @return the owner, or null
+         */
+        public String getOwner() { return SymbolTable.getShared().name(owner); }
+
+        /**
+         * Returns the code of the last transition.
+         * @return the code, or null
+         */
+        public String getCode() { return code; }
+
+        /**
+         * Returns the notes.
+         * @return the notes
+         */
+        public String getNotes() { return notes; }
+    }
+
+}
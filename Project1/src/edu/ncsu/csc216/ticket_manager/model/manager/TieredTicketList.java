@@ -0,0 +1,280 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import edu.ncsu.csc216.ticket_manager.model.io.TicketArchive;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Ticket list that keeps only the active workload on the heap.
+ *
+ * Tickets that have been Closed or Canceled for longer than a configurable age are moved
+ * to a {@link TicketArchive} by {@link #archiveIdle()}, leaving only the offset of their
+ * record in memory. {@link #getTicketById(int)} is transparent to the caller: an archived
+ * ticket is reloaded from disk and kept in a size-bounded LRU cache.
+ *
+ * Register the list with {@link Ticket#addTicketListener(TicketListener)} so it knows
+ * when tickets become terminal, and so a reloaded ticket that is reopened moves back to
+ * the active set.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TieredTicketList implements TicketListener {
+
+    /** The archive of cold tickets. */
+    private final TicketArchive archive;
+
+    /** Minimum time in milliseconds a ticket must be terminal before it is archived. */
+    private final long terminalAge;
+
+    /** Clock used to age terminal tickets. */
+    private final LongSupplier clock;
+
+    /** Tickets kept in memory, by id. */
+    private final Map<Integer, Ticket> hot = new HashMap<Integer, Ticket>();
+
+    /** Time each hot terminal ticket became terminal, by id. */
+    private final Map<Integer, Long> terminalSince = new HashMap<Integer, Long>();
+
+    /** Archive record offset of each cold ticket, by id. */
+    private final Map<Integer, Long> cold = new HashMap<Integer, Long>();
+
+    /** Recently reloaded cold tickets, least recently used first. */
+    private final LinkedHashMap<Integer, Ticket> cache;
+
+    /**
+     * Cold tickets that have been reloaded, by id. A caller may still hold a reloaded
+     * Ticket after it leaves the cache, so its changes are tracked by id for as long as the
+     * Ticket is reachable. The entry is dropped once the Ticket is collected, moves back
+     * to the active set, or is deleted, so the map never outgrows the reloaded tickets
+     * still in use.
+     */
+    private final Map<Integer, Reload> reloaded = new HashMap<Integer, Reload>();
+
+    /** Receives the entries of {@link #reloaded} whose Ticket has been collected. */
+    private final ReferenceQueue<Ticket> collected = new ReferenceQueue<Ticket>();
+
+    /**
+     * Creates a tiered list using the system clock.
+     * @param archive the archive for cold tickets
+     * @param terminalAge milliseconds a ticket must be terminal before it is archived
+     * @param cacheSize the maximum number of reloaded tickets kept in memory
+     */
+    public TieredTicketList(TicketArchive archive, long terminalAge, int cacheSize) {
+        this(archive, terminalAge, cacheSize, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a tiered list.
+     * @param archive the archive for cold tickets
+     * @param terminalAge milliseconds a ticket must be terminal before it is archived
+     * @param cacheSize the maximum number of reloaded tickets kept in memory
+     * @param clock source of the current time in milliseconds
+     * @throws IllegalArgumentException if the archive or clock is null, or the age or
+     * 		cache size is negative
+     */
+    public TieredTicketList(TicketArchive archive, long terminalAge, int cacheSize, LongSupplier clock) {
+        if (archive == null || clock == null || terminalAge < 0 || cacheSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.archive = archive;
+        this.terminalAge = terminalAge;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<Integer, Ticket>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Ticket> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Adds a ticket to the active set. A ticket that is already terminal starts aging now.
+     * @param ticket the ticket to add
+     */
+    public synchronized void addTicket(Ticket ticket) {
+        int id = ticket.getTicketId();
+        cold.remove(id);
+        cache.remove(id);
+        reloaded.remove(id);
+        hot.put(id, ticket);
+        if (isTerminal(ticket.getState())) {
+            terminalSince.put(id, clock.getAsLong());
+        } else {
+            terminalSince.remove(id);
+        }
+    }
+
+    /**
+     * Returns a ticket by id, reloading it from the archive if it is cold.
+     * @param ticketId the ticket id
+     * @return the ticket, or null if there is no such ticket
+     */
+    public synchronized Ticket getTicketById(int ticketId) {
+        Ticket t = hot.get(ticketId);
+        if (t != null) { return t; }
+        t = cache.get(ticketId);
+        if (t != null) { return t; }
+        Long offset = cold.get(ticketId);
+        if (offset == null) { return null; }
+        t = archive.read(offset);
+        cache.put(ticketId, t);
+        expungeCollected();
+        reloaded.put(ticketId, new Reload(t, collected));
+        return t;
+    }
+
+    /**
+     * Removes a ticket from whichever tier holds it.
+     * @param ticketId the ticket id
+     * @return true if there was such a ticket
+     */
+    public synchronized boolean deleteTicketById(int ticketId) {
+        terminalSince.remove(ticketId);
+        cache.remove(ticketId);
+        reloaded.remove(ticketId);
+        boolean wasHot = hot.remove(ticketId) != null;
+        return cold.remove(ticketId) != null || wasHot;
+    }
+
+    /**
+     * Moves every ticket that has been terminal for at least the configured age to the
+     * archive. A ticket leaves the active set only once its record has been written, so a
+     * failed write leaves it, and every ticket not yet reached, in memory.
+     * @return the number of tickets archived
+     * @throws IllegalArgumentException if the archive cannot be written
+     */
+    public synchronized int archiveIdle() {
+        expungeCollected();
+        long cutoff = clock.getAsLong() - terminalAge;
+        int moved = 0;
+        Iterator<Map.Entry<Integer, Long>> it = terminalSince.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Long> e = it.next();
+            if (e.getValue() > cutoff) { continue; }
+            long offset = archive.append(hot.get(e.getKey()));
+            hot.remove(e.getKey());
+            it.remove();
+            cold.put(e.getKey(), offset);
+            moved++;
+        }
+        return moved;
+    }
+
+    /**
+     * Returns the total number of tickets in both tiers.
+     * @return the number of tickets
+     */
+    public synchronized int size() {
+        return hot.size() + cold.size();
+    }
+
+    /**
+     * Returns the number of tickets held in memory, not counting the reload cache.
+     * @return the number of hot tickets
+     */
+    public synchronized int getHotCount() {
+        return hot.size();
+    }
+
+    /**
+     * Returns the number of tickets in the archive.
+     * @return the number of cold tickets
+     */
+    public synchronized int getArchivedCount() {
+        return cold.size();
+    }
+
+    /**
+     * Returns the number of reloaded tickets whose changes are still tracked.
+     * @return the number of tracked reloads
+     */
+    synchronized int getReloadedCount() {
+        expungeCollected();
+        return reloaded.size();
+    }
+
+    /**
+     * Closes the archive.
+     * @throws IOException if the archive cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        archive.close();
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        // New tickets join the list through addTicket()
+    }
+
+    /**
+     * Starts aging a hot ticket that became terminal. A cold ticket that was reloaded and
+     * then changed, such as by a reopen, moves back to the active set, whether or not it
+     * is still in the reload cache; its archived record is now stale.
+     */
+    @Override
+    public synchronized void stateChanged(Ticket ticket, String fromState, String toState, String owner,
+            String code) {
+        int id = ticket.getTicketId();
+        if (hot.get(id) == ticket) {
+            if (isTerminal(toState)) {
+                terminalSince.put(id, clock.getAsLong());
+            } else {
+                terminalSince.remove(id);
+            }
+        } else if (reloaded.containsKey(id)) {
+            addTicket(ticket);
+        }
+    }
+
+    /**
+     * Drops the tracking entries of reloaded tickets that have been collected. An entry
+     * replaced by a later reload of the same id is left alone.
+     */
+    private void expungeCollected() {
+        for (Object r = collected.poll(); r != null; r = collected.poll()) {
+            Reload reload = (Reload) r;
+            if (reloaded.get(reload.ticketId) == reload) { reloaded.remove(reload.ticketId); }
+        }
+    }
+
+    /**
+     * Weak reference to a reloaded Ticket that remembers its id after it is cleared.
+     */
+    private static final class Reload extends WeakReference<Ticket> {
+
+        /** The ticket id. */
+        private final int ticketId;
+
+        /**
+         * Creates the reference.
+         * @param ticket the reloaded ticket
+         * @param queue the queue to enqueue on once the ticket is collected
+         */
+        Reload(Ticket ticket, ReferenceQueue<Ticket> queue) {
+            super(ticket, queue);
+            this.ticketId = ticket.getTicketId();
+        }
+    }
+
+    /**
+     * Returns true for the Closed and Canceled states.
+     * @param state the state name
+     * @return true if the state is terminal
+     */
+    private static boolean isTerminal(String state) {
+        return Ticket.CLOSED_NAME.equals(state) || Ticket.CANCELED_NAME.equals(state);
+    }
+
+}
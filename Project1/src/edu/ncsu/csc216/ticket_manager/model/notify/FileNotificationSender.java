@@ -0,0 +1,52 @@
+package edu.ncsu.csc216.ticket_manager.model.notify;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Stand-in sender that appends each batch to a text file per caller in a directory, for
+ * testing without a mail relay.
+ * @author brandonortiz
+ */
+public class FileNotificationSender implements NotificationSender {
+
+    /** Directory the caller files are written to. */
+    private final Path directory;
+
+    /**
+     * Creates a sender.
+     * @param directory the directory to write to, created if missing
+     * @throws IllegalArgumentException if the directory cannot be created
+     */
+    public FileNotificationSender(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to create directory.");
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Appends the batch to the caller's file as one message.
+     */
+    @Override
+    public void send(String caller, List<Notification> batch) throws IOException {
+        Path file = directory.resolve(NotificationOutbox.fileSafe(caller) + ".txt");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            out.write("To: " + caller + "\n");
+            for (Notification n : batch) {
+                out.write("Ticket " + n.getTicketId() + " (" + n.getSubject() + ") is " + n.getState()
+                        + (n.getCode() == null ? "" : ": " + n.getCode()) + "\n");
+            }
+            out.write("\n");
+        }
+    }
+
+}
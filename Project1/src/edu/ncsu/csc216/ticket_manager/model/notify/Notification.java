@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.ticket_manager.model.notify;
+
+/**
+ * A message to a ticket's caller about a transition: the ticket is waiting on the caller
+ * in Feedback, or has been resolved.
+ * @author brandonortiz
+ */
+public final class Notification {
+
+    /** The ticket id. */
+    private final int ticketId;
+
+    /** The caller to notify. */
+    private final String caller;
+
+    /** The ticket subject. */
+    private final String subject;
+
+    /** The state the ticket entered. */
+    private final String state;
+
+    /** The feedback or resolution code, or null. */
+    private final String code;
+
+    /** Time of the transition in epoch milliseconds. */
+    private final long timeMillis;
+
+    /**
+     * Creates a notification.
+     * @param ticketId the ticket id
+     * @param caller the caller to notify
+     * @param subject the ticket subject
+     * @param state the state the ticket entered
+     * @param code the feedback or resolution code, or null
+     * @param timeMillis the time of the transition
+     */
+    public Notification(int ticketId, String caller, String subject, String state, String code, long timeMillis) {
+        this.ticketId = ticketId;
+        this.caller = caller;
+        this.subject = subject;
+        this.state = state;
+        this.code = code;
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Returns the ticket id.
+     * @return the ticket id
+     */
+    public int getTicketId() { return ticketId; }
+
+    /**
+     * Returns the caller to notify.
+     * @return the caller
+     */
+    public String getCaller() { return caller; }
+
+    /**
+     * Returns the ticket subject.
+     * @return the subject
+     */
+    public String getSubject() { return subject; }
+
+    /**
+     * Returns the state the ticket entered.
+     * @return the state name
+     */
+    public String getState() { return state; }
+
+    /**
+     * Returns the feedback or resolution code.
+     * @return the code, or null
+     */
+    public String getCode() { return code; }
+
+    /**
+     * Returns the time of the transition.
+     * @return epoch milliseconds
+     */
+    public long getTimeMillis() { return timeMillis; }
+
+}
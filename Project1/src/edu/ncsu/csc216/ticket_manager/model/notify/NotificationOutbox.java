@@ -0,0 +1,392 @@
+package edu.ncsu.csc216.ticket_manager.model.notify;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Outbox of caller notifications, batched per caller.
+ *
+ * A notification is queued when a ticket enters Feedback with the Awaiting Caller code or
+ * is Resolved. Queuing is one add to a lock free queue, so the transition path never
+ * waits on disk or on the sender. Once per window a background thread, or an explicit
+ * {@link #flush()}:
+ *
+ * 	drains the queue and groups it by caller, keeping only the latest notification for
+ * 		each ticket
+ * 	writes each caller's batch to its own file in the spool directory, dropping the batch
+ * 		from memory only once its file is in place
+ * 	hands every spooled batch, oldest first, to the {@link NotificationSender} and
+ * 		deletes it once sent
+ *
+ * A batch that cannot be spooled stays in memory and is merged with that caller's later
+ * notifications on the next flush. A batch the sender fails on stays in the spool, along
+ * with every later one, and is retried on the next flush. A spooled batch that cannot be
+ * read is renamed with the quarantine suffix so it no longer blocks the batches behind it.
+ * Batches left in the spool directory by an earlier run are sent on the first flush.
+ *
+ * Register the outbox with {@link Ticket#addTicketListener(TicketListener)}.
+ * </pre>
+ * @author brandonortiz
+ */
+public class NotificationOutbox implements TicketListener, AutoCloseable {
+
+    /** Feedback code for tickets waiting on the caller. */
+    private static final String AWAITING_CALLER = "Awaiting Caller";
+
+    /** Suffix of spooled batch files. */
+    private static final String SPOOL_SUFFIX = ".batch";
+
+    /** Suffix of batch files that could not be read. */
+    static final String QUARANTINE_SUFFIX = ".bad";
+
+    /** Longest caller id used as is in a file name. */
+    static final int MAX_NAME_LENGTH = 64;
+
+    /** Directory holding batches not yet sent. */
+    private final Path spool;
+
+    /** Delivers batches. */
+    private final NotificationSender sender;
+
+    /** Notifications not yet spooled. */
+    private final Queue<Notification> queue = new ConcurrentLinkedQueue<Notification>();
+
+    /** Batches drained from the queue but not yet spooled, by caller. Guarded by this. */
+    private final Map<String, Map<Integer, Notification>> pending =
+            new LinkedHashMap<String, Map<Integer, Notification>>();
+
+    /** Runs the periodic flush. */
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "notification-outbox");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Sequence number of the last spooled batch, to order batches written in the same millisecond. Guarded by this. */
+    private long sequence;
+
+    /** Notifications queued. */
+    private final LongAdder queued = new LongAdder();
+
+    /** Batches handed to the sender successfully. Guarded by this. */
+    private long sent;
+
+    /** Sends that threw. Guarded by this. */
+    private long failures;
+
+    /** Spooled batches that could not be read and were set aside. Guarded by this. */
+    private long quarantined;
+
+    /**
+     * Creates an outbox and starts flushing it every window.
+     * @param spoolDirectory the spool directory, created if missing
+     * @param sender the sender
+     * @param windowMillis the flush interval in milliseconds
+     * @throws IllegalArgumentException if an argument is null, the window is less than 1,
+     * 		or the spool directory cannot be created
+     */
+    public NotificationOutbox(Path spoolDirectory, NotificationSender sender, long windowMillis) {
+        if (spoolDirectory == null || sender == null || windowMillis < 1) { throw new IllegalArgumentException(); }
+        try {
+            Files.createDirectories(spoolDirectory);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to create directory.");
+        }
+        this.spool = spoolDirectory;
+        this.sender = sender;
+        flusher.scheduleWithFixedDelay(this::flushQuietly, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        // Only transitions notify the caller
+    }
+
+    /**
+     * Queues a notification if the ticket now waits on its caller or has been resolved.
+     */
+    @Override
+    public void stateChanged(Ticket ticket, String fromState, String toState, String owner, String code) {
+        if (!(Ticket.FEEDBACK_NAME.equals(toState) && AWAITING_CALLER.equals(code))
+                && !Ticket.RESOLVED_NAME.equals(toState)) {
+            return;
+        }
+        queue.add(new Notification(ticket.getTicketId(), ticket.getCaller(), ticket.getSubject(), toState, code,
+                System.currentTimeMillis()));
+        queued.increment();
+    }
+
+    /**
+     * Spools everything queued and sends every spooled batch. Batches already spooled are
+     * sent even if another caller's batch cannot be written; that batch is kept for the
+     * next flush and the failure is reported once delivery is done.
+     * @return the number of batches sent
+     * @throws IllegalArgumentException if a batch cannot be written to the spool, or the
+     * 		spool cannot be read
+     */
+    public synchronized int flush() {
+        for (Notification n = queue.poll(); n != null; n = queue.poll()) {
+            Map<Integer, Notification> batch = pending.get(n.getCaller());
+            if (batch == null) {
+                batch = new LinkedHashMap<Integer, Notification>();
+                pending.put(n.getCaller(), batch);
+            }
+            batch.remove(n.getTicketId());
+            batch.put(n.getTicketId(), n);
+        }
+        IllegalArgumentException spoolFailure = null;
+        Iterator<Map.Entry<String, Map<Integer, Notification>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Map<Integer, Notification>> e = it.next();
+            try {
+                spool(e.getKey(), e.getValue().values());
+                it.remove();
+            } catch (IllegalArgumentException ex) {
+                if (spoolFailure == null) { spoolFailure = ex; }
+            }
+        }
+        int count = deliver();
+        if (spoolFailure != null) { throw spoolFailure; }
+        return count;
+    }
+
+    /**
+     * Returns the number of notifications queued, including those since spooled.
+     * @return the count
+     */
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    /**
+     * Returns the number of batches sent.
+     * @return the count
+     */
+    public synchronized long getSentCount() {
+        return sent;
+    }
+
+    /**
+     * Returns the number of sends that failed and were left for retry.
+     * @return the count
+     */
+    public synchronized long getFailureCount() {
+        return failures;
+    }
+
+    /**
+     * Returns the number of spooled batches that could not be read and were quarantined.
+     * @return the count
+     */
+    public synchronized long getQuarantinedCount() {
+        return quarantined;
+    }
+
+    /**
+     * Returns the number of callers with notifications drained from the queue but not yet
+     * spooled.
+     * @return the count
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of batches waiting in the spool.
+     * @return the count
+     * @throws IllegalArgumentException if the spool directory cannot be read
+     */
+    public synchronized int getSpooledCount() {
+        return spooledFiles().size();
+    }
+
+    /**
+     * Stops the periodic flush and flushes once more. Batches the sender fails on stay in
+     * the spool for the next outbox on the same directory.
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Flushes from the background thread, where there is no caller to report to; anything
+     * not sent stays queued or spooled for the next attempt.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Retried on the next flush
+        }
+    }
+
+    /**
+     * Writes one caller's batch to a new spool file. The file is written under a temporary
+     * name and renamed, so a crash never leaves a partial batch to be sent.
+     * @param caller the caller
+     * @param batch the notifications
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    private void spool(String caller, Iterable<Notification> batch) {
+        String name = String.format("%013d-%06d-%s", System.currentTimeMillis(), ++sequence % 1_000_000,
+                fileSafe(caller));
+        Path tmp = spool.resolve(name + ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write(oneLine(caller) + "\n");
+                for (Notification n : batch) {
+                    out.write(n.getTicketId() + "\t" + n.getState() + "\t" + (n.getCode() == null ? "" : n.getCode())
+                            + "\t" + n.getTimeMillis() + "\t" + oneLine(n.getSubject()) + "\n");
+                }
+            }
+            Files.move(tmp, spool.resolve(name + SPOOL_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        }
+    }
+
+    /**
+     * Sends spooled batches oldest first, stopping at the first failure so batches for a
+     * caller are never sent out of order. A batch that cannot be read is quarantined and
+     * skipped.
+     * @return the number of batches sent
+     * @throws IllegalArgumentException if the spool cannot be read, or a bad batch cannot
+     * 		be quarantined
+     */
+    private int deliver() {
+        int count = 0;
+        for (Path file : spooledFiles()) {
+            List<Notification> batch = new ArrayList<Notification>();
+            String caller;
+            try {
+                caller = read(file, batch);
+            } catch (IllegalArgumentException e) {
+                quarantine(file);
+                continue;
+            }
+            try {
+                sender.send(caller, Collections.unmodifiableList(batch));
+            } catch (IOException | RuntimeException e) {
+                failures++;
+                break;
+            }
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unable to save file.");
+            }
+            sent++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Renames a batch that cannot be read so it is no longer listed as spooled, leaving it
+     * in the directory for inspection.
+     * @param file the batch file
+     * @throws IllegalArgumentException if the file cannot be renamed
+     */
+    private void quarantine(Path file) {
+        String name = file.getFileName().toString();
+        Path bad = file.resolveSibling(name.substring(0, name.length() - SPOOL_SUFFIX.length()) + QUARANTINE_SUFFIX);
+        try {
+            Files.move(file, bad, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to save file.");
+        }
+        quarantined++;
+    }
+
+    /**
+     * Lists the spooled batches, oldest first.
+     * @return the batch files
+     * @throws IllegalArgumentException if the directory cannot be read
+     */
+    private List<Path> spooledFiles() {
+        List<Path> files = new ArrayList<Path>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(spool, "*" + SPOOL_SUFFIX)) {
+            for (Path p : dir) { files.add(p); }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to load file.");
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Reads a spooled batch.
+     * @param file the batch file
+     * @param batch receives the notifications
+     * @return the caller
+     * @throws IllegalArgumentException if the file cannot be read or is malformed
+     */
+    private static String read(Path file, List<Notification> batch) {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String caller = in.readLine();
+            if (caller == null) { throw new IllegalArgumentException("Unable to load file."); }
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String[] f = line.split("\t", 5);
+                if (f.length != 5) { throw new IllegalArgumentException("Unable to load file."); }
+                batch.add(new Notification(Integer.parseInt(f[0]), caller, f[4], f[1], f[2].isEmpty() ? null : f[2],
+                        Long.parseLong(f[3])));
+            }
+            return caller;
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to load file.");
+        }
+    }
+
+    /**
+     * Replaces line breaks and tabs with spaces so a value fits in one spool field.
+     * @param s the value
+     * @return the value on one line
+     */
+    private static String oneLine(String s) {
+        return s.replace('\r', ' ').replace('\n', ' ').replace('\t', ' ');
+    }
+
+    /**
+     * Maps a caller id to a string safe to use in a file name. Ids longer than
+     * {@link #MAX_NAME_LENGTH} are cut short and given the hash of the full id, so the name
+     * stays within file system limits and distinct long ids stay apart.
+     * @param caller the caller id
+     * @return the caller id with anything other than letters, digits, '.', '_', and '-'
+     * 		replaced by '_'
+     */
+    static String fileSafe(String caller) {
+        String safe = caller.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (safe.length() <= MAX_NAME_LENGTH) { return safe; }
+        return safe.substring(0, MAX_NAME_LENGTH) + "-" + Integer.toHexString(caller.hashCode());
+    }
+
+}
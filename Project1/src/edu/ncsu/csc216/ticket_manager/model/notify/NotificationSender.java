@@ -0,0 +1,20 @@
+package edu.ncsu.csc216.ticket_manager.model.notify;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Delivers a batch of notifications to one caller, for example as one email.
+ * @author brandonortiz
+ */
+public interface NotificationSender {
+
+    /**
+     * Sends a batch. The batch is kept in the spool and retried if this throws.
+     * @param caller the caller
+     * @param batch the notifications, at most one per ticket, oldest first
+     * @throws IOException if the batch could not be delivered
+     */
+    void send(String caller, List<Notification> batch) throws IOException;
+
+}
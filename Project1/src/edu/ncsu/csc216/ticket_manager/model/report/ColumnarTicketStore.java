@@ -0,0 +1,359 @@
+package edu.ncsu.csc216.ticket_manager.model.report;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.SymbolTable;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Columnar mirror of the ticket set for whole backlog analytics.
+ *
+ * Each attribute is a primitive array indexed by row: ticketIds, state, category,
+ * priority, and type ordinals as bytes, created and last transition times, and owner
+ * symbols from the shared SymbolTable. Scans read one or two dense arrays instead of following a
+ * pointer per Ticket. Rows are kept packed; deleting a ticket moves the last row into its
+ * slot.
+ *
+ * The scan loops are branch free counted loops over primitive arrays, which HotSpot's
+ * superword pass compiles to SIMD instructions, so no incubator module is needed.
+ *
+ * Register the store with {@link Ticket#addTicketListener(TicketListener)} to keep it
+ * current.
+ * </pre>
+ * @author brandonortiz
+ */
+public class ColumnarTicketStore implements TicketListener {
+
+    /**
+     * Byte coded ticket attribute that can be grouped on.
+     */
+    public enum Column {
+        /** State ordinal. */
+        STATE(Ticket.STATE_COUNT),
+        /** Category ordinal. */
+        CATEGORY(Category.values().length),
+        /** Priority ordinal. */
+        PRIORITY(Priority.values().length),
+        /** Ticket type ordinal. */
+        TYPE(TicketType.values().length);
+
+        /** Number of distinct values. */
+        private final int cardinality;
+
+        /**
+         * Creates a column.
+         * @param cardinality the number of distinct values
+         */
+        Column(int cardinality) {
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Returns the number of distinct values in the column.
+         * @return the cardinality
+         */
+        public int getCardinality() {
+            return cardinality;
+        }
+    }
+
+    /** Initial number of rows allocated. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** TicketId of each row. */
+    private int[] ids = new int[INITIAL_CAPACITY];
+
+    /** State ordinal of each row. */
+    private byte[] states = new byte[INITIAL_CAPACITY];
+
+    /** Category ordinal of each row. */
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+
+    /** Priority ordinal of each row. */
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+
+    /** Ticket type ordinal of each row. */
+    private byte[] types = new byte[INITIAL_CAPACITY];
+
+    /** Time each row was added, in epoch milliseconds. */
+    private long[] created = new long[INITIAL_CAPACITY];
+
+    /** Time of each row's last transition, in epoch milliseconds. */
+    private long[] updated = new long[INITIAL_CAPACITY];
+
+    /** Shared SymbolTable symbol of each row's owner, or {@link SymbolTable#NONE}. */
+    private int[] owners = new int[INITIAL_CAPACITY];
+
+    /** Row of each ticketId. */
+    private final Map<Integer, Integer> rows = new HashMap<Integer, Integer>();
+
+    /** Number of rows in use. */
+    private int size;
+
+    /**
+     * Adds a ticket as of the current time. A ticket that is already present is replaced.
+     * @param ticket the ticket to add
+     */
+    public void add(Ticket ticket) {
+        add(ticket, System.currentTimeMillis());
+    }
+
+    /**
+     * Adds a ticket with the given creation time, for loading an existing backlog. A
+     * ticket that is already present is replaced.
+     * @param ticket the ticket to add
+     * @param createdMillis the creation time in epoch milliseconds
+     * @throws IllegalArgumentException if the ticket's state, category, priority, or type
+     *         is not recognized
+     */
+    public void add(Ticket ticket, long createdMillis) {
+        int s = Ticket.stateOrdinal(ticket.getState());
+        int c = Ticket.categoryOrdinal(ticket.getCategory());
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        int t = Ticket.ticketTypeOrdinal(ticket.getTicketTypeString());
+        if (s < 0 || c < 0 || p < 0 || t < 0) {
+            throw new IllegalArgumentException("Ticket cannot be created.");
+        }
+        synchronized (this) {
+            Integer existing = rows.get(ticket.getTicketId());
+            int row;
+            if (existing != null) {
+                row = existing;
+            } else {
+                if (size == ids.length) { grow(); }
+                row = size++;
+                rows.put(ticket.getTicketId(), row);
+            }
+            ids[row] = ticket.getTicketId();
+            states[row] = (byte) s;
+            categories[row] = (byte) c;
+            priorities[row] = (byte) p;
+            types[row] = (byte) t;
+            created[row] = createdMillis;
+            updated[row] = createdMillis;
+            owners[row] = ticket.getOwnerSymbol();
+        }
+    }
+
+    /**
+     * Removes a ticket.
+     * @param ticketId the id of the ticket to remove
+     * @return true if the ticket was present
+     */
+    public synchronized boolean remove(int ticketId) {
+        Integer row = rows.remove(ticketId);
+        if (row == null) { return false; }
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            states[row] = states[last];
+            categories[row] = categories[last];
+            priorities[row] = priorities[last];
+            types[row] = types[last];
+            created[row] = created[last];
+            updated[row] = updated[last];
+            owners[row] = owners[last];
+            rows.put(ids[row], row);
+        }
+        return true;
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        add(ticket);
+    }
+
+    /**
+     * Updates the state, owner, and last transition time of the ticket's row.
+     */
+    @Override
+    public synchronized void stateChanged(Ticket ticket, String fromState, String toState, String owner,
+            String code) {
+        Integer row = rows.get(ticket.getTicketId());
+        int s = Ticket.stateOrdinal(toState);
+        if (row == null || s < 0) { return; }
+        states[row] = (byte) s;
+        owners[row] = SymbolTable.getShared().intern(owner);
+        updated[row] = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the number of tickets in the store.
+     * @return the number of rows
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Counts the tickets with each value of a column.
+     * @param column the column to group by
+     * @return the counts, indexed by ordinal
+     */
+    public synchronized int[] countBy(Column column) {
+        byte[] col = column(column);
+        int[] counts = new int[column.cardinality];
+        // One equality pass per value keeps each loop branch free and vectorizable;
+        // the cardinalities are small enough that this beats a scattered histogram.
+        for (int v = 0; v < counts.length; v++) {
+            counts[v] = countEqual(col, (byte) v, size);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the tickets with each pair of values of two columns.
+     * @param rowColumn the first column to group by
+     * @param colColumn the second column to group by
+     * @return the counts, indexed by first then second ordinal
+     */
+    public synchronized int[][] countBy(Column rowColumn, Column colColumn) {
+        byte[] a = column(rowColumn);
+        byte[] b = column(colColumn);
+        int[] flat = new int[rowColumn.cardinality * colColumn.cardinality];
+        int width = colColumn.cardinality;
+        for (int i = 0; i < size; i++) {
+            flat[a[i] * width + b[i]]++;
+        }
+        int[][] counts = new int[rowColumn.cardinality][];
+        for (int r = 0; r < counts.length; r++) {
+            counts[r] = Arrays.copyOfRange(flat, r * width, (r + 1) * width);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the tickets with a given value in a column.
+     * @param column the column
+     * @param ordinal the value's ordinal
+     * @return the number of matching tickets
+     */
+    public synchronized int count(Column column, int ordinal) {
+        return countEqual(column(column), (byte) ordinal, size);
+    }
+
+    /**
+     * Counts the tickets in a state whose last transition was before a given time, for
+     * example tickets left in Feedback for more than a week.
+     * @param stateName the state name
+     * @param beforeMillis the cut off time in epoch milliseconds
+     * @return the number of matching tickets
+     * @throws IllegalArgumentException if the state name is not recognized
+     */
+    public synchronized int countIdle(String stateName, long beforeMillis) {
+        int s = Ticket.stateOrdinal(stateName);
+        if (s < 0) { throw new IllegalArgumentException("Invalid state"); }
+        byte state = (byte) s;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += (states[i] == state & updated[i] < beforeMillis) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mean age of the tickets in a state, measured from creation.
+     * @param stateName the state name
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the mean age in milliseconds, or 0 if no ticket is in the state
+     * @throws IllegalArgumentException if the state name is not recognized
+     */
+    public synchronized long meanAge(String stateName, long nowMillis) {
+        int s = Ticket.stateOrdinal(stateName);
+        if (s < 0) { throw new IllegalArgumentException("Invalid state"); }
+        byte state = (byte) s;
+        long total = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            boolean match = states[i] == state;
+            total += match ? nowMillis - created[i] : 0;
+            count += match ? 1 : 0;
+        }
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Counts the tickets held by each owner in a state. The shared SymbolTable also holds
+     * every caller, so counts are kept per owner seen rather than per symbol, and the work
+     * follows the number of owners in the state, not the size of the table.
+     * @param stateName the state name
+     * @return the counts keyed by owner id, in the order owners were first interned
+     * @throws IllegalArgumentException if the state name is not recognized
+     */
+    public synchronized Map<String, Integer> countByOwner(String stateName) {
+        int s = Ticket.stateOrdinal(stateName);
+        if (s < 0) { throw new IllegalArgumentException("Invalid state"); }
+        byte state = (byte) s;
+        // Symbols are assigned in interning order, so a sorted map keeps that order
+        TreeMap<Integer, int[]> counts = new TreeMap<Integer, int[]>();
+        for (int i = 0; i < size; i++) {
+            if (states[i] == state && owners[i] != SymbolTable.NONE) {
+                counts.computeIfAbsent(owners[i], o -> new int[1])[0]++;
+            }
+        }
+        SymbolTable symbols = SymbolTable.getShared();
+        Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+        for (Map.Entry<Integer, int[]> e : counts.entrySet()) {
+            result.put(symbols.name(e.getKey()), e.getValue()[0]);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the elements of a column prefix equal to a value.
+     * @param col the column
+     * @param value the value
+     * @param n the prefix length
+     * @return the number of equal elements
+     */
+    private static int countEqual(byte[] col, byte value, int n) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count += col[i] == value ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the array backing a column.
+     * @param column the column
+     * @return the array
+     */
+    private byte[] column(Column column) {
+        switch (column) {
+        case STATE:
+            return states;
+        case CATEGORY:
+            return categories;
+        case PRIORITY:
+            return priorities;
+        default:
+            return types;
+        }
+    }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void grow() {
+        int n = ids.length * 2;
+        ids = Arrays.copyOf(ids, n);
+        states = Arrays.copyOf(states, n);
+        categories = Arrays.copyOf(categories, n);
+        priorities = Arrays.copyOf(priorities, n);
+        types = Arrays.copyOf(types, n);
+        created = Arrays.copyOf(created, n);
+        updated = Arrays.copyOf(updated, n);
+        owners = Arrays.copyOf(owners, n);
+    }
+
+}
@@ -0,0 +1,267 @@
+package edu.ncsu.csc216.ticket_manager.model.report;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Incrementally maintained count of tickets by state, category, priority, and ticket type.
+ *
+ * The cube is a dense int array of 6 x 5 x 4 x 2 = 240 cells. Each create adds one to a
+ * cell and each transition moves one count between two cells, so a report never has to
+ * scan the ticket set. A total per axis value is kept alongside the cells, so single axis
+ * roll-ups are a single array read and any other roll-up sums at most 240 cells.
+ *
+ * Register the cube with {@link Ticket#addTicketListener(TicketListener)} to keep it
+ * current, and {@link #add(Ticket)} any tickets that already exist.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TicketCube implements TicketListener {
+
+    /** Wildcard coordinate that matches every value of an axis. */
+    public static final int ANY = -1;
+
+    /** Number of category values. */
+    private static final int CATEGORIES = Category.values().length;
+
+    /** Number of priority values. */
+    private static final int PRIORITIES = Priority.values().length;
+
+    /** Number of ticket type values. */
+    private static final int TYPES = TicketType.values().length;
+
+    /** The counter cells, indexed by {@link #cell(int, int, int, int)}. */
+    private final int[] cells = new int[Ticket.STATE_COUNT * CATEGORIES * PRIORITIES * TYPES];
+
+    /** Number of tickets in each state. */
+    private final int[] byState = new int[Ticket.STATE_COUNT];
+
+    /** Number of tickets in each category. */
+    private final int[] byCategory = new int[CATEGORIES];
+
+    /** Number of tickets at each priority. */
+    private final int[] byPriority = new int[PRIORITIES];
+
+    /** Number of tickets of each type. */
+    private final int[] byType = new int[TYPES];
+
+    /** Number of tickets counted by the cube. */
+    private int total;
+
+    /**
+     * Counts a new ticket. Tickets whose state, category, priority, or type are not
+     * recognized are not counted.
+     * @param ticket the ticket to count
+     */
+    public void add(Ticket ticket) {
+        int s = Ticket.stateOrdinal(ticket.getState());
+        int c = Ticket.categoryOrdinal(ticket.getCategory());
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        int t = Ticket.ticketTypeOrdinal(ticket.getTicketTypeString());
+        if (s < 0 || c < 0 || p < 0 || t < 0) { return; }
+        synchronized (this) {
+            adjust(s, c, p, t, 1);
+        }
+    }
+
+    /**
+     * Stops counting a ticket, for example when it is deleted.
+     * @param ticket the ticket to remove, in its current state
+     */
+    public void remove(Ticket ticket) {
+        int s = Ticket.stateOrdinal(ticket.getState());
+        int c = Ticket.categoryOrdinal(ticket.getCategory());
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        int t = Ticket.ticketTypeOrdinal(ticket.getTicketTypeString());
+        if (s < 0 || c < 0 || p < 0 || t < 0) { return; }
+        synchronized (this) {
+            adjust(s, c, p, t, -1);
+        }
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        add(ticket);
+    }
+
+    /**
+     * Moves a ticket's count from its previous state to its new state. Both halves of
+     * the move happen under the same lock, so a reader never sees the ticket missing or
+     * counted twice.
+     */
+    @Override
+    public void stateChanged(Ticket ticket, String fromState, String toState, String owner, String code) {
+        int from = Ticket.stateOrdinal(fromState);
+        int to = Ticket.stateOrdinal(toState);
+        int c = Ticket.categoryOrdinal(ticket.getCategory());
+        int p = Ticket.priorityOrdinal(ticket.getPriority());
+        int t = Ticket.ticketTypeOrdinal(ticket.getTicketTypeString());
+        if (c < 0 || p < 0 || t < 0) { return; }
+        synchronized (this) {
+            if (from >= 0) { adjust(from, c, p, t, -1); }
+            if (to >= 0) { adjust(to, c, p, t, 1); }
+        }
+    }
+
+    /**
+     * Returns the number of tickets matching the given coordinates. Each coordinate is an
+     * ordinal, or {@link #ANY} to roll up that axis.
+     * @param state the state ordinal from {@link Ticket#stateOrdinal(String)}, or ANY
+     * @param category the {@link Category} ordinal, or ANY
+     * @param priority the {@link Priority} ordinal, or ANY
+     * @param type the {@link TicketType} ordinal, or ANY
+     * @return the number of matching tickets
+     * @throws IllegalArgumentException if a coordinate is out of range
+     */
+    public synchronized int count(int state, int category, int priority, int type) {
+        checkRange(state, Ticket.STATE_COUNT);
+        checkRange(category, CATEGORIES);
+        checkRange(priority, PRIORITIES);
+        checkRange(type, TYPES);
+
+        int fixed = (state != ANY ? 1 : 0) + (category != ANY ? 1 : 0)
+                + (priority != ANY ? 1 : 0) + (type != ANY ? 1 : 0);
+        if (fixed == 0) { return total; }
+        if (fixed == 4) { return cells[cell(state, category, priority, type)]; }
+        if (fixed == 1) {
+            if (state != ANY) 		{ return byState[state]; }
+            if (category != ANY) 	{ return byCategory[category]; }
+            if (priority != ANY) 	{ return byPriority[priority]; }
+            return byType[type];
+        }
+
+        int sum = 0;
+        for (int s = lo(state); s <= hi(state, Ticket.STATE_COUNT); s++) {
+            for (int c = lo(category); c <= hi(category, CATEGORIES); c++) {
+                for (int p = lo(priority); p <= hi(priority, PRIORITIES); p++) {
+                    for (int t = lo(type); t <= hi(type, TYPES); t++) {
+                        sum += cells[cell(s, c, p, t)];
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of tickets matching the given values, where a null argument
+     * rolls up that axis.
+     * @param state the String value definition of the state, or null
+     * @param category the category, or null
+     * @param priority the priority, or null
+     * @param type the ticket type, or null
+     * @return the number of matching tickets
+     * @throws IllegalArgumentException if the state is not a known state name
+     */
+    public int count(String state, Category category, Priority priority, TicketType type) {
+        int s = ANY;
+        if (state != null) {
+            s = Ticket.stateOrdinal(state);
+            if (s < 0) { throw new IllegalArgumentException("Invalid state"); }
+        }
+        return count(s, category == null ? ANY : category.ordinal(),
+                priority == null ? ANY : priority.ordinal(), type == null ? ANY : type.ordinal());
+    }
+
+    /**
+     * Returns the counts for every state, indexed by state ordinal.
+     * @return a copy of the per state totals
+     */
+    public synchronized int[] countsByState() {
+        return byState.clone();
+    }
+
+    /**
+     * Returns the counts for every category, indexed by {@link Category#ordinal()}.
+     * @return a copy of the per category totals
+     */
+    public synchronized int[] countsByCategory() {
+        return byCategory.clone();
+    }
+
+    /**
+     * Returns the counts for every priority, indexed by {@link Priority#ordinal()}.
+     * @return a copy of the per priority totals
+     */
+    public synchronized int[] countsByPriority() {
+        return byPriority.clone();
+    }
+
+    /**
+     * Returns the counts for every ticket type, indexed by {@link TicketType#ordinal()}.
+     * @return a copy of the per type totals
+     */
+    public synchronized int[] countsByType() {
+        return byType.clone();
+    }
+
+    /**
+     * Returns the total number of tickets counted.
+     * @return the number of tickets
+     */
+    public synchronized int size() {
+        return total;
+    }
+
+    /**
+     * Applies a delta to one cell and its marginal totals. Caller must hold the lock.
+     * @param s state ordinal
+     * @param c category ordinal
+     * @param p priority ordinal
+     * @param t type ordinal
+     * @param delta +1 or -1
+     */
+    private void adjust(int s, int c, int p, int t, int delta) {
+        cells[cell(s, c, p, t)] += delta;
+        byState[s] += delta;
+        byCategory[c] += delta;
+        byPriority[p] += delta;
+        byType[t] += delta;
+        total += delta;
+    }
+
+    /**
+     * Computes the array index of a cell.
+     * @param s state ordinal
+     * @param c category ordinal
+     * @param p priority ordinal
+     * @param t type ordinal
+     * @return the index into {@link #cells}
+     */
+    private static int cell(int s, int c, int p, int t) {
+        return ((s * CATEGORIES + c) * PRIORITIES + p) * TYPES + t;
+    }
+
+    /**
+     * Validates a coordinate.
+     * @param value the coordinate
+     * @param size the number of values on the axis
+     */
+    private static void checkRange(int value, int size) {
+        if (value != ANY && (value < 0 || value >= size)) { throw new IllegalArgumentException(); }
+    }
+
+    /**
+     * Lower loop bound for a coordinate.
+     * @param value the coordinate
+     * @return 0 for ANY, otherwise the coordinate
+     */
+    private static int lo(int value) {
+        return value == ANY ? 0 : value;
+    }
+
+    /**
+     * Upper loop bound for a coordinate.
+     * @param value the coordinate
+     * @param size the number of values on the axis
+     * @return size - 1 for ANY, otherwise the coordinate
+     */
+    private static int hi(int value, int size) {
+        return value == ANY ? size - 1 : value;
+    }
+
+}
@@ -0,0 +1,279 @@
+package edu.ncsu.csc216.ticket_manager.model.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.SymbolTable;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TicketListener;
+
+/**
+ * <pre>
+ * Bitmap index over ticket attributes, keyed by ticketId.
+ *
+ * One {@link CompressedBitmap} is kept for every state, category, priority, ticket type,
+ * owner, and feedback, resolution, or cancellation code. A {@link TicketQuery} is
+ * evaluated as unions, intersections, and differences of these bitmaps, so a compound
+ * filter never calls a predicate on an individual ticket.
+ *
+ * Register the index with {@link Ticket#addTicketListener(TicketListener)} to keep it
+ * current.
+ * </pre>
+ * @author brandonortiz
+ */
+public class BitmapIndex implements TicketListener {
+
+    /** Every indexed ticket. */
+    private final CompressedBitmap all = new CompressedBitmap();
+
+    /** Tickets per state ordinal. */
+    private final CompressedBitmap[] states = newBitmaps(Ticket.STATE_COUNT);
+
+    /** Tickets per category ordinal. */
+    private final CompressedBitmap[] categories = newBitmaps(Category.values().length);
+
+    /** Tickets per priority ordinal. */
+    private final CompressedBitmap[] priorities = newBitmaps(Priority.values().length);
+
+    /** Tickets per ticket type ordinal. */
+    private final CompressedBitmap[] types = newBitmaps(TicketType.values().length);
+
+    /** Tickets per owner symbol. */
+    private final Map<Integer, CompressedBitmap> owners = new HashMap<Integer, CompressedBitmap>();
+
+    /** Tickets per code string. */
+    private final Map<String, CompressedBitmap> codes = new HashMap<String, CompressedBitmap>();
+
+    /** Owner each ticket is indexed under, so it can be removed when the owner changes. */
+    private final Map<Integer, Integer> ownerOf = new HashMap<Integer, Integer>();
+
+    /** Code each ticket is indexed under, so it can be removed when the code changes. */
+    private final Map<Integer, String> codeOf = new HashMap<Integer, String>();
+
+    /**
+     * Adds a ticket to the index.
+     * @param ticket the ticket to add
+     */
+    public synchronized void add(Ticket ticket) {
+        int id = ticket.getTicketId();
+        all.add(id);
+        set(states, Ticket.stateOrdinal(ticket.getState()), id, true);
+        set(categories, Ticket.categoryOrdinal(ticket.getCategory()), id, true);
+        set(priorities, Ticket.priorityOrdinal(ticket.getPriority()), id, true);
+        set(types, Ticket.ticketTypeOrdinal(ticket.getTicketTypeString()), id, true);
+        indexOwnerAndCode(ticket.getTicketId(), ticket.getOwnerSymbol(), ticket.getCode());
+    }
+
+    /**
+     * Removes a ticket from the index.
+     * @param ticket the ticket to remove, in its current state
+     */
+    public synchronized void remove(Ticket ticket) {
+        int id = ticket.getTicketId();
+        all.remove(id);
+        set(states, Ticket.stateOrdinal(ticket.getState()), id, false);
+        set(categories, Ticket.categoryOrdinal(ticket.getCategory()), id, false);
+        set(priorities, Ticket.priorityOrdinal(ticket.getPriority()), id, false);
+        set(types, Ticket.ticketTypeOrdinal(ticket.getTicketTypeString()), id, false);
+        unmap(owners, ownerOf.remove(id), id);
+        unmap(codes, codeOf.remove(id), id);
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        add(ticket);
+    }
+
+    /**
+     * Moves the ticket between state bitmaps and re-indexes its owner and code, which a
+     * transition may have changed.
+     */
+    @Override
+    public synchronized void stateChanged(Ticket ticket, String fromState, String toState, String owner,
+            String code) {
+        int id = ticket.getTicketId();
+        if (!all.contains(id)) { return; }
+        set(states, Ticket.stateOrdinal(fromState), id, false);
+        set(states, Ticket.stateOrdinal(toState), id, true);
+        indexOwnerAndCode(id, SymbolTable.getShared().intern(owner), code);
+    }
+
+    /**
+     * Evaluates a query.
+     * @param query the query
+     * @return a new bitmap of the matching ticketIds
+     */
+    public synchronized CompressedBitmap query(TicketQuery query) {
+        return query.evaluate(this);
+    }
+
+    /**
+     * Returns the ids of the tickets matching a query in ascending order.
+     * @param query the query
+     * @return the matching ticketIds
+     */
+    public int[] find(TicketQuery query) {
+        return query(query).toArray();
+    }
+
+    /**
+     * Counts the tickets matching a query.
+     * @param query the query
+     * @return the number of matches
+     */
+    public int count(TicketQuery query) {
+        return query(query).cardinality();
+    }
+
+    /**
+     * Returns the number of indexed tickets.
+     * @return the number of tickets
+     */
+    public synchronized int size() {
+        return all.cardinality();
+    }
+
+    /**
+     * Returns the bitmap of every indexed ticket. Caller must hold the lock and must not
+     * modify the result.
+     * @return the bitmap
+     */
+    CompressedBitmap all() {
+        return all;
+    }
+
+    /**
+     * Returns the bitmap for a state ordinal.
+     * @param ordinal the state ordinal
+     * @return the bitmap, not to be modified
+     */
+    CompressedBitmap state(int ordinal) {
+        return states[ordinal];
+    }
+
+    /**
+     * Returns the bitmap for a category.
+     * @param c the category
+     * @return the bitmap, not to be modified
+     */
+    CompressedBitmap category(Category c) {
+        return categories[c.ordinal()];
+    }
+
+    /**
+     * Returns the bitmap for a priority.
+     * @param p the priority
+     * @return the bitmap, not to be modified
+     */
+    CompressedBitmap priority(Priority p) {
+        return priorities[p.ordinal()];
+    }
+
+    /**
+     * Returns the bitmap for a ticket type.
+     * @param t the ticket type
+     * @return the bitmap, not to be modified
+     */
+    CompressedBitmap type(TicketType t) {
+        return types[t.ordinal()];
+    }
+
+    /**
+     * Returns the bitmap for an owner.
+     * @param owner the owner id
+     * @return the bitmap, or null if the owner has no tickets; not to be modified
+     */
+    CompressedBitmap owner(String owner) {
+        int symbol = SymbolTable.getShared().lookup(owner);
+        return symbol == SymbolTable.NONE ? null : owners.get(symbol);
+    }
+
+    /**
+     * Returns the bitmap for a code string.
+     * @param code the feedback, resolution, or cancellation code string
+     * @return the bitmap, or null if no ticket has the code; not to be modified
+     */
+    CompressedBitmap code(String code) {
+        return codes.get(code);
+    }
+
+    /**
+     * Re-indexes a ticket's owner and code if either changed.
+     * @param id the ticket id
+     * @param owner the owner symbol
+     * @param code the code, or null
+     */
+    private void indexOwnerAndCode(int id, int owner, String code) {
+        Integer oldOwner = ownerOf.get(id);
+        if (oldOwner == null ? owner != SymbolTable.NONE : owner != oldOwner) {
+            unmap(owners, oldOwner, id);
+            map(owners, ownerOf, owner == SymbolTable.NONE ? null : owner, id);
+        }
+        String oldCode = codeOf.get(id);
+        if (code == null ? oldCode != null : !code.equals(oldCode)) {
+            unmap(codes, oldCode, id);
+            map(codes, codeOf, code, id);
+        }
+    }
+
+    /**
+     * Adds an id to a keyed bitmap and records the key.
+     * @param bitmaps the keyed bitmaps
+     * @param keyOf the per ticket key record
+     * @param <K> the key type
+     * @param key the key, ignored if null or an empty String
+     * @param id the ticket id
+     */
+    private static <K> void map(Map<K, CompressedBitmap> bitmaps, Map<Integer, K> keyOf, K key, int id) {
+        if (key == null || "".equals(key)) {
+            keyOf.remove(id);
+            return;
+        }
+        bitmaps.computeIfAbsent(key, k -> new CompressedBitmap()).add(id);
+        keyOf.put(id, key);
+    }
+
+    /**
+     * Removes an id from a keyed bitmap, dropping the bitmap once it is empty.
+     * @param <K> the key type
+     * @param bitmaps the keyed bitmaps
+     * @param key the key, ignored if null
+     * @param id the ticket id
+     */
+    private static <K> void unmap(Map<K, CompressedBitmap> bitmaps, K key, int id) {
+        if (key == null) { return; }
+        CompressedBitmap b = bitmaps.get(key);
+        if (b != null && b.remove(id) && b.isEmpty()) { bitmaps.remove(key); }
+    }
+
+    /**
+     * Adds or removes an id in one of an array of bitmaps.
+     * @param bitmaps the bitmaps
+     * @param ordinal the index, ignored if negative
+     * @param id the ticket id
+     * @param present true to add, false to remove
+     */
+    private static void set(CompressedBitmap[] bitmaps, int ordinal, int id, boolean present) {
+        if (ordinal < 0) { return; }
+        if (present) {
+            bitmaps[ordinal].add(id);
+        } else {
+            bitmaps[ordinal].remove(id);
+        }
+    }
+
+    /**
+     * Creates an array of empty bitmaps.
+     * @param n the array length
+     * @return the bitmaps
+     */
+    private static CompressedBitmap[] newBitmaps(int n) {
+        CompressedBitmap[] b = new CompressedBitmap[n];
+        for (int i = 0; i < n; i++) { b[i] = new CompressedBitmap(); }
+        return b;
+    }
+
+}
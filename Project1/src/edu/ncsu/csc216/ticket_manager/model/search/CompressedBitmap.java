@@ -0,0 +1,352 @@
+package edu.ncsu.csc216.ticket_manager.model.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * <pre>
+ * Compressed set of non-negative ints in the style of a Roaring bitmap.
+ *
+ * Values are grouped by their high 16 bits. Each group is stored in a container chosen by
+ * its size: a sorted char array for up to 4096 values, or a 1024 word bitmap above that.
+ * Sparse groups therefore cost 2 bytes per value and dense groups 1 bit per value, and
+ * set operations work a whole 64 bit word at a time.
+ *
+ * This class is not thread safe.
+ * </pre>
+ * @author brandonortiz
+ */
+public final class CompressedBitmap {
+
+    /** Largest cardinality stored as an array container. */
+    private static final int ARRAY_MAX = 4096;
+
+    /** Words in a bitmap container. */
+    private static final int WORDS = 1024;
+
+    /** Sorted high 16 bit keys of the containers. */
+    private char[] keys = new char[4];
+
+    /** Containers, each a char[] (array) or long[] (bitmap). */
+    private Object[] containers = new Object[4];
+
+    /** Cardinality of each container. */
+    private int[] cards = new int[4];
+
+    /** Number of containers in use. */
+    private int size;
+
+    /**
+     * Adds a value.
+     * @param x the value, at least 0
+     * @return true if the value was not already present
+     */
+    public boolean add(int x) {
+        char hi = (char) (x >>> 16);
+        char lo = (char) x;
+        int i = find(hi);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, hi, new char[4], 0);
+        }
+        Object c = containers[i];
+        if (c instanceof long[]) {
+            long[] bits = (long[]) c;
+            long mask = 1L << lo;
+            if ((bits[lo >>> 6] & mask) != 0) { return false; }
+            bits[lo >>> 6] |= mask;
+            cards[i]++;
+            return true;
+        }
+        char[] arr = (char[]) c;
+        int n = cards[i];
+        int pos = Arrays.binarySearch(arr, 0, n, lo);
+        if (pos >= 0) { return false; }
+        pos = -pos - 1;
+        if (n == ARRAY_MAX) {
+            long[] bits = toBits(arr, n);
+            bits[lo >>> 6] |= 1L << lo;
+            containers[i] = bits;
+            cards[i]++;
+            return true;
+        }
+        if (n == arr.length) {
+            arr = Arrays.copyOf(arr, Math.min(ARRAY_MAX, n * 2));
+            containers[i] = arr;
+        }
+        System.arraycopy(arr, pos, arr, pos + 1, n - pos);
+        arr[pos] = lo;
+        cards[i]++;
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     * @param x the value
+     * @return true if the value was present
+     */
+    public boolean remove(int x) {
+        int i = find((char) (x >>> 16));
+        if (i < 0) { return false; }
+        char lo = (char) x;
+        Object c = containers[i];
+        if (c instanceof long[]) {
+            long[] bits = (long[]) c;
+            long mask = 1L << lo;
+            if ((bits[lo >>> 6] & mask) == 0) { return false; }
+            bits[lo >>> 6] &= ~mask;
+            if (--cards[i] == ARRAY_MAX) { containers[i] = toArray(bits, ARRAY_MAX); }
+        } else {
+            char[] arr = (char[]) c;
+            int n = cards[i];
+            int pos = Arrays.binarySearch(arr, 0, n, lo);
+            if (pos < 0) { return false; }
+            System.arraycopy(arr, pos + 1, arr, pos, n - pos - 1);
+            cards[i]--;
+        }
+        if (cards[i] == 0) { removeContainer(i); }
+        return true;
+    }
+
+    /**
+     * Returns true if a value is present.
+     * @param x the value
+     * @return true if present
+     */
+    public boolean contains(int x) {
+        int i = find((char) (x >>> 16));
+        if (i < 0) { return false; }
+        char lo = (char) x;
+        Object c = containers[i];
+        if (c instanceof long[]) { return (((long[]) c)[lo >>> 6] & (1L << lo)) != 0; }
+        return Arrays.binarySearch((char[]) c, 0, cards[i], lo) >= 0;
+    }
+
+    /**
+     * Returns the number of values.
+     * @return the cardinality
+     */
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) { n += cards[i]; }
+        return n;
+    }
+
+    /**
+     * Returns true if there are no values.
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits every value in ascending order.
+     * @param action the action to perform
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            int base = keys[i] << 16;
+            Object c = containers[i];
+            if (c instanceof long[]) {
+                long[] bits = (long[]) c;
+                for (int w = 0; w < WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] arr = (char[]) c;
+                for (int j = 0; j < cards[i]; j++) { action.accept(base | arr[j]); }
+            }
+        }
+    }
+
+    /**
+     * Returns every value in ascending order.
+     * @return a new array of the values
+     */
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int[] n = { 0 };
+        forEach(v -> out[n[0]++] = v);
+        return out;
+    }
+
+    /**
+     * Returns the values present in both bitmaps.
+     * @param a a bitmap
+     * @param b another bitmap
+     * @return a new bitmap
+     */
+    public static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap out = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                long[] x = a.bits(i);
+                long[] y = b.bits(j);
+                for (int w = 0; w < WORDS; w++) { x[w] &= y[w]; }
+                out.append(a.keys[i], x);
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns the values present in either bitmap.
+     * @param a a bitmap
+     * @param b another bitmap
+     * @return a new bitmap
+     */
+    public static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap out = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                out.append(a.keys[i], a.bits(i));
+                i++;
+            } else if (i >= a.size || b.keys[j] < a.keys[i]) {
+                out.append(b.keys[j], b.bits(j));
+                j++;
+            } else {
+                long[] x = a.bits(i);
+                long[] y = b.bits(j);
+                for (int w = 0; w < WORDS; w++) { x[w] |= y[w]; }
+                out.append(a.keys[i], x);
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns the values present in the first bitmap but not the second.
+     * @param a the bitmap to subtract from
+     * @param b the values to subtract
+     * @return a new bitmap
+     */
+    public static CompressedBitmap andNot(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap out = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) { j++; }
+            long[] x = a.bits(i);
+            if (j < b.size && b.keys[j] == a.keys[i]) {
+                long[] y = b.bits(j);
+                for (int w = 0; w < WORDS; w++) { x[w] &= ~y[w]; }
+            }
+            out.append(a.keys[i], x);
+        }
+        return out;
+    }
+
+    /**
+     * Returns a copy of container i as a bitmap.
+     * @param i the container index
+     * @return a new long[1024]
+     */
+    private long[] bits(int i) {
+        Object c = containers[i];
+        if (c instanceof long[]) { return ((long[]) c).clone(); }
+        return toBits((char[]) c, cards[i]);
+    }
+
+    /**
+     * Appends a container built from a bitmap, choosing its form by cardinality. Empty
+     * bitmaps are dropped. Keys must be appended in ascending order.
+     * @param key the high 16 bits
+     * @param bits the bitmap, which the container may take ownership of
+     */
+    private void append(char key, long[] bits) {
+        int card = 0;
+        for (long w : bits) { card += Long.bitCount(w); }
+        if (card == 0) { return; }
+        insertContainer(size, key, card > ARRAY_MAX ? bits : toArray(bits, card), card);
+    }
+
+    /**
+     * Finds a container by key.
+     * @param hi the key
+     * @return the index, or -(insertion point) - 1 if absent
+     */
+    private int find(char hi) {
+        return Arrays.binarySearch(keys, 0, size, hi);
+    }
+
+    /**
+     * Inserts a container at an index.
+     * @param i the index
+     * @param key the key
+     * @param container the container
+     * @param card its cardinality
+     */
+    private void insertContainer(int i, char key, Object container, int card) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+            cards = Arrays.copyOf(cards, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        System.arraycopy(cards, i, cards, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        cards[i] = card;
+        size++;
+    }
+
+    /**
+     * Removes the container at an index.
+     * @param i the index
+     */
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        System.arraycopy(cards, i + 1, cards, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    /**
+     * Converts an array container to a bitmap.
+     * @param arr the sorted values
+     * @param n the number of values
+     * @return a new bitmap
+     */
+    private static long[] toBits(char[] arr, int n) {
+        long[] bits = new long[WORDS];
+        for (int k = 0; k < n; k++) { bits[arr[k] >>> 6] |= 1L << arr[k]; }
+        return bits;
+    }
+
+    /**
+     * Converts a bitmap to an array container.
+     * @param bits the bitmap
+     * @param card its cardinality
+     * @return a new sorted array
+     */
+    private static char[] toArray(long[] bits, int card) {
+        char[] arr = new char[Math.max(4, card)];
+        int n = 0;
+        for (int w = 0; w < WORDS; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                arr[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return arr;
+    }
+
+}
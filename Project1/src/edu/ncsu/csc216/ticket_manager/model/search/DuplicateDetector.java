@@ -0,0 +1,321 @@
+package edu.ncsu.csc216.ticket_manager.model.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CancellationCode;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * <pre>
+ * Suggests likely duplicates of a Ticket, to support cancelling with
+ * {@link CancellationCode#DUPLICATE}.
+ *
+ * Each ticket's subject, caller, and notes are reduced to a set of word and word-pair
+ * shingles, and the set is summarized by a MinHash signature. Signatures are split into
+ * bands and each band is hashed into a bucket (locality-sensitive hashing). Two tickets
+ * are only compared if they share at least one bucket, so a lookup costs time proportional
+ * to the number of bands plus the number of near matches, not the size of the backlog.
+ *
+ * This class is not thread safe.
+ * </pre>
+ * @author brandonortiz
+ */
+public class DuplicateDetector {
+
+    /** Default number of LSH bands. */
+    public static final int DEFAULT_BANDS = 16;
+
+    /** Default number of signature rows per band. */
+    public static final int DEFAULT_ROWS = 4;
+
+    /** Default minimum estimated Jaccard similarity for a candidate. */
+    public static final double DEFAULT_THRESHOLD = 0.5;
+
+    /** Seed for the hash functions, fixed so signatures are reproducible. */
+    private static final long SEED = 0x5DEECE66DL;
+
+    /** Number of bands. */
+    private final int bands;
+
+    /** Number of rows per band. */
+    private final int rows;
+
+    /** Minimum estimated similarity for a candidate to be reported. */
+    private final double threshold;
+
+    /** Per hash function seeds, one per signature row. */
+    private final long[] seeds;
+
+    /** One bucket table per band, from band hash to the ids of tickets in that bucket. */
+    private final List<Map<Long, List<Integer>>> buckets;
+
+    /** Signatures of indexed tickets by ticketId. */
+    private final Map<Integer, int[]> signatures = new HashMap<Integer, int[]>();
+
+    /**
+     * Creates a detector with the default bands, rows, and threshold.
+     */
+    public DuplicateDetector() {
+        this(DEFAULT_BANDS, DEFAULT_ROWS, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a detector. More rows per band makes buckets stricter; more bands makes it
+     * more likely that a similar pair shares at least one bucket.
+     * @param bands the number of LSH bands
+     * @param rows the number of signature rows per band
+     * @param threshold the minimum estimated Jaccard similarity, between 0 and 1
+     * @throws IllegalArgumentException if bands or rows are less than 1 or the threshold is
+     * 		out of range
+     */
+    public DuplicateDetector(int bands, int rows, double threshold) {
+        if (bands < 1 || rows < 1 || threshold < 0 || threshold > 1) {
+            throw new IllegalArgumentException();
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.threshold = threshold;
+        this.seeds = new long[bands * rows];
+        Random r = new Random(SEED);
+        for (int i = 0; i < seeds.length; i++) { seeds[i] = r.nextLong(); }
+        this.buckets = new ArrayList<Map<Long, List<Integer>>>(bands);
+        for (int b = 0; b < bands; b++) { buckets.add(new HashMap<Long, List<Integer>>()); }
+    }
+
+    /**
+     * A suggested duplicate and its estimated similarity to the ticket it was found for.
+     */
+    public static final class Candidate {
+
+        /** The id of the suggested duplicate. */
+        private final int ticketId;
+
+        /** Estimated Jaccard similarity, between 0 and 1. */
+        private final double similarity;
+
+        /**
+         * Creates a candidate.
+         * @param ticketId the id of the suggested duplicate
+         * @param similarity the estimated similarity
+         */
+        Candidate(int ticketId, double similarity) {
+            this.ticketId = ticketId;
+            this.similarity = similarity;
+        }
+
+        /**
+         * Returns the id of the suggested duplicate.
+         * @return the ticket id
+         */
+        public int getTicketId() { return ticketId; }
+
+        /**
+         * Returns the estimated Jaccard similarity of the two tickets' shingle sets.
+         * @return the similarity, between 0 and 1
+         */
+        public double getSimilarity() { return similarity; }
+
+        @Override
+        public String toString() {
+            return ticketId + "(" + similarity + ")";
+        }
+    }
+
+    /**
+     * Indexes a ticket so it can be suggested as a duplicate of later tickets. Re-adding a
+     * ticket replaces its previous signature.
+     * @param ticket the ticket to index
+     */
+    public void add(Ticket ticket) {
+        remove(ticket.getTicketId());
+        int[] sig = signature(ticket);
+        signatures.put(ticket.getTicketId(), sig);
+        for (int b = 0; b < bands; b++) {
+            buckets.get(b).computeIfAbsent(bandHash(sig, b), k -> new ArrayList<Integer>(2))
+                    .add(ticket.getTicketId());
+        }
+    }
+
+    /**
+     * Removes a ticket from the index, for example once it has been cancelled.
+     * @param ticketId the id of the ticket to remove
+     */
+    public void remove(int ticketId) {
+        int[] sig = signatures.remove(ticketId);
+        if (sig == null) { return; }
+        for (int b = 0; b < bands; b++) {
+            Long key = bandHash(sig, b);
+            List<Integer> bucket = buckets.get(b).get(key);
+            bucket.remove(Integer.valueOf(ticketId));
+            if (bucket.isEmpty()) { buckets.get(b).remove(key); }
+        }
+    }
+
+    /**
+     * Finds indexed tickets that are likely duplicates of the given ticket, without adding
+     * it to the index.
+     * @param ticket the ticket to check
+     * @return the candidates, most similar first. The ticket itself is never included.
+     */
+    public List<Candidate> findCandidates(Ticket ticket) {
+        return candidates(ticket.getTicketId(), signature(ticket));
+    }
+
+    /**
+     * Finds duplicate candidates for a new ticket and then indexes it.
+     * @param ticket the new ticket
+     * @return the candidates, most similar first
+     */
+    public List<Candidate> suggest(Ticket ticket) {
+        int[] sig = signature(ticket);
+        List<Candidate> result = candidates(ticket.getTicketId(), sig);
+        add(ticket);
+        return result;
+    }
+
+    /**
+     * Bulk mode: indexes every ticket, for example a whole loaded ticket file, then reports
+     * the candidates for each ticket that has any.
+     * @param tickets the tickets to index and check
+     * @return a map in iteration order from ticketId to its candidates
+     */
+    public Map<Integer, List<Candidate>> findAll(Collection<Ticket> tickets) {
+        for (Ticket t : tickets) { add(t); }
+        Map<Integer, List<Candidate>> result = new LinkedHashMap<Integer, List<Candidate>>();
+        for (Ticket t : tickets) {
+            List<Candidate> c = candidates(t.getTicketId(), signatures.get(t.getTicketId()));
+            if (!c.isEmpty()) { result.put(t.getTicketId(), c); }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed tickets.
+     * @return the index size
+     */
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Collects tickets sharing a bucket with a signature and keeps those whose estimated
+     * similarity meets the threshold.
+     * @param ticketId the id of the ticket being checked, excluded from the result
+     * @param sig its signature
+     * @return the candidates, most similar first
+     */
+    private List<Candidate> candidates(int ticketId, int[] sig) {
+        Set<Integer> seen = new HashSet<Integer>();
+        List<Candidate> result = new ArrayList<Candidate>();
+        for (int b = 0; b < bands; b++) {
+            List<Integer> bucket = buckets.get(b).get(bandHash(sig, b));
+            if (bucket == null) { continue; }
+            for (Integer id : bucket) {
+                if (id == ticketId || !seen.add(id)) { continue; }
+                double sim = similarity(sig, signatures.get(id));
+                if (sim >= threshold) { result.add(new Candidate(id, sim)); }
+            }
+        }
+        Collections.sort(result, (x, y) -> Double.compare(y.similarity, x.similarity));
+        return result;
+    }
+
+    /**
+     * Estimates Jaccard similarity as the fraction of equal signature rows.
+     * @param a a signature
+     * @param b another signature
+     * @return the estimated similarity
+     */
+    private static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) { same++; }
+        }
+        return (double) same / a.length;
+    }
+
+    /**
+     * Hashes the rows of one band of a signature.
+     * @param sig the signature
+     * @param band the band index
+     * @return the bucket key
+     */
+    private long bandHash(int[] sig, int band) {
+        long h = band;
+        for (int r = band * rows; r < (band + 1) * rows; r++) {
+            h = mix(h * 31 + sig[r]);
+        }
+        return h;
+    }
+
+    /**
+     * Computes the MinHash signature of a ticket's shingle set.
+     * @param ticket the ticket
+     * @return a signature of bands * rows values
+     */
+    private int[] signature(Ticket ticket) {
+        int[] sig = new int[seeds.length];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (int shingle : shingles(ticket)) {
+            for (int i = 0; i < seeds.length; i++) {
+                int h = (int) mix(shingle ^ seeds[i]);
+                if (h < sig[i]) { sig[i] = h; }
+            }
+        }
+        return sig;
+    }
+
+    /**
+     * Breaks a ticket's subject, caller, and notes into hashed word and word-pair shingles.
+     * The caller is a single shingle so that different callers do not share its words.
+     * @param ticket the ticket
+     * @return the set of shingle hashes
+     */
+    private static Set<Integer> shingles(Ticket ticket) {
+        Set<Integer> result = new HashSet<Integer>();
+        if (ticket.getCaller() != null) {
+            result.add(("caller:" + ticket.getCaller().toLowerCase()).hashCode());
+        }
+        addWords(result, ticket.getSubject());
+        addWords(result, ticket.getNotes());
+        return result;
+    }
+
+    /**
+     * Adds word unigram and bigram shingles of a text to a set.
+     * @param out the set to add to
+     * @param text the text, may be null
+     */
+    private static void addWords(Set<Integer> out, String text) {
+        if (text == null) { return; }
+        String prev = null;
+        for (String w : text.toLowerCase().split("[^\\p{Alnum}]+")) {
+            if (w.isEmpty()) { continue; }
+            out.add(w.hashCode());
+            if (prev != null) { out.add((prev + ' ' + w).hashCode()); }
+            prev = w;
+        }
+    }
+
+    /**
+     * 64 bit finalizer from SplitMix64, used to derive independent hash functions.
+     * @param z the value to mix
+     * @return the mixed value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
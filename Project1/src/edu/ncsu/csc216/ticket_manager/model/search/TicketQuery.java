@@ -0,0 +1,161 @@
+package edu.ncsu.csc216.ticket_manager.model.search;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+
+/**
+ * <pre>
+ * Predicate over ticket attributes compiled to bitmap operations on a {@link BitmapIndex}.
+ *
+ * Leaf queries match any of a list of values of one attribute; {@link #and}, {@link #or},
+ * and {@link #not} combine them. For example, "Urgent or High, Network or Database, not
+ * Closed, owner a or b" is:
+ *
+ * 	and(priority(URGENT, HIGH), category(NETWORK, DATABASE),
+ * 		not(state(Ticket.CLOSED_NAME)), owner("a", "b"))
+ * </pre>
+ * @author brandonortiz
+ */
+@FunctionalInterface
+public interface TicketQuery {
+
+    /**
+     * Evaluates the query. Called by {@link BitmapIndex#query(TicketQuery)} with the
+     * index locked.
+     * @param index the index to evaluate against
+     * @return a new bitmap of matching ticketIds, which the caller may modify
+     */
+    CompressedBitmap evaluate(BitmapIndex index);
+
+    /**
+     * Matches tickets in any of the given states.
+     * @param states the state names
+     * @return the query
+     * @throws IllegalArgumentException if a name is not a known state
+     */
+    static TicketQuery state(String... states) {
+        int[] ordinals = new int[states.length];
+        for (int i = 0; i < states.length; i++) {
+            ordinals[i] = Ticket.stateOrdinal(states[i]);
+            if (ordinals[i] < 0) { throw new IllegalArgumentException("Invalid state"); }
+        }
+        return index -> {
+            CompressedBitmap r = new CompressedBitmap();
+            for (int s : ordinals) { r = CompressedBitmap.or(r, index.state(s)); }
+            return r;
+        };
+    }
+
+    /**
+     * Matches tickets in any of the given categories.
+     * @param categories the categories
+     * @return the query
+     */
+    static TicketQuery category(Category... categories) {
+        return index -> {
+            CompressedBitmap r = new CompressedBitmap();
+            for (Category c : categories) { r = CompressedBitmap.or(r, index.category(c)); }
+            return r;
+        };
+    }
+
+    /**
+     * Matches tickets with any of the given priorities.
+     * @param priorities the priorities
+     * @return the query
+     */
+    static TicketQuery priority(Priority... priorities) {
+        return index -> {
+            CompressedBitmap r = new CompressedBitmap();
+            for (Priority p : priorities) { r = CompressedBitmap.or(r, index.priority(p)); }
+            return r;
+        };
+    }
+
+    /**
+     * Matches tickets of any of the given types.
+     * @param types the ticket types
+     * @return the query
+     */
+    static TicketQuery type(TicketType... types) {
+        return index -> {
+            CompressedBitmap r = new CompressedBitmap();
+            for (TicketType t : types) { r = CompressedBitmap.or(r, index.type(t)); }
+            return r;
+        };
+    }
+
+    /**
+     * Matches tickets owned by any of the given owners.
+     * @param owners the owner ids
+     * @return the query
+     */
+    static TicketQuery owner(String... owners) {
+        return index -> {
+            CompressedBitmap r = new CompressedBitmap();
+            for (String o : owners) {
+                CompressedBitmap b = index.owner(o);
+                if (b != null) { r = CompressedBitmap.or(r, b); }
+            }
+            return r;
+        };
+    }
+
+    /**
+     * Matches tickets whose feedback, resolution, or cancellation code is any of the given
+     * code strings, such as "Awaiting Caller" or "Duplicate".
+     * @param codes the code strings
+     * @return the query
+     */
+    static TicketQuery code(String... codes) {
+        return index -> {
+            CompressedBitmap r = new CompressedBitmap();
+            for (String c : codes) {
+                CompressedBitmap b = index.code(c);
+                if (b != null) { r = CompressedBitmap.or(r, b); }
+            }
+            return r;
+        };
+    }
+
+    /**
+     * Matches tickets matched by every query.
+     * @param queries the queries
+     * @return the query
+     */
+    static TicketQuery and(TicketQuery... queries) {
+        return index -> {
+            CompressedBitmap r = queries.length == 0 ? CompressedBitmap.or(new CompressedBitmap(), index.all())
+                    : queries[0].evaluate(index);
+            for (int i = 1; i < queries.length && !r.isEmpty(); i++) {
+                r = CompressedBitmap.and(r, queries[i].evaluate(index));
+            }
+            return r;
+        };
+    }
+
+    /**
+     * Matches tickets matched by any query.
+     * @param queries the queries
+     * @return the query
+     */
+    static TicketQuery or(TicketQuery... queries) {
+        return index -> {
+            CompressedBitmap r = new CompressedBitmap();
+            for (TicketQuery q : queries) { r = CompressedBitmap.or(r, q.evaluate(index)); }
+            return r;
+        };
+    }
+
+    /**
+     * Matches indexed tickets not matched by a query.
+     * @param query the query to negate
+     * @return the query
+     */
+    static TicketQuery not(TicketQuery query) {
+        return index -> CompressedBitmap.andNot(index.all(), query.evaluate(index));
+    }
+
+}
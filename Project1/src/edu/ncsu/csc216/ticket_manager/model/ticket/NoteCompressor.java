@@ -0,0 +1,251 @@
+package edu.ncsu.csc216.ticket_manager.model.ticket;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <pre>
+ * Deflate codec for the notes of Closed and Canceled tickets.
+ *
+ * Notes are short and repetitive across tickets, so each one is compressed against a
+ * shared preset dictionary of common note text. The zlib header of every compressed
+ * block records the Adler-32 checksum of the dictionary it used, and every dictionary
+ * ever installed is kept by checksum, so notes compressed before the dictionary is
+ * retrained still decompress.
+ *
+ * In a ticket file, compressed notes are stored as a single note line holding
+ * {@link #ENCODED_PREFIX} and the Base64 of the compressed bytes. Trained dictionaries
+ * are written to the file with the notes, see {@link #getDictionaries()}.
+ *
+ * The codec is thread safe. Deflaters and Inflaters are reused per thread.
+ * </pre>
+ * @author brandonortiz
+ */
+public final class NoteCompressor {
+
+    /** Built-in dictionary of text that appears in most ticket notes. */
+    private static final String DEFAULT_DICTIONARY = "Awaiting Caller Awaiting Change "
+            + "Awaiting Provider Not Completed Caller Closed Not Solved Workaround Solved "
+            + "Completed Duplicate Inappropriate the user reported that the issue is "
+            + "please restart and try again. Reset password for account. Unable to connect to "
+            + "network printer email server database software hardware request incident "
+            + "ticket was resolved closed canceled reopened feedback working\n-";
+
+    /** Start of a note line that holds compressed notes in a ticket file. */
+    public static final String ENCODED_PREFIX = "-~deflate:";
+
+    /** Upper bound on a trained dictionary; Deflate can only look back 32 KB. */
+    private static final int MAX_DICTIONARY = 32 * 1024;
+
+    /** The codec shared by all Tickets. */
+    private static final NoteCompressor SHARED = new NoteCompressor();
+
+    /** Every installed dictionary by its Adler-32 checksum. */
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<Integer, byte[]>();
+
+    /** Dictionaries other than the built-in one, in the order they were installed. */
+    private final List<byte[]> trained = new CopyOnWriteArrayList<byte[]>();
+
+    /** The dictionary used for new compression. */
+    private volatile byte[] dictionary;
+
+    /** Per thread Deflater, reset between uses. */
+    private final ThreadLocal<Deflater> deflaters =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_COMPRESSION));
+
+    /** Per thread Inflater, reset between uses. */
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(Inflater::new);
+
+    /**
+     * Creates a codec using the built-in dictionary.
+     */
+    public NoteCompressor() {
+        byte[] dict = DEFAULT_DICTIONARY.getBytes(StandardCharsets.UTF_8);
+        dictionaries.put(checksum(dict), dict);
+        this.dictionary = dict;
+    }
+
+    /**
+     * Returns the codec used by {@link Ticket} for terminal state notes.
+     * @return the shared codec
+     */
+    public static NoteCompressor getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Installs a new dictionary for future compression. Previously installed dictionaries
+     * remain available for decompression.
+     * @param dict the dictionary bytes, most common text last
+     * @throws IllegalArgumentException if the dictionary is null or empty
+     */
+    public void setDictionary(byte[] dict) {
+        this.dictionary = addDictionary(dict);
+    }
+
+    /**
+     * Makes a dictionary available for decompression without using it for new compression,
+     * for example one read back from a ticket file.
+     * @param dict the dictionary bytes
+     * @return the installed copy
+     * @throws IllegalArgumentException if the dictionary is null or empty
+     */
+    public synchronized byte[] addDictionary(byte[] dict) {
+        if (dict == null || dict.length == 0) { throw new IllegalArgumentException(); }
+        int id = checksum(dict);
+        byte[] known = dictionaries.get(id);
+        if (known != null) { return known; }
+        byte[] copy = dict.clone();
+        dictionaries.put(id, copy);
+        trained.add(copy);
+        return copy;
+    }
+
+    /**
+     * Returns every installed dictionary other than the built-in one, oldest first. A
+     * ticket file holding compressed notes must carry these, since notes may have been
+     * compressed with any of them.
+     * @return the dictionaries; callers must not modify the arrays
+     */
+    public List<byte[]> getDictionaries() {
+        return new ArrayList<byte[]>(trained);
+    }
+
+    /**
+     * Trains a dictionary from sample notes and installs it. The most frequent words are
+     * concatenated with the most frequent placed last, where Deflate finds them with the
+     * shortest distances.
+     * @param samples sample note text, such as the notes of currently closed tickets
+     */
+    public void train(Collection<String> samples) {
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        for (String s : samples) {
+            if (s == null) { continue; }
+            for (String w : s.split("\\s+")) {
+                if (w.length() > 2) { counts.merge(w, 1, Integer::sum); }
+            }
+        }
+        List<Map.Entry<String, Integer>> words = new ArrayList<Map.Entry<String, Integer>>(counts.entrySet());
+        words.removeIf(e -> e.getValue() < 2);
+        words.sort((a, b) -> Integer.compare(a.getValue() * a.getKey().length(),
+                b.getValue() * b.getKey().length()));
+
+        StringBuilder sb = new StringBuilder(DEFAULT_DICTIONARY);
+        for (Map.Entry<String, Integer> e : words) { sb.append(' ').append(e.getKey()); }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_DICTIONARY) {
+            byte[] tail = new byte[MAX_DICTIONARY];
+            System.arraycopy(bytes, bytes.length - MAX_DICTIONARY, tail, 0, MAX_DICTIONARY);
+            bytes = tail;
+        }
+        setDictionary(bytes);
+    }
+
+    /**
+     * Encodes compressed notes as a note line for a ticket file.
+     * @param data bytes returned by {@link #compress(String)}
+     * @return the line, without a line break
+     */
+    public static String encode(byte[] data) {
+        return ENCODED_PREFIX + Base64.getEncoder().encodeToString(data);
+    }
+
+    /**
+     * Returns true if a note line holds compressed notes written by {@link #encode(byte[])}.
+     * @param line the note line
+     * @return true if the line is encoded
+     */
+    public static boolean isEncoded(String line) {
+        return line != null && line.startsWith(ENCODED_PREFIX);
+    }
+
+    /**
+     * Restores the notes held in a line written by {@link #encode(byte[])}.
+     * @param line the note line
+     * @return the original notes
+     * @throws IllegalArgumentException if the line is not encoded, is corrupt, or uses a
+     * 		dictionary this codec does not know
+     */
+    public String decode(String line) {
+        if (!isEncoded(line)) { throw new IllegalArgumentException("Corrupt notes"); }
+        return decompress(Base64.getDecoder().decode(line.substring(ENCODED_PREFIX.length()).trim()));
+    }
+
+    /**
+     * Compresses note text.
+     * @param notes the notes to compress
+     * @return the zlib format compressed bytes
+     */
+    public byte[] compress(String notes) {
+        byte[] input = notes.getBytes(StandardCharsets.UTF_8);
+        Deflater d = deflaters.get();
+        d.reset();
+        d.setDictionary(dictionary);
+        d.setInput(input);
+        d.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 16);
+        byte[] buf = new byte[512];
+        while (!d.finished()) {
+            int n = d.deflate(buf);
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Restores note text compressed by {@link #compress(String)}.
+     * @param data the compressed bytes
+     * @return the original notes
+     * @throws IllegalArgumentException if the data is corrupt or was compressed with a
+     * 		dictionary this codec does not know
+     */
+    public String decompress(byte[] data) {
+        Inflater inf = inflaters.get();
+        inf.reset();
+        inf.setInput(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+        byte[] buf = new byte[512];
+        try {
+            while (!inf.finished()) {
+                int n = inf.inflate(buf);
+                if (n == 0) {
+                    if (inf.needsDictionary()) {
+                        byte[] dict = dictionaries.get(inf.getAdler());
+                        if (dict == null) { throw new IllegalArgumentException("Unknown note dictionary"); }
+                        inf.setDictionary(dict);
+                    } else if (inf.needsInput()) {
+                        throw new IllegalArgumentException("Truncated notes");
+                    }
+                }
+                out.write(buf, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt notes", e);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the Adler-32 checksum zlib uses to identify a dictionary.
+     * @param dict the dictionary bytes
+     * @return the checksum
+     */
+    private static int checksum(byte[] dict) {
+        Adler32 adler = new Adler32();
+        adler.update(dict);
+        return (int) adler.getValue();
+    }
+
+}
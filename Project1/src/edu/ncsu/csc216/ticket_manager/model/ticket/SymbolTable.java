@@ -0,0 +1,103 @@
+package edu.ncsu.csc216.ticket_manager.model.ticket;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * Maps names to small int symbols so repeated names are stored and compared as ints.
+ *
+ * Symbols are assigned densely from 0 in the order names are first interned and are never
+ * reused, so a symbol can index an array. Lookups of existing names are lock free;
+ * interning a new name takes a short lock.
+ *
+ * Names are never released. Every caller and owner interned into the shared table is
+ * retained for the life of the JVM, even after its tickets are deleted or archived.
+ * </pre>
+ * @author brandonortiz
+ */
+public final class SymbolTable {
+
+    /** Symbol standing for a null name. */
+    public static final int NONE = -1;
+
+    /** The table shared by all tickets. */
+    private static final SymbolTable SHARED = new SymbolTable();
+
+    /** Symbol of each interned name. */
+    private final ConcurrentHashMap<String, Integer> symbols = new ConcurrentHashMap<String, Integer>();
+
+    /** Name of each symbol. Replaced, never modified in place, when it grows. */
+    private volatile String[] names = new String[64];
+
+    /** Number of symbols assigned. */
+    private int size;
+
+    /**
+     * Returns the table shared by all tickets.
+     * @return the shared table
+     */
+    public static SymbolTable getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the symbol for a name, assigning a new one if the name has not been seen.
+     * @param name the name, may be null
+     * @return the symbol, or {@link #NONE} for null
+     */
+    public int intern(String name) {
+        if (name == null) { return NONE; }
+        Integer id = symbols.get(name);
+        if (id != null) { return id; }
+        synchronized (this) {
+            id = symbols.get(name);
+            if (id == null) {
+                String[] n = names;
+                if (size == n.length) {
+                    n = Arrays.copyOf(n, n.length * 2);
+                }
+                n[size] = name;
+                names = n;
+                id = size++;
+                symbols.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the symbol for a name without assigning one.
+     * @param name the name, may be null
+     * @return the symbol, or {@link #NONE} if the name is null or has not been interned
+     */
+    public int lookup(String name) {
+        if (name == null) { return NONE; }
+        Integer id = symbols.get(name);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * Returns the name of a symbol.
+     * @param symbol a symbol returned by this table, or {@link #NONE}
+     * @return the name, or null for {@link #NONE}
+     * @throws IllegalArgumentException if the symbol was not assigned by this table
+     */
+    public String name(int symbol) {
+        if (symbol == NONE) { return null; }
+        String[] n = names;
+        if (symbol < 0 || symbol >= n.length || n[symbol] == null) {
+            throw new IllegalArgumentException("Unknown symbol");
+        }
+        return n[symbol];
+    }
+
+    /**
+     * Returns the number of names interned.
+     * @return the number of symbols
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+}
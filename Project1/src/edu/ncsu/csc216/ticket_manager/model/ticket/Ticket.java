@@ -1,8 +1,22 @@
 package edu.ncsu.csc216.ticket_manager.model.ticket;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
 
 import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.trace.TicketCreatedEvent;
+import edu.ncsu.csc216.ticket_manager.model.trace.TicketTransitionEvent;
 
 /**
  * This concrete class contaisn the State Pattern implementation of the Ticket Manager FSM.
@@ -124,6 +138,32 @@ public class Ticket implements TicketState {
      */
     public static final String CANCELED_NAME = "Canceled";
 
+    /**
+     * The six state names in FSM order. The index of a name in this array is the state's
+     * ordinal as returned by {@link #stateOrdinal(String)}.
+     */
+    private static final String[] STATE_NAMES = { NEW_NAME, WORKING_NAME, FEEDBACK_NAME,
+        RESOLVED_NAME, CLOSED_NAME, CANCELED_NAME };
+
+    /** Category names indexed by {@link Category#ordinal()}. */
+    private static final String[] CATEGORY_NAMES = { C_INQUIRY, C_SOFTWARE, C_HARDWARE,
+        C_NETWORK, C_DATABASE };
+
+    /** Priority names indexed by {@link Priority#ordinal()}. */
+    private static final String[] PRIORITY_NAMES = { P_URGENT, P_HIGH, P_MEDIUM, P_LOW };
+
+    /** Ticket type names indexed by {@link TicketType#ordinal()}. */
+    private static final String[] TICKET_TYPE_NAMES = { TT_REQUEST, TT_INCIDENT };
+
+    /** The number of states in the Ticket Manager FSM. */
+    public static final int STATE_COUNT = STATE_NAMES.length;
+
+    /**
+     * Listeners notified when a ticket is created or changes state. Registration is rare and
+     * notification is frequent, so a copy-on-write list is used.
+     */
+    private static final List<TicketListener> listeners = new CopyOnWriteArrayList<TicketListener>();
+
 
     /**
      * Static class variable that is used to maintain a running count
@@ -215,37 +255,118 @@ public class Ticket implements TicketState {
     public String getSubject() { return subject; }
 
     /**
-     * Instance variable that holds the String value definition for the caller's name.
+     * Symbol of the caller's name in the shared {@link SymbolTable}. Names are repeated
+     * across many tickets, so each ticket stores only the int.
      */
-    private String caller;
+    private int caller = SymbolTable.NONE;
 
     /**
      * Standard getter method to return the String value of the caller.
      * @return returns the String value of the caller's name or user id.
      */
-    public String getCaller() { return caller; }
+    public String getCaller() { return SymbolTable.getShared().name(caller); }
+
+    /**
+     * Returns the caller's symbol in the shared {@link SymbolTable}, for comparing and
+     * indexing callers without resolving their names.
+     * @return the caller symbol
+     */
+    public int getCallerSymbol() { return caller; }
 
     /**
-     * Instance variable that holds the String value definition of the assigned owner of the ticker.
+     * Symbol of the assigned owner in the shared {@link SymbolTable}, or
+     * {@link SymbolTable#NONE} if the ticket has no owner.
      */
-    private String owner;
+    private int owner = SymbolTable.NONE;
 
     /**
      * Standard getter to return the owner assigned to a ticket.
      * @return the owner
      */
-    public String getOwner() { return owner; }
+    public String getOwner() { return SymbolTable.getShared().name(owner); }
+
+    /**
+     * Returns the owner's symbol in the shared {@link SymbolTable}, for comparing and
+     * indexing owners without resolving their names.
+     * @return the owner symbol, or {@link SymbolTable#NONE} if the ticket has no owner
+     */
+    public int getOwnerSymbol() { return owner; }
 
     /**
      * Instance class variables that holds the reference to the ArrayList of notes.
      * Each object in the array represents a single line of note information
      */
     private String notes;
+
+    /**
+     * Deflated notes of a ticket at rest in the Closed or Canceled state. When set,
+     * {@link #notes} is null.
+     * @see NoteCompressor
+     */
+    private byte[] compressedNotes;
+
+    /**
+     * Cached file format record built by {@link #toString()}, valid only while the
+     * sequence number is the one it was built at. Softly held so the garbage collector may
+     * reclaim it under memory pressure.
+     */
+    private Record serialized;
+
+    /**
+     * Update sequence number. Even values mean the ticket is at rest at version seq / 2;
+     * an odd value means a Command is being applied. Writers claim the ticket by a
+     * compare-and-set from even to odd. Readers of several fields never lock: they read
+     * the fields between two reads of seq and retry if it was odd or changed, see
+     * {@link #read(Function)}.
+     */
+    private volatile long seq;
+
+    /** Thread applying a Command while seq is odd, so it can read its own writes. */
+    private Thread writer;
+
     /**
-     * Standard getter to set the ticket notes to.
+     * True if the ticket has changed since it was last saved. New tickets start dirty;
+     * every successful {@link #update(Command)} sets the flag again.
+     */
+    private volatile boolean dirty = true;
+
+    /** Transitions applied to the ticket since it was created, loaded, or first archived. */
+    private final TransitionLog history = new TransitionLog();
+
+    /** Atomic access to {@link #seq}. */
+    private static final AtomicLongFieldUpdater<Ticket> SEQ =
+            AtomicLongFieldUpdater.newUpdater(Ticket.class, "seq");
+
+    /** Atomic access to {@link #dirty}; there is no field updater for boolean fields. */
+    private static final VarHandle DIRTY;
+
+    static {
+        try {
+            DIRTY = MethodHandles.lookup().findVarHandle(Ticket.class, "dirty", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Standard getter to set the ticket notes to. Notes of Closed and Canceled tickets are
+     * decompressed on each call.
      * @return the notes to set the field to.
      */
-    public String getNotes() { return notes; }
+    public String getNotes() {
+        return read(Ticket::currentNotes);
+    }
+
+    /**
+     * Returns the notes from whichever of the plain or compressed fields holds them. Must
+     * be called within {@link #read(Function)}.
+     * @return the notes
+     */
+    private String currentNotes() {
+        byte[] packed = compressedNotes;
+        if (packed != null) { return NoteCompressor.getShared().decompress(packed); }
+        return notes;
+    }
 
     /**
      * Instance class variable that references the FeedbackCode if the ticket is in
@@ -322,6 +443,8 @@ public class Ticket implements TicketState {
      */
     public Ticket(TicketType ticketType, String subject, String caller,
                   Category category, Priority priority, String note) {
+        TicketCreatedEvent event = new TicketCreatedEvent();
+        event.begin();
         setTicketId();
         setTicketType(ticketType);
         setSubject(subject);
@@ -329,6 +452,14 @@ public class Ticket implements TicketState {
         setCategory(category);
         setPriority(priority);
         setNote(note);
+        this.state = NEW_NAME;
+        recordTransition(TransitionLog.CREATED);
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(ticketId, false);
+            event.commit();
+        }
+        fireTicketCreated();
     }
 
     /**
@@ -385,7 +516,7 @@ public class Ticket implements TicketState {
         if ("".equals(caller) || caller == null) {
             throw new IllegalArgumentException();
         }
-        this.caller = caller;
+        this.caller = SymbolTable.getShared().intern(caller);
     }
 
     /**
@@ -480,6 +611,8 @@ public class Ticket implements TicketState {
      */
     public Ticket(int id, String state, String ticketType, String subject, String caller,
                   String category, String priority, String owner, String code, ArrayList<String> notes) {
+        TicketCreatedEvent event = new TicketCreatedEvent();
+        event.begin();
         setCounter(id);
         setTicketId(id);
         setState(state);
@@ -491,6 +624,117 @@ public class Ticket implements TicketState {
         setOwner(owner);
         setCode(code);
         setNotes(notes);
+        compressNotesIfTerminal();
+        recordTransition(TransitionLog.CREATED);
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(ticketId, true);
+            event.commit();
+        }
+        fireTicketCreated();
+    }
+
+    /**
+     * Constructor used by {@link #restore}. Unlike the IO constructor it leaves the counter
+     * alone, keeps the notes exactly as given, and does not notify listeners.
+     * @param id the ticket id
+     * @param state the state name
+     * @param ticketType the ticket type name
+     * @param subject the subject
+     * @param caller the caller
+     * @param category the category name
+     * @param priority the priority name
+     * @param owner the owner, may be null
+     * @param code the code for the last transition, may be null
+     * @param notes the notes text
+     * @param history the ticket's earlier transitions, or null to start a new history
+     */
+    private Ticket(int id, String state, String ticketType, String subject, String caller,
+                   String category, String priority, String owner, String code, String notes,
+                   TransitionLog history) {
+        setTicketId(id);
+        setState(state);
+        setTicketType(ticketType);
+        setSubject(subject);
+        setCaller(caller);
+        setCategory(category);
+        setPriority(priority);
+        setOwner(owner);
+        setCode(code);
+        setNote(notes);
+        compressNotesIfTerminal();
+        if (history == null || history.size() == 0) {
+            recordTransition(TransitionLog.CREATED);
+        } else {
+            this.history.appendAll(history);
+        }
+    }
+
+    /**
+     * Rebuilds a Ticket that already exists elsewhere in the system, for example one read
+     * back from an archive. The ticket counter is not changed and listeners are not told
+     * about a new ticket, since none was created.
+     * @param id the ticket id
+     * @param state the state name
+     * @param ticketType the ticket type name
+     * @param subject the subject
+     * @param caller the caller
+     * @param category the category name
+     * @param priority the priority name
+     * @param owner the owner, may be null
+     * @param code the code for the last transition, may be null
+     * @param notes the notes text, as returned by {@link #getNotes()}
+     * @return the restored ticket
+     * @throws IllegalArgumentException for the same values the IO constructor rejects
+     */
+    public static Ticket restore(int id, String state, String ticketType, String subject, String caller,
+                                 String category, String priority, String owner, String code, String notes) {
+        return restore(id, state, ticketType, subject, caller, category, priority, owner, code, notes, null);
+    }
+
+    /**
+     * Rebuilds a Ticket as {@link #restore(int, String, String, String, String, String,
+     * String, String, String, String)} does, keeping the history it had when it was saved.
+     * @param id the ticket id
+     * @param state the state name
+     * @param ticketType the ticket type name
+     * @param subject the subject
+     * @param caller the caller
+     * @param category the category name
+     * @param priority the priority name
+     * @param owner the owner, may be null
+     * @param code the code for the last transition, may be null
+     * @param notes the notes text, as returned by {@link #getNotes()}
+     * @param history the saved history, copied into the ticket's own; null or empty to
+     * 		start a new history
+     * @return the restored ticket
+     * @throws IllegalArgumentException for the same values the IO constructor rejects
+     */
+    public static Ticket restore(int id, String state, String ticketType, String subject, String caller,
+                                 String category, String priority, String owner, String code, String notes,
+                                 TransitionLog history) {
+        return new Ticket(id, state, ticketType, subject, caller, category, priority, owner, code, notes,
+                history);
+    }
+
+    /**
+     * Returns the code recorded for the ticket's last transition, whichever of the feedback,
+     * resolution, or cancellation code is set.
+     * @return the code, or null if the ticket has none
+     */
+    public String getCode() {
+        return read(Ticket::currentCode);
+    }
+
+    /**
+     * Returns whichever of the three codes is set. Must be called within
+     * {@link #read(Function)}.
+     * @return the code, or null if none is set
+     */
+    private String currentCode() {
+        if (feedbackCode != null) 		{ return feedbackCode; }
+        if (resolutionCode != null) 	{ return resolutionCode; }
+        return cancellationCode;
     }
 
     /**
@@ -572,7 +816,31 @@ public class Ticket implements TicketState {
      */
     private void setNotes(ArrayList<String> notes) {
         if (notes == null) 			{ throw new IllegalArgumentException(); }
-        for (int i = 0; i < 0; i++) { this.notes += notes.get(i); 			}
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < notes.size(); i++) { sb.append(notes.get(i)).append('\n'); }
+        this.notes = sb.toString();
+    }
+
+    /**
+     * Compresses the notes of a ticket in the Closed or Canceled state, which are rarely
+     * read, and releases the uncompressed String.
+     */
+    private void compressNotesIfTerminal() {
+        if (compressedNotes == null && notes != null
+                && (CLOSED_NAME.equals(state) || CANCELED_NAME.equals(state))) {
+            compressedNotes = NoteCompressor.getShared().compress(notes);
+            notes = null;
+        }
+    }
+
+    /**
+     * Restores compressed notes to a String so they can be modified.
+     */
+    private void inflateNotes() {
+        if (compressedNotes != null) {
+            notes = NoteCompressor.getShared().decompress(compressedNotes);
+            compressedNotes = null;
+        }
     }
 
     /**
@@ -599,7 +867,7 @@ public class Ticket implements TicketState {
      */
     private void setPriority(String priority) {
         if ("".equals(priority) || priority == null) { throw new IllegalArgumentException(); }
-        if (priority.equals(P_HIGH)) 	{ this.priority = P_URGENT;	}
+        if (priority.equals(P_URGENT)) 	{ this.priority = P_URGENT;	}
         if (priority.equals(P_HIGH)) 	{ this.priority = P_HIGH; 	}
         if (priority.equals(P_MEDIUM)) 	{ this.priority = P_MEDIUM; }
         if (priority.equals(P_LOW)) 	{ this.priority = P_LOW; 	}
@@ -610,7 +878,7 @@ public class Ticket implements TicketState {
      * @param owner the owner to set
      */
     private void setOwner(String owner) {
-        this.owner = owner;
+        this.owner = SymbolTable.getShared().intern(owner);
     }
 
     /**
@@ -623,11 +891,266 @@ public class Ticket implements TicketState {
     }
 
     /**
-     * Executes a command function update triggering the FSM implementation.
+     * Executes a command function update triggering the FSM implementation. If another
+     * thread is updating the ticket, spins until it is done; it never takes a lock.
      * @param cmd the command to action
      */
     public void update(Command cmd) {
-        //TODO Implement update() functionality
+        while (true) {
+            long s = seq;
+            if ((s & 1) == 0 && SEQ.compareAndSet(this, s, s + 1)) {
+                apply(cmd, s);
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Conditional update for optimistic concurrency. The Command is applied only if the
+     * ticket is still at the version the caller last read and no other update is in
+     * progress; otherwise nothing changes and the caller should re-read and retry.
+     * @param cmd the command to action
+     * @param expectedVersion the version the caller read from {@link #getVersion()}
+     * @return true if the command was applied, false if the version did not match
+     * @throws UnsupportedOperationException if the FSM rejects the command. The version
+     * 		still advances, so the caller must re-read before retrying.
+     */
+    public boolean update(Command cmd, long expectedVersion) {
+        long s = expectedVersion << 1;
+        if (expectedVersion < 0 || !SEQ.compareAndSet(this, s, s + 1)) { return false; }
+        apply(cmd, s);
+        return true;
+    }
+
+    /**
+     * Returns the ticket's version: the number of Commands applied to it, including ones
+     * the FSM rejected.
+     * @return the current version
+     */
+    public long getVersion() {
+        return seq >>> 1;
+    }
+
+    /**
+     * Returns true if the ticket has changed since it was last saved.
+     * @return true if the ticket is dirty
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Runs a read of several fields against one consistent version of the ticket, as an
+     * optimistic read: the reader runs without locking and runs again if a Command was
+     * being applied or was applied meanwhile. The reader must have no side effects, since
+     * it may run more than once against a half-updated ticket, and must not update the
+     * ticket.
+     * @param <T> the result type
+     * @param reader the function to run
+     * @return the reader's result from a run that saw no concurrent update
+     */
+    public <T> T read(Function<? super Ticket, T> reader) {
+        if (Thread.currentThread() == writer) { return reader.apply(this); }
+        while (true) {
+            long s = seq;
+            if ((s & 1) == 0) {
+                try {
+                    T value = reader.apply(this);
+                    if (validate(s)) { return value; }
+                } catch (RuntimeException e) {
+                    if (validate(s)) { throw e; }
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns true if no Command has been applied since seq was read as s. The fence keeps
+     * the optimistic reads of the fields ahead of the second read of seq.
+     * @param s the even sequence number read before the fields
+     * @return true if the fields read since are consistent
+     */
+    private boolean validate(long s) {
+        VarHandle.acquireFence();
+        return seq == s;
+    }
+
+    /**
+     * Clears the dirty flag atomically. A save must clear the flag before it serializes the
+     * ticket, so an update that races with the save leaves the ticket dirty for the next
+     * one, and must call {@link #markDirty()} if the record then fails to reach the file.
+     * @return true if the ticket was dirty
+     */
+    public boolean clearDirty() {
+        return (boolean) DIRTY.getAndSet(this, false);
+    }
+
+    /**
+     * Sets the dirty flag again after a save that cleared it failed.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Applies a Command while this thread holds the odd sequence number s + 1, then
+     * publishes s + 2 and notifies listeners of the update and of any change of state. A
+     * rejected Command also publishes s + 2: the notes were inflated and compressed again
+     * meanwhile, and restoring s would let an optimistic reader validate fields it read
+     * half-way through. The new state, owner and code are captured before s + 2 is
+     * published, since another writer may apply its own Command before listeners run.
+     * @param cmd the command to action
+     * @param s the even sequence number that was claimed
+     */
+    private void apply(Command cmd, long s) {
+        TicketTransitionEvent event = new TicketTransitionEvent();
+        event.begin();
+        String fromState = this.state;
+        int fromOwner = this.owner;
+        String toState = fromState;
+        int toOwner = fromOwner;
+        String toCode = null;
+        CommandValue command = cmd == null ? null : cmd.getCommand();
+        boolean applied = false;
+        writer = Thread.currentThread();
+        inflateNotes();
+        try {
+            updateState(cmd);
+            serialized = null;
+            dirty = true;
+            if (!Objects.equals(fromState, state) || fromOwner != owner) {
+                recordTransition(command == null ? TransitionLog.CREATED : command.ordinal());
+            }
+            applied = true;
+        } finally {
+            compressNotesIfTerminal();
+            toState = this.state;
+            toOwner = this.owner;
+            toCode = currentCode();
+            writer = null;
+            seq = s + 2;
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(ticketId, command == null ? null : command.name(), fromState, toState, applied);
+                event.commit();
+            }
+        }
+        for (TicketListener l : listeners) { l.ticketUpdated(this); }
+        if (!Objects.equals(fromState, toState)) {
+            String ownerName = SymbolTable.getShared().name(toOwner);
+            for (TicketListener l : listeners) { l.stateChanged(this, fromState, toState, ownerName, toCode); }
+        }
+    }
+
+    /**
+     * Returns the ticket's transition history: its creation and every update that changed
+     * its state or owner. Tickets loaded from a file start their history at the time they
+     * were loaded; tickets restored from an archive keep the history they were archived
+     * with.
+     * @return the history
+     */
+    public TransitionLog getHistory() {
+        return history;
+    }
+
+    /**
+     * Appends the ticket's current state and owner to its history.
+     * @param commandOrdinal the CommandValue ordinal, or {@link TransitionLog#CREATED}
+     */
+    private void recordTransition(int commandOrdinal) {
+        int s = stateOrdinal(state);
+        if (s >= 0) {
+            history.append(System.currentTimeMillis(), s, commandOrdinal, owner);
+        }
+    }
+
+    /**
+     * Notifies all registered listeners that this ticket has been constructed.
+     */
+    private void fireTicketCreated() {
+        for (TicketListener l : listeners) { l.ticketCreated(this); }
+    }
+
+    /**
+     * Registers a listener that is notified whenever a Ticket is created or changes state.
+     * @param listener the listener to register
+     * @throws IllegalArgumentException if the listener is null
+     */
+    public static void addTicketListener(TicketListener listener) {
+        if (listener == null) { throw new IllegalArgumentException(); }
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener. Does nothing if it was never registered.
+     * @param listener the listener to remove
+     */
+    public static void removeTicketListener(TicketListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the ordinal of a state name in FSM order: New, Working, Feedback, Resolved,
+     * Closed, Canceled.
+     * @param stateName the String value definition of the state
+     * @return the state's ordinal, or -1 if the name is not a known state
+     */
+    public static int stateOrdinal(String stateName) {
+        return indexOf(STATE_NAMES, stateName);
+    }
+
+    /**
+     * Returns the state name for an ordinal returned by {@link #stateOrdinal(String)}.
+     * @param ordinal the state ordinal
+     * @return the String value definition of the state
+     * @throws IllegalArgumentException if the ordinal is out of range
+     */
+    public static String stateName(int ordinal) {
+        if (ordinal < 0 || ordinal >= STATE_NAMES.length) { throw new IllegalArgumentException(); }
+        return STATE_NAMES[ordinal];
+    }
+
+    /**
+     * Returns the {@link Category} ordinal for the String value definition of a category.
+     * @param categoryName the category name, such as "Network"
+     * @return the Category ordinal, or -1 if the name is not a known category
+     */
+    public static int categoryOrdinal(String categoryName) {
+        return indexOf(CATEGORY_NAMES, categoryName);
+    }
+
+    /**
+     * Returns the {@link Priority} ordinal for the String value definition of a priority.
+     * @param priorityName the priority name, such as "Urgent"
+     * @return the Priority ordinal, or -1 if the name is not a known priority
+     */
+    public static int priorityOrdinal(String priorityName) {
+        return indexOf(PRIORITY_NAMES, priorityName);
+    }
+
+    /**
+     * Returns the {@link TicketType} ordinal for the String value definition of a ticket type.
+     * @param ticketTypeName the ticket type name, "Request" or "Incident"
+     * @return the TicketType ordinal, or -1 if the name is not a known ticket type
+     */
+    public static int ticketTypeOrdinal(String ticketTypeName) {
+        return indexOf(TICKET_TYPE_NAMES, ticketTypeName);
+    }
+
+    /**
+     * Linear search over one of the small name tables.
+     * @param names the table to search
+     * @param name the name to find
+     * @return the index of the name, or -1 if it is null or absent
+     */
+    private static int indexOf(String[] names, String name) {
+        if (name == null) { return -1; }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) { return i; }
+        }
+        return -1;
     }
 
 
@@ -636,9 +1159,9 @@ public class Ticket implements TicketState {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((caller == null) ? 0 : caller.hashCode());
+        result = prime * result + caller;
         result = prime * result + ((category == null) ? 0 : category.hashCode());
-        result = prime * result + ((owner == null) ? 0 : owner.hashCode());
+        result = prime * result + owner;
         result = prime * result + ((state == null) ? 0 : state.hashCode());
         result = prime * result + ((subject == null) ? 0 : subject.hashCode());
         result = prime * result + ticketId;
@@ -656,20 +1179,14 @@ public class Ticket implements TicketState {
         if (getClass() != obj.getClass())
             return false;
         Ticket other = (Ticket) obj;
-        if (caller == null) {
-            if (other.caller != null)
-                return false;
-        } else if (!caller.equals(other.caller))
+        if (caller != other.caller)
             return false;
         if (category == null) {
             if (other.category != null)
                 return false;
         } else if (!category.equals(other.category))
             return false;
-        if (owner == null) {
-            if (other.owner != null)
-                return false;
-        } else if (!owner.equals(other.owner))
+        if (owner != other.owner)
             return false;
         if (state == null) {
             if (other.state != null)
@@ -694,17 +1211,124 @@ public class Ticket implements TicketState {
 
     /**
      * Override implementation of toString() that provides object string formatting required
-     * to translate objects into format compliant text data.
-     * #TODO Need to implement proper getCode implementation
+     * to translate objects into format compliant text data:
+     * <pre>
+     * *id#state#ticket-type#subject#caller#category#priority#owner#code
+     * -note
+     * </pre>
+     * The text is built once and cached until the next {@link #update(Command)}.
      */
     @Override
     public String toString() {
-        String value =  "*" + getTicketId() + "#" + getState() + "#" + getTicketTypeString() + "#" + getSubject() +
-                getCaller()  + "#" + getCategory() + "#" + getPriority() + "#" + getOwner() + "#" + getNotes().toString();
+        return new String(getSerializedBytes(), StandardCharsets.UTF_8);
+    }
 
-        return value;
+    /**
+     * Writes the ticket's record, in the format of {@link #toString()}, to a stream. An
+     * unchanged ticket copies its cached bytes.
+     * @param out the stream to write to
+     * @throws IOException if the write fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(getSerializedBytes());
+    }
+
+    /**
+     * Writes the ticket's record to a stream, with the notes of a Closed or Canceled ticket
+     * kept compressed as a single {@link NoteCompressor#encode(byte[])} note line if
+     * compressNotes is true. Other tickets are written as by {@link #writeTo(OutputStream)}.
+     * @param out the stream to write to
+     * @param compressNotes true to write compressed notes as they are held in memory
+     * @throws IOException if the write fails
+     */
+    public void writeTo(OutputStream out, boolean compressNotes) throws IOException {
+        String record = !compressNotes ? null : read(t -> {
+            byte[] packed = t.compressedNotes;
+            return packed == null ? null : t.buildHeader() + NoteCompressor.encode(packed) + "\n";
+        });
+        if (record == null) {
+            writeTo(out);
+        } else {
+            out.write(record.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Returns the cached UTF-8 record for this ticket, building it if the cache is empty or
+     * was cleared by the garbage collector.
+     * @return the record bytes. Callers must not modify the array.
+     */
+    private byte[] getSerializedBytes() {
+        if (Thread.currentThread() == writer) { return buildRecord().getBytes(StandardCharsets.UTF_8); }
+        while (true) {
+            long s = seq;
+            if ((s & 1) == 0) {
+                Record cached = serialized;
+                byte[] bytes = cached == null || cached.seq != s ? null : cached.get();
+                if (bytes != null) { return bytes; }
+                try {
+                    bytes = buildRecord().getBytes(StandardCharsets.UTF_8);
+                    // Cache only a record validated against s, tagged so a later version ignores it
+                    if (validate(s)) {
+                        serialized = new Record(bytes, s);
+                        return bytes;
+                    }
+                } catch (RuntimeException e) {
+                    if (validate(s)) { throw e; }
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * A cached record and the sequence number it was built at.
+     */
+    private static final class Record extends SoftReference<byte[]> {
+
+        /** The sequence number the record was built at. */
+        final long seq;
+
+        /**
+         * Creates a cache entry.
+         * @param bytes the record bytes
+         * @param seq the sequence number they were built at
+         */
+        Record(byte[] bytes, long seq) {
+            super(bytes);
+            this.seq = seq;
+        }
+    }
 
+    /**
+     * Builds the file format record for this ticket. Must be called within a validated
+     * read of seq.
+     * @return the record text, ending in a newline
+     */
+    private String buildRecord() {
+        StringBuilder sb = new StringBuilder(buildHeader());
+        String n = currentNotes();
+        if (n != null && !n.isEmpty()) {
+            if (n.charAt(0) != '-') { sb.append('-'); }
+            sb.append(n);
+            if (n.charAt(n.length() - 1) != '\n') { sb.append('\n'); }
+        }
+        return sb.toString();
     }
 
+    /**
+     * Builds the '*' header line of this ticket's record.
+     * @return the header line, ending in a newline
+     */
+    private String buildHeader() {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append('*').append(ticketId).append('#').append(state).append('#')
+                .append(ticketTypeString).append('#').append(subject).append('#')
+                .append(getCaller()).append('#').append(category).append('#').append(priority)
+                .append('#').append(owner == SymbolTable.NONE ? "" : getOwner()).append('#');
+        String code = currentCode();
+        sb.append(code == null ? "" : code).append('\n');
+        return sb.toString();
+    }
 
 }
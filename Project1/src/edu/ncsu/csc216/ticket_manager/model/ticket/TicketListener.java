@@ -0,0 +1,44 @@
+package edu.ncsu.csc216.ticket_manager.model.ticket;
+
+/**
+ * Callback interface for components that maintain derived views of the ticket set, such
+ * as report aggregates or indexes. Listeners are registered with
+ * {@link Ticket#addTicketListener(TicketListener)}.
+ *
+ * Listeners are invoked on the thread that created or updated the Ticket and must not
+ * block.
+ * @author brandonortiz
+ */
+public interface TicketListener {
+
+    /**
+     * Called once a Ticket has been fully constructed, from either the GUI or the IO
+     * constructor.
+     * @param ticket the newly created ticket
+     */
+    void ticketCreated(Ticket ticket);
+
+    /**
+     * Called after a Command moved a Ticket to a different state. The new state, owner and
+     * code are those the Command left; another Command may already have changed the ticket
+     * again, so listeners must use these values rather than read them from the ticket.
+     * @param ticket the ticket that changed
+     * @param fromState the String value definition of the state before the transition
+     * @param toState the String value definition of the state after the transition
+     * @param owner the owner after the transition, or null if there is none
+     * @param code the feedback, resolution or cancellation code after the transition, or
+     * 		null if there is none
+     */
+    void stateChanged(Ticket ticket, String fromState, String toState, String owner, String code);
+
+    /**
+     * Called after every Command applied to a Ticket, including ones that changed only its
+     * owner, code or notes, and before {@link #stateChanged(Ticket, String, String, String, String)} for ones that
+     * also changed its state. Does nothing by default.
+     * @param ticket the ticket that was updated
+     */
+    default void ticketUpdated(Ticket ticket) {
+        // Most listeners only track states
+    }
+
+}
@@ -0,0 +1,360 @@
+package edu.ncsu.csc216.ticket_manager.model.ticket;
+
+import java.util.Arrays;
+
+/**
+ * <pre>
+ * Compact history of a ticket's transitions.
+ *
+ * Each entry records the time, the state entered, the Command that caused it, and the
+ * owner afterwards. Entries are packed into one byte array: the time as a varint delta from
+ * the previous entry, the state and command ordinals as one byte each, and the owner's
+ * {@link SymbolTable} symbol as a varint, so a typical entry takes 5 to 7 bytes and no
+ * object is kept per transition. Every {@value #CHECKPOINT_INTERVAL}th entry's absolute
+ * time and offset are kept as a checkpoint, so an as-of lookup binary searches the
+ * checkpoints and decodes at most {@value #CHECKPOINT_INTERVAL} entries.
+ *
+ * Times are epoch milliseconds. An entry earlier than the previous one is recorded at the
+ * previous entry's time, so the log is always in time order.
+ * </pre>
+ * @author brandonortiz
+ */
+public class TransitionLog {
+
+    /** Command ordinal recorded for the entry made when a ticket is created. */
+    public static final int CREATED = -1;
+
+    /** Number of entries between checkpoints. */
+    static final int CHECKPOINT_INTERVAL = 16;
+
+    /** Encoded entries, null until the first one. */
+    private byte[] data;
+
+    /** Number of bytes of {@link #data} in use. */
+    private int length;
+
+    /** Number of entries. */
+    private int count;
+
+    /** Time of the last entry. */
+    private long lastTime;
+
+    /** Time of every {@value #CHECKPOINT_INTERVAL}th entry. */
+    private long[] checkpointTimes;
+
+    /** Offset into {@link #data} of every {@value #CHECKPOINT_INTERVAL}th entry. */
+    private int[] checkpointOffsets;
+
+    /**
+     * Appends an entry.
+     * @param millis the time of the transition
+     * @param stateOrdinal the ordinal of the state entered, see {@link Ticket#stateOrdinal}
+     * @param commandOrdinal the ordinal of the Command's CommandValue, or {@link #CREATED}
+     * @param ownerSymbol the owner's symbol in the shared {@link SymbolTable}, or
+     * 		{@link SymbolTable#NONE}
+     * @throws IllegalArgumentException if an ordinal or symbol is out of range
+     */
+    public synchronized void append(long millis, int stateOrdinal, int commandOrdinal, int ownerSymbol) {
+        if (stateOrdinal < 0 || stateOrdinal > Byte.MAX_VALUE || commandOrdinal < CREATED
+                || commandOrdinal >= Byte.MAX_VALUE || ownerSymbol < SymbolTable.NONE) {
+            throw new IllegalArgumentException();
+        }
+        if (data == null) {
+            data = new byte[32];
+            checkpointTimes = new long[2];
+            checkpointOffsets = new int[2];
+        } else if (millis < lastTime) {
+            millis = lastTime;
+        }
+        ensureCapacity(length + 22);
+        if (count % CHECKPOINT_INTERVAL == 0) {
+            int c = count / CHECKPOINT_INTERVAL;
+            if (c == checkpointTimes.length) {
+                checkpointTimes = Arrays.copyOf(checkpointTimes, c * 2);
+                checkpointOffsets = Arrays.copyOf(checkpointOffsets, c * 2);
+            }
+            checkpointTimes[c] = millis;
+            checkpointOffsets[c] = length;
+        }
+        writeVarLong(count == 0 ? 0 : millis - lastTime);
+        data[length++] = (byte) stateOrdinal;
+        data[length++] = (byte) (commandOrdinal + 1);
+        writeVarLong(ownerSymbol + 1L);
+        lastTime = millis;
+        count++;
+    }
+
+    /**
+     * Appends every entry of another log, such as the history of a ticket read back from an
+     * archive.
+     * @param other the log to copy
+     */
+    public void appendAll(TransitionLog other) {
+        long[] times;
+        int[] entries;
+        synchronized (other) {
+            times = new long[other.count];
+            entries = new int[other.count * 3];
+            if (other.count > 0) {
+                Cursor c = other.new Cursor(0);
+                for (int i = 0; i < other.count; i++) {
+                    if (i > 0) { c.next(); }
+                    times[i] = c.time;
+                    entries[i * 3] = c.state;
+                    entries[i * 3 + 1] = c.command;
+                    entries[i * 3 + 2] = c.owner;
+                }
+            }
+        }
+        for (int i = 0; i < times.length; i++) {
+            append(times[i], entries[i * 3], entries[i * 3 + 1], entries[i * 3 + 2]);
+        }
+    }
+
+    /**
+     * Returns the number of entries.
+     * @return the number of transitions recorded, including creation
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes the encoded entries occupy.
+     * @return the encoded length
+     */
+    public synchronized int encodedLength() {
+        return length;
+    }
+
+    /**
+     * Returns the time of an entry.
+     * @param index the entry index
+     * @return the time in epoch milliseconds
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized long getTime(int index) {
+        return seek(index).time;
+    }
+
+    /**
+     * Returns the state ordinal of an entry.
+     * @param index the entry index
+     * @return the state ordinal
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized int getState(int index) {
+        return seek(index).state;
+    }
+
+    /**
+     * Returns the command ordinal of an entry.
+     * @param index the entry index
+     * @return the CommandValue ordinal, or {@link #CREATED}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized int getCommand(int index) {
+        return seek(index).command;
+    }
+
+    /**
+     * Returns the owner symbol of an entry.
+     * @param index the entry index
+     * @return the owner symbol, or {@link SymbolTable#NONE}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized int getOwner(int index) {
+        return seek(index).owner;
+    }
+
+    /**
+     * Returns the index of the last entry at or before a time.
+     * @param millis the time in epoch milliseconds
+     * @return the entry index, or -1 if the time is before the first entry
+     */
+    public synchronized int indexAt(long millis) {
+        if (count == 0 || millis < checkpointTimes[0]) { return -1; }
+        int checkpoints = (count + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL;
+        int lo = 0;
+        int hi = checkpoints - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (checkpointTimes[mid] <= millis) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        Cursor c = new Cursor(lo);
+        int last = Math.min(count, (lo + 1) * CHECKPOINT_INTERVAL);
+        while (c.index + 1 < last) {
+            c.next();
+            if (c.time > millis) { return c.index - 1; }
+        }
+        return c.index;
+    }
+
+    /**
+     * Returns the state a ticket was in at a time.
+     * @param millis the time in epoch milliseconds
+     * @return the state ordinal, or -1 if the ticket did not exist yet
+     */
+    public synchronized int stateAt(long millis) {
+        int i = indexAt(millis);
+        return i < 0 ? -1 : seek(i).state;
+    }
+
+    /**
+     * Returns the owner a ticket had at a time.
+     * @param millis the time in epoch milliseconds
+     * @return the owner symbol, or {@link SymbolTable#NONE} if it had none or did not exist
+     */
+    public synchronized int ownerAt(long millis) {
+        int i = indexAt(millis);
+        return i < 0 ? SymbolTable.NONE : seek(i).owner;
+    }
+
+    /**
+     * Returns how long the ticket has spent in each state, counting the current state up to
+     * the given time.
+     * @param nowMillis the time to measure up to
+     * @return milliseconds spent per state ordinal
+     */
+    public synchronized long[] timeInState(long nowMillis) {
+        long[] spent = new long[Ticket.STATE_COUNT];
+        if (count == 0) { return spent; }
+        Cursor c = new Cursor(0);
+        while (true) {
+            long start = c.time;
+            int state = c.state;
+            if (c.index + 1 == count) {
+                spent[state] += Math.max(0, nowMillis - start);
+                return spent;
+            }
+            c.next();
+            spent[state] += c.time - start;
+        }
+    }
+
+    /**
+     * Counts how many of the given tickets were in each state at a time. Tickets that did
+     * not exist yet are not counted.
+     * @param tickets the tickets
+     * @param millis the time in epoch milliseconds
+     * @return the counts per state ordinal
+     */
+    public static int[] countStatesAt(Iterable<Ticket> tickets, long millis) {
+        int[] counts = new int[Ticket.STATE_COUNT];
+        for (Ticket t : tickets) {
+            int s = t.getHistory().stateAt(millis);
+            if (s >= 0) { counts[s]++; }
+        }
+        return counts;
+    }
+
+    /**
+     * Positions a cursor on an entry.
+     * @param index the entry index
+     * @return the cursor
+     */
+    private Cursor seek(int index) {
+        if (index < 0 || index >= count) { throw new IndexOutOfBoundsException(); }
+        Cursor c = new Cursor(index / CHECKPOINT_INTERVAL);
+        while (c.index < index) { c.next(); }
+        return c;
+    }
+
+    /**
+     * Writes an unsigned varint.
+     * @param v the value, not negative
+     */
+    private void writeVarLong(long v) {
+        while ((v & ~0x7FL) != 0) {
+            data[length++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        data[length++] = (byte) v;
+    }
+
+    /**
+     * Grows the data array to hold at least n bytes.
+     * @param n the capacity needed
+     */
+    private void ensureCapacity(int n) {
+        if (n > data.length) {
+            data = Arrays.copyOf(data, Math.max(n, data.length * 2));
+        }
+    }
+
+    /**
+     * Decodes entries forward from a checkpoint.
+     */
+    private class Cursor {
+
+        /** Index of the current entry. */
+        private int index;
+
+        /** Offset of the next entry. */
+        private int pos;
+
+        /** Time of the current entry. */
+        private long time;
+
+        /** State ordinal of the current entry. */
+        private int state;
+
+        /** Command ordinal of the current entry. */
+        private int command;
+
+        /** Owner symbol of the current entry. */
+        private int owner;
+
+        /**
+         * Positions the cursor on a checkpoint's entry.
+         * @param checkpoint the checkpoint number
+         */
+        Cursor(int checkpoint) {
+            index = checkpoint * CHECKPOINT_INTERVAL - 1;
+            pos = checkpointOffsets[checkpoint];
+            time = checkpointTimes[checkpoint];
+            decode(true);
+        }
+
+        /**
+         * Moves to the next entry.
+         */
+        void next() {
+            decode(false);
+        }
+
+        /**
+         * Decodes the entry at {@link #pos}.
+         * @param checkpoint true if the entry's time is the checkpoint time already set
+         */
+        private void decode(boolean checkpoint) {
+            long delta = readVarLong();
+            if (!checkpoint) { time += delta; }
+            state = data[pos++];
+            command = data[pos++] - 1;
+            owner = (int) (readVarLong() - 1);
+            index++;
+        }
+
+        /**
+         * Reads an unsigned varint.
+         * @return the value
+         */
+        private long readVarLong() {
+            long v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return v;
+        }
+    }
+
+}
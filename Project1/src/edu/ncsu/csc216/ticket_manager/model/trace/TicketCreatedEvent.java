@@ -0,0 +1,41 @@
+package edu.ncsu.csc216.ticket_manager.model.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for the construction of a Ticket, either from the GUI or from a file record.
+ * Only constructions slower than the threshold are recorded.
+ * @author brandonortiz
+ */
+@Name("edu.ncsu.csc216.ticket_manager.TicketCreated")
+@Label("Ticket Created")
+@Category("Ticket Manager")
+@Description("A Ticket was constructed")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class TicketCreatedEvent extends jdk.jfr.Event {
+
+    /** The new ticket's id. */
+    @Label("Ticket Id")
+    private int ticketId;
+
+    /** True if the ticket was built from a file record. */
+    @Label("From File")
+    private boolean fromFile;
+
+    /**
+     * Sets the event fields.
+     * @param ticketId the ticket id
+     * @param fromFile true for the file constructor
+     */
+    public void set(int ticketId, boolean fromFile) {
+        this.ticketId = ticketId;
+        this.fromFile = fromFile;
+    }
+
+}
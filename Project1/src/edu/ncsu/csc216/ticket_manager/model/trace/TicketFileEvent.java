@@ -0,0 +1,57 @@
+package edu.ncsu.csc216.ticket_manager.model.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for ticket file I/O: a load, a save, an fsync, or a compaction. Only
+ * operations slower than the threshold are recorded, so stalls stand out.
+ * @author brandonortiz
+ */
+@Name("edu.ncsu.csc216.ticket_manager.TicketFile")
+@Label("Ticket File I/O")
+@Category("Ticket Manager")
+@Description("A ticket file was loaded, saved, synced, or compacted")
+@Threshold("10 ms")
+public final class TicketFileEvent extends jdk.jfr.Event {
+
+    /** Operation name for reading a file. */
+    public static final String LOAD = "load";
+
+    /** Operation name for writing tickets. */
+    public static final String SAVE = "save";
+
+    /** Operation name for forcing writes to the device. */
+    public static final String FSYNC = "fsync";
+
+    /** Operation name for rewriting a file without dead records. */
+    public static final String COMPACT = "compact";
+
+    /** The operation. */
+    @Label("Operation")
+    private String operation;
+
+    /** The file name. */
+    @Label("File")
+    private String file;
+
+    /** Number of tickets read or written. */
+    @Label("Tickets")
+    private int tickets;
+
+    /**
+     * Sets the event fields.
+     * @param operation one of {@link #LOAD}, {@link #SAVE}, {@link #FSYNC}, {@link #COMPACT}
+     * @param file the file name
+     * @param tickets the number of tickets read or written
+     */
+    public void set(String operation, String file, int tickets) {
+        this.operation = operation;
+        this.file = file;
+        this.tickets = tickets;
+    }
+
+}
@@ -0,0 +1,43 @@
+package edu.ncsu.csc216.ticket_manager.model.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for parsing one ticket file record into a Ticket. Only parses slower than the
+ * threshold are recorded.
+ * @author brandonortiz
+ */
+@Name("edu.ncsu.csc216.ticket_manager.TicketParse")
+@Label("Ticket Record Parse")
+@Category("Ticket Manager")
+@Description("A ticket file record was parsed")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class TicketParseEvent extends jdk.jfr.Event {
+
+    /** The parsed ticket's id, or -1 if the record was invalid. */
+    @Label("Ticket Id")
+    private int ticketId;
+
+    /** Length of the record text. */
+    @Label("Record Length")
+    @DataAmount
+    private int recordLength;
+
+    /**
+     * Sets the event fields.
+     * @param ticketId the ticket id, or -1
+     * @param recordLength the record length in characters
+     */
+    public void set(int ticketId, int recordLength) {
+        this.ticketId = ticketId;
+        this.recordLength = recordLength;
+    }
+
+}
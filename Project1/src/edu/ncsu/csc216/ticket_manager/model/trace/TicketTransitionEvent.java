@@ -0,0 +1,59 @@
+package edu.ncsu.csc216.ticket_manager.model.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for applying a Command to a Ticket, from claiming the ticket to publishing
+ * the new version. Only transitions slower than the threshold are recorded.
+ * @author brandonortiz
+ */
+@Name("edu.ncsu.csc216.ticket_manager.TicketTransition")
+@Label("Ticket Transition")
+@Category("Ticket Manager")
+@Description("A Command was applied to a Ticket")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class TicketTransitionEvent extends jdk.jfr.Event {
+
+    /** The ticket id. */
+    @Label("Ticket Id")
+    private int ticketId;
+
+    /** The CommandValue name. */
+    @Label("Command")
+    private String command;
+
+    /** State before the Command. */
+    @Label("From State")
+    private String fromState;
+
+    /** State after the Command. */
+    @Label("To State")
+    private String toState;
+
+    /** True if the FSM accepted the Command. */
+    @Label("Applied")
+    private boolean applied;
+
+    /**
+     * Sets the event fields.
+     * @param ticketId the ticket id
+     * @param command the CommandValue name, may be null
+     * @param fromState the state before
+     * @param toState the state after
+     * @param applied true if the Command was accepted
+     */
+    public void set(int ticketId, String command, String fromState, String toState, boolean applied) {
+        this.ticketId = ticketId;
+        this.command = command;
+        this.fromState = fromState;
+        this.toState = toState;
+        this.applied = applied;
+    }
+
+}
@@ -0,0 +1,204 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.List;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * <pre>
+ * Heap footprint and scaling benchmark for tickets.
+ *
+ * The benchmark first prints the estimated layouts of Ticket and Command and the retained
+ * size of a generated example of each, measured with {@link ObjectFootprint}. It then
+ * creates synthetic backlogs of each requested size with a {@link WorkloadGenerator} and,
+ * for each one, reports:
+ *
+ * 	load time
+ * 	heap used after a full collection, in total and per ticket
+ * 	number and total time of old generation and full collections during the load
+ *
+ * The run fails with exit status 1 if the heap used per ticket, or the estimated retained
+ * size of a Ticket, exceeds the limit, so it can gate a build. Large backlogs need a
+ * large heap; 10M tickets need about -Xmx8g.
+ *
+ * Usage: FootprintBenchmark [maxBytesPerTicket [tickets...]]
+ * </pre>
+ * @author brandonortiz
+ */
+public class FootprintBenchmark {
+
+    /** Default limit on heap used per ticket, in bytes. */
+    public static final int DEFAULT_MAX_BYTES_PER_TICKET = 512;
+
+    /** Default backlog sizes. */
+    private static final int[] DEFAULT_SIZES = { 1_000_000, 10_000_000 };
+
+    /** Seed for the generated backlogs. */
+    private static final long SEED = 1L;
+
+    /** Number of distinct callers in generated tickets. */
+    private static final int CALLERS = 5000;
+
+    /** Number of distinct owners in generated Commands. */
+    private static final int OWNERS = 200;
+
+    /**
+     * Result of loading one backlog.
+     */
+    public static final class Result {
+
+        /** Number of tickets loaded. */
+        private final int tickets;
+
+        /** Load time in nanoseconds. */
+        private final long loadNanos;
+
+        /** Heap used by the backlog after a full collection, in bytes. */
+        private final long heapBytes;
+
+        /** Old generation or full collections during the load. */
+        private final long fullGcCount;
+
+        /** Time spent in those collections, in milliseconds. */
+        private final long fullGcMillis;
+
+        /**
+         * Creates a result.
+         * @param tickets the number of tickets
+         * @param loadNanos the load time
+         * @param heapBytes the heap used by the backlog
+         * @param fullGcCount the number of full collections
+         * @param fullGcMillis the time in full collections
+         */
+        Result(int tickets, long loadNanos, long heapBytes, long fullGcCount, long fullGcMillis) {
+            this.tickets = tickets;
+            this.loadNanos = loadNanos;
+            this.heapBytes = heapBytes;
+            this.fullGcCount = fullGcCount;
+            this.fullGcMillis = fullGcMillis;
+        }
+
+        /**
+         * Returns the heap used per ticket.
+         * @return bytes per ticket
+         */
+        public double getBytesPerTicket() {
+            return tickets == 0 ? 0 : (double) heapBytes / tickets;
+        }
+
+        /**
+         * Returns the load time.
+         * @return the load time in milliseconds
+         */
+        public long getLoadMillis() {
+            return loadNanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d tickets: load %,d ms, heap %,d KB (%.1f bytes/ticket), full GCs %d (%,d ms)",
+                    tickets, getLoadMillis(), heapBytes / 1024, getBytesPerTicket(), fullGcCount, fullGcMillis);
+        }
+    }
+
+    /**
+     * Returns an estimator that leaves out state shared by every Ticket and Command.
+     * @return the estimator
+     */
+    public static ObjectFootprint footprint() {
+        return ObjectFootprint.current().excludeStatics(Ticket.class).excludeStatics(Command.class);
+    }
+
+    /**
+     * Creates a backlog and measures it.
+     * @param count the number of tickets
+     * @return the result
+     */
+    public static Result load(int count) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        fullGc(memory);
+        long before = memory.getHeapMemoryUsage().getUsed();
+        long[] gcBefore = fullGcTotals();
+
+        long start = System.nanoTime();
+        List<Ticket> backlog = new WorkloadGenerator(SEED, CALLERS, OWNERS).nextTickets(count);
+        long loadNanos = System.nanoTime() - start;
+
+        long[] gcAfter = fullGcTotals();
+        fullGc(memory);
+        long after = memory.getHeapMemoryUsage().getUsed();
+        Reference.reachabilityFence(backlog);
+        return new Result(count, loadNanos, Math.max(0, after - before), gcAfter[0] - gcBefore[0],
+                gcAfter[1] - gcBefore[1]);
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args maxBytesPerTicket followed by backlog sizes
+     */
+    public static void main(String[] args) {
+        int limit = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MAX_BYTES_PER_TICKET;
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) { sizes[i - 1] = Integer.parseInt(args[i]); }
+        }
+
+        ObjectFootprint footprint = footprint();
+        WorkloadGenerator generator = new WorkloadGenerator(SEED, CALLERS, OWNERS);
+        Ticket ticket = generator.nextTicket();
+        Command command = generator.nextCommand(ticket, Ticket.stateOrdinal(ticket.getState()));
+        System.out.print(footprint.layout(Ticket.class));
+        System.out.print(footprint.layout(Command.class));
+        long ticketBytes = footprint.retainedSize(ticket);
+        System.out.println("Retained size of a Ticket: " + ticketBytes + " bytes");
+        System.out.println("Retained size of a Command: " + footprint.retainedSize(command) + " bytes");
+
+        boolean failed = ticketBytes > limit;
+        for (int size : sizes) {
+            Result r = load(size);
+            System.out.println(r);
+            failed |= r.getBytesPerTicket() > limit;
+        }
+        if (failed) {
+            System.err.println("FAILED: footprint exceeds " + limit + " bytes per ticket");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs full collections until the heap stops shrinking.
+     * @param memory the memory bean
+     */
+    private static void fullGc(MemoryMXBean memory) {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            long now = memory.getHeapMemoryUsage().getUsed();
+            if (now >= used) { return; }
+            used = now;
+        }
+    }
+
+    /**
+     * Returns the count and time of old generation and full collections so far.
+     * @return { count, milliseconds }
+     */
+    private static long[] fullGcTotals() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String name = gc.getName();
+            if (name.contains("Old") || name.contains("MarkSweep") || name.contains("Full")) {
+                totals[0] += Math.max(0, gc.getCollectionCount());
+                totals[1] += Math.max(0, gc.getCollectionTime());
+            }
+        }
+        return totals;
+    }
+
+}
@@ -0,0 +1,98 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+/**
+ * <pre>
+ * Fixed-size log-linear histogram of latencies in nanoseconds.
+ *
+ * Values are bucketed by their highest set bit and the next four bits below it, so every
+ * recorded value is reported within about 6% and recording never allocates.
+ * </pre>
+ * @author brandonortiz
+ */
+public class LatencyHistogram {
+
+    /** Sub-buckets per power of two. */
+    private static final int SUB_BITS = 4;
+
+    /** Number of sub-buckets per power of two. */
+    private static final int SUB = 1 << SUB_BITS;
+
+    /** Bucket counts. */
+    private final long[] counts = new long[64 * SUB];
+
+    /** Number of recorded values. */
+    private long total;
+
+    /** Largest recorded value. */
+    private long max;
+
+    /**
+     * Records one latency.
+     * @param nanos the latency in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts[bucket(v)]++;
+        total++;
+        if (v > max) { max = v; }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     * @return the count
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     * @return the maximum in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the value at a percentile.
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the bucket holding that percentile, in nanoseconds, or 0
+     * 		if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (total == 0) { return 0; }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        if (rank < 1) { rank = 1; }
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) { return Math.min(upperBound(i), max); }
+        }
+        return max;
+    }
+
+    /**
+     * Maps a value to its bucket.
+     * @param v the value, at least 0
+     * @return the bucket index
+     */
+    private static int bucket(long v) {
+        if (v < SUB) { return (int) v; }
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int shift = msb - SUB_BITS;
+        return (shift + 1) * SUB + (int) ((v >>> shift) & (SUB - 1));
+    }
+
+    /**
+     * Returns the largest value that maps to a bucket.
+     * @param b the bucket index
+     * @return the bucket's upper bound
+     */
+    private static long upperBound(int b) {
+        if (b < SUB) { return b; }
+        int shift = b / SUB - 1;
+        long base = (long) (SUB + b % SUB) << shift;
+        return base + (1L << shift) - 1;
+    }
+
+}
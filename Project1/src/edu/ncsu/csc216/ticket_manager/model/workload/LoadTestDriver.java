@@ -0,0 +1,275 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.io.TicketWriter;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * <pre>
+ * Load-test driver for the Ticket FSM.
+ *
+ * The driver creates tickets with a {@link WorkloadGenerator}, then repeatedly picks a
+ * random unfinished ticket and applies the next Command in its sequence, optionally paced
+ * to a target rate. It reports throughput and latency percentiles for ticket creation and
+ * for {@link Ticket#update(Command)}, and can write the generated tickets to a ticket file
+ * for loader benchmarks.
+ *
+ * Each ticket's position in its sequence is tracked by the driver, so the sequence stays
+ * valid even where the FSM rejects a Command. Every Command in a sequence should move its
+ * ticket to another state; if none does, the FSM is not implemented, and the report says
+ * that its update figures cover only the update path and the tickets are still New.
+ *
+ * Usage: LoadTestDriver tickets [opsPerSecond [seed [outputFile]]]
+ * </pre>
+ * @author brandonortiz
+ */
+public class LoadTestDriver {
+
+    /** Number of distinct callers in generated tickets. */
+    private static final int CALLERS = 5000;
+
+    /** Number of distinct owners in generated Commands. */
+    private static final int OWNERS = 200;
+
+    /** Number of tickets to create. */
+    private final int ticketCount;
+
+    /** Target Commands per second, or 0 for unpaced. */
+    private final int opsPerSecond;
+
+    /** Random seed. */
+    private final long seed;
+
+    /** The tickets created by the last run. */
+    private List<Ticket> tickets;
+
+    /**
+     * Creates a driver.
+     * @param ticketCount the number of tickets to create
+     * @param opsPerSecond the target Command rate, or 0 to run as fast as possible
+     * @param seed the random seed
+     * @throws IllegalArgumentException if the ticket count or rate is negative
+     */
+    public LoadTestDriver(int ticketCount, int opsPerSecond, long seed) {
+        if (ticketCount < 0 || opsPerSecond < 0) { throw new IllegalArgumentException(); }
+        this.ticketCount = ticketCount;
+        this.opsPerSecond = opsPerSecond;
+        this.seed = seed;
+    }
+
+    /**
+     * Results of one run.
+     */
+    public static final class Report {
+
+        /** Latency of each ticket creation. */
+        private final LatencyHistogram createLatency = new LatencyHistogram();
+
+        /** Latency of each update. */
+        private final LatencyHistogram updateLatency = new LatencyHistogram();
+
+        /** Number of Commands the FSM rejected. */
+        private long rejected;
+
+        /** Number of Commands the FSM accepted without changing the ticket's state. */
+        private long unchanged;
+
+        /** Time spent creating tickets. */
+        private long createNanos;
+
+        /** Time spent applying Commands. */
+        private long updateNanos;
+
+        /**
+         * Returns the creation latency histogram.
+         * @return the histogram
+         */
+        public LatencyHistogram getCreateLatency() { return createLatency; }
+
+        /**
+         * Returns the update latency histogram.
+         * @return the histogram
+         */
+        public LatencyHistogram getUpdateLatency() { return updateLatency; }
+
+        /**
+         * Returns the number of Commands the FSM rejected.
+         * @return the number of UnsupportedOperationExceptions
+         */
+        public long getRejected() { return rejected; }
+
+        /**
+         * Returns the number of Commands the FSM accepted but that left the ticket in the
+         * same state.
+         * @return the number of accepted Commands without a transition
+         */
+        public long getUnchanged() { return unchanged; }
+
+        /**
+         * Returns true if Commands were accepted but none changed a ticket's state, as when
+         * the FSM is not implemented. The update figures then measure the update path
+         * without any transitions.
+         * @return true if no accepted Command made a transition
+         */
+        public boolean isWithoutTransitions() {
+            long accepted = updateLatency.getCount() - rejected;
+            return accepted > 0 && unchanged == accepted;
+        }
+
+        /**
+         * Returns ticket creations per second.
+         * @return the creation throughput
+         */
+        public double getCreateThroughput() { return rate(createLatency.getCount(), createNanos); }
+
+        /**
+         * Returns Commands applied per second.
+         * @return the update throughput
+         */
+        public double getUpdateThroughput() { return rate(updateLatency.getCount(), updateNanos); }
+
+        /**
+         * Computes a per second rate.
+         * @param count the number of operations
+         * @param nanos the elapsed time
+         * @return operations per second
+         */
+        private static double rate(long count, long nanos) {
+            return nanos == 0 ? 0 : count * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            String s = String.format("create: %d in %.1f ms, %.0f/s, %s%n"
+                    + "update: %d in %.1f ms, %.0f/s, %s, rejected %d, unchanged %d",
+                    createLatency.getCount(), createNanos / 1e6, getCreateThroughput(), percentiles(createLatency),
+                    updateLatency.getCount(), updateNanos / 1e6, getUpdateThroughput(), percentiles(updateLatency),
+                    rejected, unchanged);
+            if (isWithoutTransitions()) {
+                s += String.format("%nWARNING: no Command changed a ticket's state; the FSM is not implemented, so"
+                        + " the update figures exclude transitions and every ticket is still New");
+            }
+            return s;
+        }
+
+        /**
+         * Formats the usual percentiles of a histogram in microseconds.
+         * @param h the histogram
+         * @return the formatted percentiles
+         */
+        private static String percentiles(LatencyHistogram h) {
+            return String.format("p50 %.2f us, p90 %.2f us, p99 %.2f us, p99.9 %.2f us, max %.2f us",
+                    h.getPercentile(50) / 1e3, h.getPercentile(90) / 1e3, h.getPercentile(99) / 1e3,
+                    h.getPercentile(99.9) / 1e3, h.getMax() / 1e3);
+        }
+    }
+
+    /**
+     * Creates the tickets and drives every one of them to the end of its sequence.
+     * @return the run's report
+     */
+    public Report run() {
+        Report report = new Report();
+        WorkloadGenerator gen = new WorkloadGenerator(seed, CALLERS, OWNERS);
+
+        tickets = new ArrayList<Ticket>(ticketCount);
+        long start = System.nanoTime();
+        for (int i = 0; i < ticketCount; i++) {
+            long t0 = System.nanoTime();
+            tickets.add(gen.nextTicket());
+            report.createLatency.record(System.nanoTime() - t0);
+        }
+        report.createNanos = System.nanoTime() - start;
+
+        int[] stage = new int[ticketCount];
+        int[] active = new int[ticketCount];
+        for (int i = 0; i < ticketCount; i++) { active[i] = i; }
+        int remaining = ticketCount;
+        long interval = opsPerSecond == 0 ? 0 : 1_000_000_000L / opsPerSecond;
+        long ops = 0;
+
+        start = System.nanoTime();
+        while (remaining > 0) {
+            int slot = gen.nextInt(remaining);
+            int i = active[slot];
+            Ticket t = tickets.get(i);
+            Command cmd = gen.nextCommand(t, stage[i]);
+            if (cmd == null) {
+                active[slot] = active[--remaining];
+                continue;
+            }
+            if (interval > 0) { pace(start + ops * interval); }
+            String before = t.getState();
+            boolean accepted = true;
+            long t0 = System.nanoTime();
+            try {
+                t.update(cmd);
+            } catch (UnsupportedOperationException e) {
+                accepted = false;
+            }
+            report.updateLatency.record(System.nanoTime() - t0);
+            if (!accepted) {
+                report.rejected++;
+            } else if (before.equals(t.getState())) {
+                report.unchanged++;
+            }
+            ops++;
+            stage[i] = WorkloadGenerator.nextStage(stage[i], cmd);
+            if (stage[i] == WorkloadGenerator.DONE) { active[slot] = active[--remaining]; }
+        }
+        report.updateNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * Returns the tickets created by the last run.
+     * @return the tickets, or null before the first run
+     */
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+
+    /**
+     * Writes the tickets created by the last run to a ticket file.
+     * @param fileName the file to write
+     * @throws IllegalStateException if the driver has not run
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    public void writeTickets(String fileName) {
+        if (tickets == null) { throw new IllegalStateException(); }
+        TicketWriter.writeTicketFile(fileName, tickets);
+    }
+
+    /**
+     * Waits until a deadline on the nanoTime clock.
+     * @param deadline the time to wait for
+     */
+    private static void pace(long deadline) {
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    /**
+     * Runs the driver from the command line and prints the report.
+     * @param args tickets [opsPerSecond [seed [outputFile]]]
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadTestDriver tickets [opsPerSecond [seed [outputFile]]]");
+            return;
+        }
+        int count = Integer.parseInt(args[0]);
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        LoadTestDriver driver = new LoadTestDriver(count, rate, seed);
+        System.out.println(driver.run());
+        if (args.length > 3) { driver.writeTickets(args[3]); }
+    }
+
+}
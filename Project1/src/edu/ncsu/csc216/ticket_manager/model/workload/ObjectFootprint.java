@@ -0,0 +1,298 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * <pre>
+ * Estimates object sizes from class layouts, in the style of JOL.
+ *
+ * An instance is an object header plus its instance fields, rounded up to the object
+ * alignment; an array is an array header plus its elements. Header and reference sizes
+ * follow the running JVM's UseCompressedOops and UseCompressedClassPointers flags. The
+ * retained size of an object is the sum over everything reachable from it, except:
+ *
+ * 	Class objects and enum constants
+ * 	objects held in static fields of the classes passed to {@link #excludeStatics(Class)},
+ * 		or in arrays in those fields, such as the state names every Ticket shares
+ * 	referents of soft, weak, and phantom references, which the collector may reclaim
+ *
+ * JDK classes whose fields are not open to reflection are counted at their shallow size
+ * without following their fields; Strings are sized from their length and coder.
+ * </pre>
+ * @author brandonortiz
+ */
+public class ObjectFootprint {
+
+    /** Object alignment in bytes. */
+    private static final int ALIGNMENT = 8;
+
+    /** Size of an object header. */
+    private final int headerSize;
+
+    /** Size of an array header, including the length. */
+    private final int arrayHeaderSize;
+
+    /** Size of a reference field or element. */
+    private final int referenceSize;
+
+    /** Objects never counted. */
+    private final Set<Object> excluded = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+    /** Cached instance field lists, including inherited fields. */
+    private final Map<Class<?>, List<Field>> fields = new IdentityHashMap<Class<?>, List<Field>>();
+
+    /**
+     * Creates an estimator for a given layout.
+     * @param compressedOops true if references are 4 bytes
+     * @param compressedClassPointers true if the class word is 4 bytes
+     */
+    public ObjectFootprint(boolean compressedOops, boolean compressedClassPointers) {
+        headerSize = compressedClassPointers ? 12 : 16;
+        arrayHeaderSize = headerSize + 4;
+        referenceSize = compressedOops ? 4 : 8;
+    }
+
+    /**
+     * Creates an estimator for the running JVM.
+     * @return the estimator
+     */
+    public static ObjectFootprint current() {
+        HotSpotDiagnosticMXBean hotspot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        boolean oops = true;
+        boolean classPointers = true;
+        if (hotspot != null) {
+            oops = Boolean.parseBoolean(hotspot.getVMOption("UseCompressedOops").getValue());
+            classPointers = Boolean.parseBoolean(hotspot.getVMOption("UseCompressedClassPointers").getValue());
+        }
+        return new ObjectFootprint(oops, classPointers);
+    }
+
+    /**
+     * Excludes everything held in the static fields of a class and its nested classes, and
+     * in arrays held there, from retained sizes.
+     * @param c the class
+     * @return this estimator
+     */
+    public ObjectFootprint excludeStatics(Class<?> c) {
+        for (Field f : c.getDeclaredFields()) {
+            if (!Modifier.isStatic(f.getModifiers()) || f.getType().isPrimitive()) { continue; }
+            try {
+                f.setAccessible(true);
+                Object v = f.get(null);
+                if (v != null) { excluded.add(v); }
+                if (v instanceof Object[]) {
+                    for (Object e : (Object[]) v) {
+                        if (e != null) { excluded.add(e); }
+                    }
+                }
+            } catch (RuntimeException | IllegalAccessException e) {
+                // Not readable; nothing to exclude
+            }
+        }
+        for (Class<?> nested : c.getDeclaredClasses()) { excludeStatics(nested); }
+        return this;
+    }
+
+    /**
+     * Returns the size of one object, not counting anything it references.
+     * @param o the object
+     * @return the size in bytes
+     */
+    public long shallowSize(Object o) {
+        Class<?> c = o.getClass();
+        if (c.isArray()) {
+            Class<?> e = c.getComponentType();
+            return align(align(arrayHeaderSize, e.isPrimitive() ? primitiveSize(e) : referenceSize)
+                    + (long) Array.getLength(o) * (e.isPrimitive() ? primitiveSize(e) : referenceSize));
+        }
+        return instanceSize(c);
+    }
+
+    /**
+     * Returns the size of an instance of a class, not counting anything it references.
+     * @param c the class
+     * @return the size in bytes
+     */
+    public long instanceSize(Class<?> c) {
+        long size = headerSize;
+        for (Field f : instanceFields(c)) { size += fieldSize(f); }
+        return align(size);
+    }
+
+    /**
+     * Returns the size of everything reachable from an object, less the exclusions listed
+     * in the class comment.
+     * @param root the object
+     * @return the size in bytes
+     */
+    public long retainedSize(Object root) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        Deque<Object> pending = new ArrayDeque<Object>();
+        pending.push(root);
+        long total = 0;
+        while (!pending.isEmpty()) {
+            Object o = pending.pop();
+            if (o instanceof Class || o instanceof Enum || excluded.contains(o) || !seen.add(o)) { continue; }
+            if (o instanceof String) {
+                total += stringSize((String) o);
+                continue;
+            }
+            total += shallowSize(o);
+            Class<?> c = o.getClass();
+            if (c.isArray()) {
+                if (!c.getComponentType().isPrimitive()) {
+                    for (Object e : (Object[]) o) {
+                        if (e != null) { pending.push(e); }
+                    }
+                }
+                continue;
+            }
+            if (o instanceof Reference) { continue; }
+            for (Field f : instanceFields(c)) {
+                if (f.getType().isPrimitive()) { continue; }
+                try {
+                    f.setAccessible(true);
+                    Object v = f.get(o);
+                    if (v != null) { pending.push(v); }
+                } catch (RuntimeException | IllegalAccessException e) {
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Describes a class's estimated layout, one field per line with offset and size, in
+     * the order HotSpot usually packs them: widest primitives first, then references, with
+     * a narrower field moved into the gap after a 12 byte header.
+     * @param c the class
+     * @return the layout table
+     */
+    public String layout(Class<?> c) {
+        List<Field> ordered = new ArrayList<Field>(instanceFields(c));
+        ordered.sort((a, b) -> {
+            boolean ra = !a.getType().isPrimitive();
+            boolean rb = !b.getType().isPrimitive();
+            if (ra != rb) { return ra ? 1 : -1; }
+            return Integer.compare(fieldSize(b), fieldSize(a));
+        });
+        StringBuilder sb = new StringBuilder();
+        sb.append(c.getName()).append(" object internals:\n");
+        sb.append(String.format(" %6s %5s  %-20s %s%n", "OFFSET", "SIZE", "TYPE", "FIELD"));
+        sb.append(String.format(" %6d %5d  %-20s %s%n", 0, headerSize, "", "(object header)"));
+        long offset = headerSize;
+        if (offset % 8 != 0 && !ordered.isEmpty() && fieldSize(ordered.get(0)) == 8) {
+            for (int i = 0; i < ordered.size(); i++) {
+                if (fieldSize(ordered.get(i)) <= 4) {
+                    ordered.add(0, ordered.remove(i));
+                    break;
+                }
+            }
+        }
+        for (Field f : ordered) {
+            int size = fieldSize(f);
+            if (offset % size != 0) {
+                long gap = size - offset % size;
+                sb.append(String.format(" %6d %5d  %-20s %s%n", offset, gap, "", "(alignment gap)"));
+                offset += gap;
+            }
+            sb.append(String.format(" %6d %5d  %-20s %s%n", offset, size, f.getType().getSimpleName(),
+                    f.getDeclaringClass().getSimpleName() + "." + f.getName()));
+            offset += size;
+        }
+        long total = align(offset);
+        if (total > offset) {
+            sb.append(String.format(" %6d %5d  %-20s %s%n", offset, total - offset, "", "(loss due to alignment)"));
+        }
+        sb.append("Instance size: ").append(total).append(" bytes\n");
+        return sb.toString();
+    }
+
+    /**
+     * Returns the size of a String and its value array. The array is assumed to be one byte
+     * per char when every char is Latin-1, as with compact strings.
+     * @param s the string
+     * @return the size in bytes
+     */
+    private long stringSize(String s) {
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) { latin1 = s.charAt(i) <= 0xFF; }
+        long value = align((long) arrayHeaderSize + (long) s.length() * (latin1 ? 1 : 2));
+        return instanceSize(String.class) + value;
+    }
+
+    /**
+     * Returns the non-static fields of a class and its superclasses.
+     * @param c the class
+     * @return the fields
+     */
+    private List<Field> instanceFields(Class<?> c) {
+        List<Field> list = fields.get(c);
+        if (list == null) {
+            list = new ArrayList<Field>();
+            for (Class<?> k = c; k != null; k = k.getSuperclass()) {
+                for (Field f : k.getDeclaredFields()) {
+                    if (!Modifier.isStatic(f.getModifiers())) { list.add(f); }
+                }
+            }
+            fields.put(c, list);
+        }
+        return list;
+    }
+
+    /**
+     * Returns the size of a field.
+     * @param f the field
+     * @return the size in bytes
+     */
+    private int fieldSize(Field f) {
+        return f.getType().isPrimitive() ? primitiveSize(f.getType()) : referenceSize;
+    }
+
+    /**
+     * Returns the size of a primitive type.
+     * @param c the primitive type
+     * @return the size in bytes
+     */
+    private static int primitiveSize(Class<?> c) {
+        if (c == long.class || c == double.class) { return 8; }
+        if (c == int.class || c == float.class) { return 4; }
+        if (c == short.class || c == char.class) { return 2; }
+        return 1;
+    }
+
+    /**
+     * Rounds a size up to the object alignment.
+     * @param size the size
+     * @return the aligned size
+     */
+    private static long align(long size) {
+        return align(size, ALIGNMENT);
+    }
+
+    /**
+     * Rounds a size up to a multiple.
+     * @param size the size
+     * @param multiple the multiple
+     * @return the rounded size
+     */
+    private static long align(long size, int multiple) {
+        return (size + multiple - 1) / multiple * multiple;
+    }
+
+}
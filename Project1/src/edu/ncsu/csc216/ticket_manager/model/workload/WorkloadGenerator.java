@@ -0,0 +1,224 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CancellationCode;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.FeedbackCode;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.ResolutionCode;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+
+/**
+ * <pre>
+ * Deterministic source of synthetic tickets and Commands for load testing.
+ *
+ * Tickets are created through the GUI constructor with a realistic mix of categories,
+ * priorities, and types. For each ticket the generator walks a valid Command sequence:
+ *
+ * 	New 		-> PROCESS, or occasionally CANCEL
+ * 	Working 	-> RESOLVE, sometimes FEEDBACK, rarely CANCEL
+ * 	Feedback 	-> PROCESS
+ * 	Resolved 	-> CONFIRM
+ * 	Closed 		-> occasionally REOPEN, otherwise done
+ *
+ * The same seed always produces the same tickets and Commands.
+ * </pre>
+ * @author brandonortiz
+ */
+public class WorkloadGenerator {
+
+    /** Cumulative weights (out of 100) of each Category. */
+    private static final int[] CATEGORY_WEIGHTS = { 25, 55, 75, 90, 100 };
+
+    /** Cumulative weights (out of 100) of each Priority. */
+    private static final int[] PRIORITY_WEIGHTS = { 5, 25, 70, 100 };
+
+    /** Percentage of tickets that are incidents. */
+    private static final int INCIDENT_PERCENT = 60;
+
+    /** Percentage of New tickets that are cancelled instead of processed. */
+    private static final int CANCEL_NEW_PERCENT = 4;
+
+    /** Percentage of Working tickets that are cancelled. */
+    private static final int CANCEL_WORKING_PERCENT = 1;
+
+    /** Percentage of Working tickets that go to Feedback instead of being resolved. */
+    private static final int FEEDBACK_PERCENT = 30;
+
+    /** Percentage of Closed tickets that are reopened. */
+    private static final int REOPEN_PERCENT = 5;
+
+    /** Words used to build subjects. */
+    private static final String[] SUBJECT_WORDS = { "VPN", "printer", "email", "password",
+        "laptop", "database", "slow", "down", "access", "license", "reset", "install", "error",
+        "server", "network", "monitor", "backup", "account" };
+
+    /** Stage of a ticket whose Command sequence is finished. */
+    public static final int DONE = -1;
+
+    /** The random source. */
+    private final SplittableRandom random;
+
+    /** Number of distinct callers. */
+    private final int callers;
+
+    /** Number of distinct owners. */
+    private final int owners;
+
+    /**
+     * Creates a generator.
+     * @param seed the random seed
+     * @param callers the number of distinct callers to draw from
+     * @param owners the number of distinct owners to draw from
+     * @throws IllegalArgumentException if callers or owners is less than 1
+     */
+    public WorkloadGenerator(long seed, int callers, int owners) {
+        if (callers < 1 || owners < 1) { throw new IllegalArgumentException(); }
+        this.random = new SplittableRandom(seed);
+        this.callers = callers;
+        this.owners = owners;
+    }
+
+    /**
+     * Creates one ticket through the GUI constructor.
+     * @return the new ticket
+     */
+    public Ticket nextTicket() {
+        TicketType type = random.nextInt(100) < INCIDENT_PERCENT ? TicketType.INCIDENT : TicketType.REQUEST;
+        Category category = Category.values()[pick(CATEGORY_WEIGHTS)];
+        Priority priority = Priority.values()[pick(PRIORITY_WEIGHTS)];
+        String subject = word() + " " + word() + " " + word();
+        String caller = "caller" + random.nextInt(callers);
+        return new Ticket(type, subject, caller, category, priority, "-" + subject + " reported by " + caller);
+    }
+
+    /**
+     * Creates tickets through the GUI constructor.
+     * @param count the number of tickets
+     * @return the new tickets
+     */
+    public List<Ticket> nextTickets(int count) {
+        List<Ticket> list = new ArrayList<Ticket>(count);
+        for (int i = 0; i < count; i++) { list.add(nextTicket()); }
+        return list;
+    }
+
+    /**
+     * Chooses the next Command for a ticket at a stage of its sequence. Stages are state
+     * ordinals as returned by {@link Ticket#stateOrdinal(String)}.
+     * @param ticket the ticket the Command is for
+     * @param stage the ticket's current stage
+     * @return the Command, or null if the sequence is finished
+     */
+    public Command nextCommand(Ticket ticket, int stage) {
+        Command.Builder b = Command.builder();
+        String state = stage < 0 ? null : Ticket.stateName(stage);
+        if (Ticket.NEW_NAME.equals(state)) {
+            if (random.nextInt(100) < CANCEL_NEW_PERCENT) { return cancel(b); }
+            return b.command(CommandValue.PROCESS).ownerId(owner()).note("-Assigned").build();
+        }
+        if (Ticket.WORKING_NAME.equals(state)) {
+            int r = random.nextInt(100);
+            if (r < CANCEL_WORKING_PERCENT) { return cancel(b); }
+            if (r < CANCEL_WORKING_PERCENT + FEEDBACK_PERCENT) {
+                FeedbackCode f = FeedbackCode.values()[random.nextInt(FeedbackCode.values().length)];
+                return b.command(CommandValue.FEEDBACK).ownerId("").feedbackCode(f).note("-Need info").build();
+            }
+            return b.command(CommandValue.RESOLVE).ownerId("").resolutionCode(resolution(ticket))
+                    .note("-Resolved").build();
+        }
+        if (Ticket.FEEDBACK_NAME.equals(state)) {
+            return b.command(CommandValue.PROCESS).ownerId(owner()).note("-Info received").build();
+        }
+        if (Ticket.RESOLVED_NAME.equals(state)) {
+            return b.command(CommandValue.CONFIRM).ownerId("").note("-Confirmed").build();
+        }
+        if (Ticket.CLOSED_NAME.equals(state) && random.nextInt(100) < REOPEN_PERCENT) {
+            return b.command(CommandValue.REOPEN).ownerId("").note("-Reopened").build();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the stage a ticket reaches once a Command from {@link #nextCommand} succeeds.
+     * @param stage the current stage
+     * @param command the Command that was applied
+     * @return the next stage, or {@link #DONE} if the ticket was cancelled
+     */
+    public static int nextStage(int stage, Command command) {
+        switch (command.getCommand()) {
+            case PROCESS: 	return Ticket.stateOrdinal(Ticket.WORKING_NAME);
+            case FEEDBACK: 	return Ticket.stateOrdinal(Ticket.FEEDBACK_NAME);
+            case RESOLVE: 	return Ticket.stateOrdinal(Ticket.RESOLVED_NAME);
+            case CONFIRM: 	return Ticket.stateOrdinal(Ticket.CLOSED_NAME);
+            case REOPEN: 	return Ticket.stateOrdinal(Ticket.WORKING_NAME);
+            case CANCEL: 	return DONE;
+            default: 		return stage;
+        }
+    }
+
+    /**
+     * Returns a random int below a bound, for callers that share the generator's sequence.
+     * @param bound the exclusive upper bound
+     * @return the random value
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Builds a CANCEL command.
+     * @param b the builder
+     * @return the command
+     */
+    private Command cancel(Command.Builder b) {
+        CancellationCode c = random.nextBoolean() ? CancellationCode.DUPLICATE : CancellationCode.INAPPROPRIATE;
+        return b.command(CommandValue.CANCEL).ownerId("").cancellationCode(c).note("-Cancelled").build();
+    }
+
+    /**
+     * Picks a resolution code valid for the ticket's type.
+     * @param ticket the ticket
+     * @return the resolution code
+     */
+    private ResolutionCode resolution(Ticket ticket) {
+        if (TicketType.REQUEST == ticket.getTicketType()) { return ResolutionCode.COMPLETED; }
+        return random.nextInt(4) == 0 ? ResolutionCode.WORKAROUND : ResolutionCode.SOLVED;
+    }
+
+    /**
+     * Picks an index from cumulative weights out of 100.
+     * @param cumulative the cumulative weights
+     * @return the chosen index
+     */
+    private int pick(int[] cumulative) {
+        int r = random.nextInt(100);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) { return i; }
+        }
+        return cumulative.length - 1;
+    }
+
+    /**
+     * Picks a random subject word.
+     * @return the word
+     */
+    private String word() {
+        return SUBJECT_WORDS[random.nextInt(SUBJECT_WORDS.length)];
+    }
+
+    /**
+     * Picks a random owner.
+     * @return the owner id
+     */
+    private String owner() {
+        return "owner" + random.nextInt(owners);
+    }
+
+}
@@ -0,0 +1,138 @@
+package edu.ncsu.csc216.ticket_manager.model.command;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CancellationCode;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.FeedbackCode;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.ResolutionCode;
+
+/**
+ * Testing suite for the Command class and its Builder.
+ * @author brandonortiz
+ */
+class CommandTest {
+
+    /** Expected feedback code strings, by ordinal. */
+    private static final String[] FEEDBACK = { "Awaiting Caller", "Awaiting Change", "Awaiting Provider" };
+
+    /** Expected resolution code strings, by ordinal. */
+    private static final String[] RESOLUTION = { "Completed", "Not Completed", "Solved", "Workaround",
+        "Not Solved", "Caller Closed" };
+
+    /** Expected cancellation code strings, by ordinal. */
+    private static final String[] CANCELLATION = { "Duplicate", "Inapropriate" };
+
+    /**
+     * Returns the values of an enum preceded by null.
+     * @param <E> the enum type
+     * @param values the enum's values
+     * @return null followed by the values
+     */
+    private static <E extends Enum<E>> Object[] withNull(E[] values) {
+        Object[] all = new Object[values.length + 1];
+        System.arraycopy(values, 0, all, 1, values.length);
+        return all;
+    }
+
+    /**
+     * Returns the code string a Command should report: the cancellation code wins, then
+     * the resolution code, then the feedback code.
+     * @param f the feedback code, may be null
+     * @param r the resolution code, may be null
+     * @param c the cancellation code, may be null
+     * @return the expected code string, or null
+     */
+    private static String expectedCode(FeedbackCode f, ResolutionCode r, CancellationCode c) {
+        if (c != null) { return CANCELLATION[c.ordinal()]; }
+        if (r != null) { return RESOLUTION[r.ordinal()]; }
+        if (f != null) { return FEEDBACK[f.ordinal()]; }
+        return null;
+    }
+
+    /**
+     * Tests the getters of Commands built by the constructor and by the builder for every
+     * combination of command value and codes, including nulls.
+     */
+    @Test
+    void testEveryCombination() {
+        int combinations = 0;
+        for (Object v : withNull(CommandValue.values())) {
+            for (Object f : withNull(FeedbackCode.values())) {
+                for (Object r : withNull(ResolutionCode.values())) {
+                    for (Object c : withNull(CancellationCode.values())) {
+                        CommandValue cv = (CommandValue) v;
+                        FeedbackCode fc = (FeedbackCode) f;
+                        ResolutionCode rc = (ResolutionCode) r;
+                        CancellationCode cc = (CancellationCode) c;
+                        Command built = Command.builder().command(cv).ownerId("jason").feedbackCode(fc)
+                                .resolutionCode(rc).cancellationCode(cc).note("note").build();
+                        for (Command cmd : new Command[] { new Command(cv, "jason", fc, rc, cc, "note"), built }) {
+                            assertSame(cv, cmd.getCommand());
+                            assertSame(fc, cmd.getFeedbackCode());
+                            assertSame(rc, cmd.getResolutionCode());
+                            assertSame(cc, cmd.getCancellationCode());
+                            assertEquals(expectedCode(fc, rc, cc), cmd.getCodeString());
+                            assertEquals("jason", cmd.getOwnerId());
+                            assertEquals("note", cmd.getNote());
+                        }
+                        combinations++;
+                    }
+                }
+            }
+        }
+        assertEquals(7 * 4 * 7 * 3, combinations);
+    }
+
+    /**
+     * Tests that builder() returns the thread's builder cleared of earlier values, and that
+     * build() leaves the values in place for the next Command.
+     */
+    @Test
+    void testBuilderReset() {
+        Command.Builder b = Command.builder().command(CommandValue.RESOLVE).ownerId("jason")
+                .resolutionCode(ResolutionCode.SOLVED).note("first");
+        Command first = b.build();
+        Command second = b.note("second").build();
+        assertEquals(CommandValue.RESOLVE, second.getCommand());
+        assertEquals("Solved", second.getCodeString());
+        assertEquals("first", first.getNote());
+        assertEquals("second", second.getNote());
+
+        Command.Builder again = Command.builder();
+        assertSame(b, again);
+        Command cancel = again.command(CommandValue.CANCEL).ownerId("amy")
+                .cancellationCode(CancellationCode.DUPLICATE).note("note").build();
+        assertNull(cancel.getResolutionCode());
+        assertEquals("Duplicate", cancel.getCodeString());
+
+        // Nothing carries over, so the missing owner and note are rejected
+        assertThrows(IllegalArgumentException.class, () -> Command.builder().build());
+        Command fresh = new Command.Builder().ownerId("amy").note("note").build();
+        assertNull(fresh.getCommand());
+        assertNull(fresh.getCodeString());
+    }
+
+    /**
+     * Tests that the constructor and build() reject a null owner and a null or empty note.
+     */
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new Command(CommandValue.PROCESS, null, null, null, null, "note"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new Command(CommandValue.PROCESS, "jason", null, null, null, ""));
+        assertThrows(IllegalArgumentException.class,
+            () -> new Command(CommandValue.PROCESS, "jason", null, null, null, null));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> Command.builder().command(CommandValue.PROCESS).note("note").build());
+        assertThrows(IllegalArgumentException.class,
+            () -> Command.builder().command(CommandValue.PROCESS).ownerId("jason").note("").build());
+        assertThrows(IllegalArgumentException.class,
+            () -> Command.builder().command(CommandValue.PROCESS).ownerId("jason").build());
+    }
+
+}
@@ -0,0 +1,147 @@
+package edu.ncsu.csc216.ticket_manager.model.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.engine.AdmissionController.Decision;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+
+/**
+ * Testing suite for the AdmissionController and TokenBucket classes.
+ * @author brandonortiz
+ */
+class AdmissionControllerTest {
+
+    /** One second in nanoseconds. */
+    private static final long SECOND = 1_000_000_000L;
+
+    /** Current time of the test clock, in nanoseconds. */
+    private long now;
+
+    /**
+     * Creates a controller on the test clock.
+     * @param rate the permits per second of every priority
+     * @param callerRate the permits per second of each caller
+     * @param capacity the queue capacity
+     * @return the controller
+     */
+    private AdmissionController controller(int rate, int callerRate, int capacity) {
+        return new AdmissionController(new int[] { rate, rate, rate, rate }, callerRate, capacity, () -> now);
+    }
+
+    /**
+     * Tests burst, refill, and refund of a token bucket.
+     */
+    @Test
+    void testTokenBucket() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        assertTrue(bucket.isFull(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+        assertFalse(bucket.isFull(0));
+
+        bucket.refund();
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(SECOND / 20));
+        assertTrue(bucket.tryAcquire(SECOND / 10));
+        assertTrue(bucket.isFull(SECOND));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+    }
+
+    /**
+     * Tests that URGENT is always admitted, that LOW is rejected and HIGH queued once a
+     * caller is over its limit, and that other callers are unaffected.
+     */
+    @Test
+    void testAdmission() {
+        AdmissionController c = controller(100, 1, 1);
+        List<String> ran = new ArrayList<String>();
+        assertEquals(Decision.ADMITTED, c.submit(Priority.LOW, "amy", () -> ran.add("a")));
+        assertEquals(Decision.REJECTED, c.submit(Priority.LOW, "amy", () -> ran.add("b")));
+        assertEquals(Decision.QUEUED, c.submit(Priority.HIGH, "amy", () -> ran.add("c")));
+        assertEquals(Decision.REJECTED, c.submit(Priority.MEDIUM, "amy", () -> ran.add("d")));
+        assertEquals(Decision.ADMITTED, c.submit(Priority.URGENT, "amy", () -> ran.add("e")));
+        assertEquals(Decision.ADMITTED, c.submit(Priority.LOW, "bob", () -> ran.add("f")));
+
+        assertEquals(List.of("a", "e", "f"), ran);
+        assertEquals(1, c.getQueueLength());
+        assertEquals(0, c.drain());
+
+        now += SECOND;
+        assertEquals(1, c.drain());
+        assertEquals(List.of("a", "e", "f", "c"), ran);
+        assertEquals(0, c.getQueueLength());
+        assertEquals(1, c.getAdmittedCount(Priority.HIGH));
+        assertEquals(1, c.getQueuedCount(Priority.HIGH));
+        assertEquals(1, c.getRejectedCount(Priority.MEDIUM));
+        assertThrows(IllegalArgumentException.class, () -> c.submit(null, "amy", () -> { }));
+    }
+
+    /**
+     * Tests that queued work that throws is counted and does not stop the drain.
+     */
+    @Test
+    void testDrainContinuesAfterFailure() {
+        AdmissionController c = controller(100, 1, 10);
+        List<String> ran = new ArrayList<String>();
+        c.submit(Priority.LOW, "amy", () -> { });
+        c.submit(Priority.LOW, "bob", () -> { });
+        assertEquals(Decision.QUEUED, c.submit(Priority.HIGH, "amy", () -> {
+            throw new IllegalStateException("work");
+        }));
+        assertEquals(Decision.QUEUED, c.submit(Priority.HIGH, "bob", () -> ran.add("bob")));
+
+        now += SECOND;
+        assertEquals(2, c.drain());
+        assertEquals(List.of("bob"), ran);
+        assertEquals(1, c.getFailedCount(Priority.HIGH));
+        assertEquals(0, c.getQueueLength());
+    }
+
+    /**
+     * Tests that a ticket without a valid priority is refused up front.
+     */
+    @Test
+    void testSubmitUpdateChecksPriority() {
+        AdmissionController c = controller(100, 100, 10);
+        Ticket t = new Ticket(Ticket.TicketType.REQUEST, "subject", "amy", Ticket.Category.NETWORK,
+                Priority.HIGH, "note");
+        Command process = new Command(CommandValue.PROCESS, "jason", null, null, null, "note");
+        assertEquals(Decision.ADMITTED, c.submitUpdate(t, process));
+        assertEquals(1, t.getVersion());
+        assertThrows(IllegalArgumentException.class, () -> c.submitUpdate(t, null));
+
+        // The IO constructor leaves an unrecognized priority unset
+        Ticket unknown = new Ticket(t.getTicketId() + 1, Ticket.NEW_NAME, "Request", "subject", "amy", "Network",
+                "Someday", null, null, new ArrayList<String>(List.of("-note")));
+        assertNull(unknown.getPriority());
+        assertThrows(IllegalArgumentException.class, () -> c.submitUpdate(unknown, process));
+    }
+
+    /**
+     * Tests that buckets of idle callers are discarded once the map grows past the sweep
+     * threshold.
+     */
+    @Test
+    void testCallerBucketsAreSwept() {
+        AdmissionController c = controller(1_000_000, 1, 0);
+        for (int i = 0; i < AdmissionController.SWEEP_THRESHOLD; i++) {
+            c.submit(Priority.LOW, "caller" + i, () -> { });
+        }
+        assertEquals(AdmissionController.SWEEP_THRESHOLD, c.getCallerBucketCount());
+
+        now += SECOND;
+        assertEquals(Decision.ADMITTED, c.submit(Priority.LOW, "late", () -> { }));
+        assertEquals(1, c.getCallerBucketCount());
+    }
+
+}
@@ -0,0 +1,106 @@
+package edu.ncsu.csc216.ticket_manager.model.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+
+/**
+ * Testing suite for the ShardedTicketEngine class.
+ * @author brandonortiz
+ */
+class ShardedTicketEngineTest {
+
+    /**
+     * Tests adding, querying, updating, and removing tickets across shards.
+     * @throws Exception if a future fails unexpectedly
+     */
+    @Test
+    void testRoundTrip() throws Exception {
+        ShardedTicketEngine engine = new ShardedTicketEngine(3, 4);
+        Ticket a = new Ticket(TicketType.REQUEST, "first", "brandon", Category.NETWORK, Priority.LOW, "note");
+        Ticket b = new Ticket(TicketType.INCIDENT, "second", "brandon", Category.DATABASE, Priority.HIGH, "note");
+        assertSame(a, engine.addTicket(a).get(5, TimeUnit.SECONDS));
+        engine.addTicket(b).get(5, TimeUnit.SECONDS);
+
+        assertEquals("second", engine.query(b.getTicketId(), Ticket::getSubject).get(5, TimeUnit.SECONDS));
+        assertNull(engine.query(-1, Ticket::getSubject).get(5, TimeUnit.SECONDS));
+        Command process = new Command(CommandValue.PROCESS, "owner", null, null, null, "note");
+        assertEquals(Ticket.NEW_NAME, engine.execute(a.getTicketId(), process).get(5, TimeUnit.SECONDS));
+
+        ExecutionException missing = assertThrows(ExecutionException.class,
+                () -> engine.execute(-1, process).get(5, TimeUnit.SECONDS));
+        assertTrue(missing.getCause() instanceof IllegalArgumentException);
+
+        assertSame(a, engine.removeTicket(a.getTicketId()).get(5, TimeUnit.SECONDS));
+        assertNull(engine.removeTicket(a.getTicketId()).get(5, TimeUnit.SECONDS));
+        engine.shutdown();
+        engine.awaitTermination();
+    }
+
+    /**
+     * Tests that an Error thrown by a task fails its future and the shard keeps running.
+     * @throws Exception if a future fails unexpectedly
+     */
+    @Test
+    void testErrorCompletesFuture() throws Exception {
+        ShardedTicketEngine engine = new ShardedTicketEngine(1, 4);
+        Ticket a = new Ticket(TicketType.REQUEST, "first", "brandon", Category.NETWORK, Priority.LOW, "note");
+        engine.addTicket(a).get(5, TimeUnit.SECONDS);
+        CompletableFuture<String> failed = engine.query(a.getTicketId(), t -> {
+            throw new AssertionError("boom");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof AssertionError);
+        assertEquals("first", engine.query(a.getTicketId(), Ticket::getSubject).get(5, TimeUnit.SECONDS));
+        engine.shutdown();
+        engine.awaitTermination();
+    }
+
+    /**
+     * Tests that shutdown does not wait on a full mailbox, queued work still runs, and
+     * later work is rejected.
+     * @throws Exception if a future fails unexpectedly
+     */
+    @Test
+    void testShutdownWithFullMailbox() throws Exception {
+        ShardedTicketEngine engine = new ShardedTicketEngine(1, 1);
+        Ticket a = new Ticket(TicketType.REQUEST, "first", "brandon", Category.NETWORK, Priority.LOW, "note");
+        engine.addTicket(a).get(5, TimeUnit.SECONDS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocker = engine.query(a.getTicketId(), t -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = engine.query(a.getTicketId(), t -> "ran");
+
+        engine.shutdown();
+        CompletableFuture<String> late = engine.query(a.getTicketId(), t -> "late");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> late.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+
+        release.countDown();
+        assertTrue(blocker.get(5, TimeUnit.SECONDS));
+        assertEquals("ran", queued.get(5, TimeUnit.SECONDS));
+        engine.awaitTermination();
+    }
+
+}
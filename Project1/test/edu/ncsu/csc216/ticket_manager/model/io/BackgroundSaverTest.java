@@ -0,0 +1,107 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the BackgroundSaver class.
+ * @author brandonortiz
+ */
+class BackgroundSaverTest {
+
+    /** Temporary directory for the test files. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @return the ticket
+     */
+    private static Ticket ticket(int id) {
+        return new Ticket(id, Ticket.WORKING_NAME, "Request", "subject " + id, "amy", "Network", "Low",
+                "jsmith", null, new ArrayList<String>(Arrays.asList("-note")));
+    }
+
+    /**
+     * Tests that requests made while a write is running are merged into one follow-up
+     * write of the latest tickets.
+     * @throws Exception if the test is interrupted or the file cannot be closed
+     */
+    @Test
+    void testMergesRequests() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        String name = dir.resolve("tickets.dat").toString();
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name) {
+            @Override
+            public synchronized int save(Collection<Ticket> tickets) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.save(tickets);
+            }
+        }) {
+            BackgroundSaver saver = new BackgroundSaver(file);
+            CompletableFuture<Integer> first = saver.requestSave(Arrays.asList(ticket(1)));
+            entered.await();
+            CompletableFuture<Integer> second = saver.requestSave(Arrays.asList(ticket(1), ticket(2)));
+            CompletableFuture<Integer> third = saver.requestSave(() -> Arrays.asList(ticket(1), ticket(2), ticket(3)));
+            assertSame(second, third);
+            release.countDown();
+
+            assertEquals(1, first.join());
+            assertEquals(3, third.join());
+            saver.close();
+            assertEquals(3, saver.getRequestCount());
+            assertEquals(2, saver.getWriteCount());
+            assertEquals(3, file.load().size());
+            assertThrows(IllegalStateException.class, () -> saver.requestSave(new ArrayList<Ticket>()));
+        }
+    }
+
+    /**
+     * Tests that a failing source or write fails its future and the saver keeps going, and
+     * that an Error fails the future and closes the saver.
+     * @throws IOException if the file cannot be closed
+     */
+    @Test
+    void testFailures() throws IOException {
+        String name = dir.resolve("tickets.dat").toString();
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            BackgroundSaver saver = new BackgroundSaver(file);
+            CompletableFuture<Integer> failed = saver.requestSave(() -> {
+                throw new IllegalStateException("source");
+            });
+            assertThrows(CompletionException.class, failed::join);
+            assertEquals(1, saver.requestSave(Arrays.asList(ticket(1))).join());
+
+            CompletableFuture<Integer> fatal = saver.requestSave(() -> {
+                throw new StackOverflowError();
+            });
+            CompletionException e = assertThrows(CompletionException.class, fatal::join);
+            assertTrue(e.getCause() instanceof StackOverflowError);
+            saver.close();
+            List<Ticket> none = new ArrayList<Ticket>();
+            assertThrows(IllegalStateException.class, () -> saver.requestSave(none));
+        }
+    }
+
+}
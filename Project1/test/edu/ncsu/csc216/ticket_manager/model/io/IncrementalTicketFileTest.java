@@ -0,0 +1,209 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the IncrementalTicketFile class.
+ * @author brandonortiz
+ */
+class IncrementalTicketFileTest {
+
+    /** Temporary directory for the test files. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @param note the single note line
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String note) {
+        return new Ticket(id, Ticket.WORKING_NAME, "Request", "subject " + id, "amy", "Network", "Low",
+                "jsmith", null, new ArrayList<String>(Arrays.asList(note)));
+    }
+
+    /**
+     * Tests that only dirty tickets are written and that a record that still fits is
+     * patched into its slot, while one that grows leaves a dead slot behind.
+     * @throws IOException if the file cannot be closed
+     */
+    @Test
+    void testSlotReuse() throws IOException {
+        String name = dir.resolve("tickets.dat").toString();
+        Ticket a = ticket(1, "-short");
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            assertEquals(1, file.save(Arrays.asList(a)));
+            assertFalse(a.isDirty());
+            assertEquals(0, file.save(Arrays.asList(a)));
+
+            a.update(new Command(CommandValue.PROCESS, "jsmith", null, null, null, "note"));
+            assertTrue(a.isDirty());
+            assertEquals(1, file.save(Arrays.asList(a)));
+            assertEquals(0, file.getDeadBytes());
+
+            assertEquals(1, file.save(Arrays.asList(ticket(1, "-tiny"))));
+            assertEquals(0, file.getDeadBytes());
+
+            Ticket grown = ticket(1, "-" + "x".repeat(200));
+            assertEquals(1, file.save(Arrays.asList(grown)));
+            assertTrue(file.getDeadBytes() > 0);
+            assertEquals(1, file.size());
+            assertEquals(grown.getNotes(), file.load().get(0).getNotes());
+        }
+    }
+
+    /**
+     * Tests that compaction drops dead slots and keeps every live ticket.
+     * @throws IOException if the file cannot be closed
+     */
+    @Test
+    void testCompaction() throws IOException {
+        String name = dir.resolve("tickets.dat").toString();
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            file.save(Arrays.asList(ticket(1, "-one"), ticket(2, "-two"), ticket(3, "-three")));
+            file.save(Arrays.asList(ticket(2, "-" + "y".repeat(300))));
+            assertTrue(file.delete(3));
+            assertFalse(file.delete(3));
+            long before = Files.size(Path.of(name));
+
+            file.compactAsync().join();
+            assertEquals(0, file.getDeadBytes());
+            assertTrue(Files.size(Path.of(name)) < before);
+            assertEquals(2, file.size());
+        }
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            List<Ticket> loaded = file.load();
+            assertEquals(2, loaded.size());
+            assertEquals("-one\n", loaded.get(0).getNotes());
+            assertEquals("-" + "y".repeat(300) + "\n", loaded.get(1).getNotes());
+        }
+    }
+
+    /**
+     * Tests that a save that fails leaves its tickets dirty, so a later save writes them
+     * and a reload sees them.
+     * @throws IOException if the file cannot be closed
+     */
+    @Test
+    void testReloadAfterFailedSave() throws IOException {
+        String name = dir.resolve("tickets.dat").toString();
+        Ticket a = ticket(1, "-one");
+        Ticket b = ticket(2, "-two");
+        IncrementalTicketFile file = new IncrementalTicketFile(name);
+        file.save(Arrays.asList(a));
+        file.close();
+
+        a.update(new Command(CommandValue.PROCESS, "jsmith", null, null, null, "note"));
+        assertThrows(IllegalArgumentException.class, () -> file.save(Arrays.asList(a, b)));
+        assertTrue(a.isDirty());
+        assertTrue(b.isDirty());
+
+        try (IncrementalTicketFile reopened = new IncrementalTicketFile(name)) {
+            assertEquals(1, reopened.load().size());
+            assertEquals(2, reopened.save(Arrays.asList(a, b)));
+        }
+        try (IncrementalTicketFile reopened = new IncrementalTicketFile(name)) {
+            List<Ticket> loaded = reopened.load();
+            assertEquals(2, loaded.size());
+            assertEquals("-two\n", loaded.get(1).getNotes());
+        }
+    }
+
+    /**
+     * Writes one byte of a file in place.
+     * @param name the file name
+     * @param pos the byte offset
+     * @param value the byte to write
+     * @throws IOException if the file cannot be written
+     */
+    private static void poke(String name, long pos, int value) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(name, "rw")) {
+            raf.seek(pos);
+            raf.write(value);
+        }
+    }
+
+    /**
+     * Saves ticket 1 with a short note and then with one that no longer fits its slot.
+     * @param name the file name
+     * @return the offset of the second slot
+     * @throws IOException if the file cannot be closed
+     */
+    private static long saveAndGrow(String name) throws IOException {
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            file.save(Arrays.asList(ticket(1, "-short")));
+            long grownAt = Files.size(Path.of(name));
+            file.save(Arrays.asList(ticket(1, "-" + "x".repeat(200))));
+            return grownAt;
+        }
+    }
+
+    /**
+     * Tests recovery from a save interrupted after the new slot was appended: the later
+     * copy wins over an old slot that was never marked dead, and a partial slot at the end
+     * of the file is cut off.
+     * @throws IOException if the file cannot be read or written
+     */
+    @Test
+    void testInterruptedAppend() throws IOException {
+        String name = dir.resolve("tickets.dat").toString();
+        long grownAt = saveAndGrow(name);
+        // Revive the first slot, as if the save stopped before killing it
+        poke(name, 16, 1);
+        long length = Files.size(Path.of(name));
+        Files.write(Path.of(name), new byte[] { 0, 0, 1, 0, 0, 0 }, StandardOpenOption.APPEND);
+
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            assertEquals(1, file.size());
+            assertEquals(grownAt, file.getDeadBytes());
+            assertEquals(length, Files.size(Path.of(name)));
+            List<Ticket> loaded = file.load();
+            assertEquals(1, loaded.size());
+            assertEquals("-" + "x".repeat(200) + "\n", loaded.get(0).getNotes());
+            assertEquals(1, file.save(Arrays.asList(ticket(2, "-two"))));
+        }
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            assertEquals(2, file.load().size());
+        }
+    }
+
+    /**
+     * Tests that an appended slot that fails its checksum is dropped in favour of the
+     * earlier copy, while a torn patch with no other copy is reported as corrupt.
+     * @throws IOException if the file cannot be read or written
+     */
+    @Test
+    void testChecksums() throws IOException {
+        String name = dir.resolve("tickets.dat").toString();
+        long grownAt = saveAndGrow(name);
+        poke(name, 16, 1);
+        poke(name, grownAt + 17 + 5, '?');
+        try (IncrementalTicketFile file = new IncrementalTicketFile(name)) {
+            List<Ticket> loaded = file.load();
+            assertEquals(1, loaded.size());
+            assertEquals("-short\n", loaded.get(0).getNotes());
+        }
+
+        // The surviving slot's record is now damaged as a torn patch would leave it
+        poke(name, 17 + 5, '?');
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalTicketFile(name));
+    }
+
+}
@@ -0,0 +1,169 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.io.TicketExporter.Format;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the TicketExporter class.
+ * @author brandonortiz
+ */
+class TicketExporterTest {
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @param subject the subject
+     * @param notes the note lines
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String subject, String... notes) {
+        return new Ticket(id, Ticket.WORKING_NAME, "Request", subject, "amy", "Network", "Low", "jsmith", null,
+                new ArrayList<String>(Arrays.asList(notes)));
+    }
+
+    /**
+     * Exports tickets to a String through a channel.
+     * @param tickets the tickets
+     * @param format the export format
+     * @return the export text
+     * @throws IOException if the export fails
+     */
+    private static String export(List<Ticket> tickets, Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(tickets.size(), TicketExporter.export(tickets, format, Channels.newChannel(out)));
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Subscriber that records chunks and requests only when told to.
+     */
+    private static class Recorder implements Flow.Subscriber<ByteBuffer> {
+
+        /** The subscription. */
+        Flow.Subscription subscription;
+
+        /** Bytes received. */
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        /** Number of chunks received. */
+        int chunks;
+
+        /** True once complete. */
+        boolean complete;
+
+        /** The failure, or null. */
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            chunks++;
+            bytes.write(item.array(), item.position(), item.remaining());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+    }
+
+    /**
+     * Tests CSV quoting and JSON escaping of commas, quotes, backslashes, line breaks and
+     * control characters.
+     * @throws IOException if the export fails
+     */
+    @Test
+    void testEscaping() throws IOException {
+        List<Ticket> tickets = Arrays.asList(ticket(1, "a, \"b\" \\ c\td\u0001", "-one", "-two"));
+        String csv = export(tickets, Format.CSV);
+        assertEquals("id,state,type,subject,caller,category,priority,owner,code,notes\r\n"
+                + "1,Working,Request,\"a, \"\"b\"\" \\ c\td\u0001\",amy,Network,Low,jsmith,,\"-one\n-two\n\"\r\n", csv);
+
+        String json = export(tickets, Format.JSON_LINES);
+        assertEquals("{\"id\":1,\"state\":\"Working\",\"type\":\"Request\",\"subject\":\"a, \\\"b\\\" \\\\ c\\td\\u0001\","
+                + "\"caller\":\"amy\",\"category\":\"Network\",\"priority\":\"Low\",\"owner\":\"jsmith\","
+                + "\"code\":null,\"notes\":\"-one\\n-two\\n\"}\n", json);
+    }
+
+    /**
+     * Tests that records spanning many small chunks, including multi-byte characters, are
+     * published intact and match the channel export.
+     * @throws IOException if the export fails
+     */
+    @Test
+    void testRecordSpansChunks() throws IOException {
+        List<Ticket> tickets = Arrays.asList(ticket(1, "café € 𝄞", "-note"),
+                ticket(2, "second", "-𝄞𝄞"));
+        Recorder r = new Recorder();
+        TicketExporter.publisher(tickets, Format.JSON_LINES, TicketExporter.MIN_CHUNK_SIZE).subscribe(r);
+        r.subscription.request(Long.MAX_VALUE);
+        assertTrue(r.complete);
+        assertNull(r.error);
+        assertTrue(r.chunks > 50);
+        assertEquals(export(tickets, Format.JSON_LINES), new String(r.bytes.toByteArray(), StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> TicketExporter.publisher(tickets, Format.CSV, TicketExporter.MIN_CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Tests that a chunk is only produced per unit of demand.
+     */
+    @Test
+    void testBackpressure() {
+        List<Ticket> tickets = Arrays.asList(ticket(1, "first", "-note"), ticket(2, "second", "-note"));
+        Recorder r = new Recorder();
+        TicketExporter.publisher(tickets, Format.CSV, 16).subscribe(r);
+        assertEquals(0, r.chunks);
+        r.subscription.request(1);
+        assertEquals(1, r.chunks);
+        r.subscription.request(2);
+        assertEquals(3, r.chunks);
+        assertFalse(r.complete);
+
+        r.subscription.cancel();
+        r.subscription.request(1);
+        assertEquals(3, r.chunks);
+        assertFalse(r.complete);
+    }
+
+    /**
+     * Tests that a lone surrogate fails the export instead of truncating the record.
+     */
+    @Test
+    void testMalformedText() {
+        List<Ticket> tickets = Arrays.asList(ticket(1, "bad \ud800 text", "-note"));
+        assertThrows(CharacterCodingException.class, () -> export(tickets, Format.CSV));
+
+        Recorder r = new Recorder();
+        TicketExporter.publisher(tickets, Format.JSON_LINES, 1024).subscribe(r);
+        r.subscription.request(Long.MAX_VALUE);
+        assertFalse(r.complete);
+        assertTrue(r.error instanceof CharacterCodingException);
+    }
+
+}
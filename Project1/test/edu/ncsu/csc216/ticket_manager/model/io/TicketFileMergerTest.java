@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.io.TicketFileMerger.IdPolicy;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the TicketFileMerger class.
+ * @author brandonortiz
+ */
+class TicketFileMergerTest {
+
+    /** Temporary directory for the test files. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Writes the two site files used by the tests.
+     * @return the file names
+     * @throws IOException if a file cannot be written
+     */
+    private List<String> sites() throws IOException {
+        Path a = dir.resolve("a.txt");
+        Path b = dir.resolve("b.txt");
+        Files.write(a, ("*1#New#Request#first#amy#Network#Low##\n-n1\n"
+                + "*3#New#Request#third#amy#Network#Low##\n-n3\n-more\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(b, ("*1#Working#Incident#collides#bob#Network#High#jsmith#\n-b1\n"
+                + "*2#New#Request#second#bob#Network#Low##\n-b2\n").getBytes(StandardCharsets.UTF_8));
+        return Arrays.asList(a.toString(), b.toString());
+    }
+
+    /**
+     * Tests that only the colliding record is renumbered, after the highest id.
+     * @throws IOException if a file cannot be read or written
+     */
+    @Test
+    void testKeepUnlessTaken() throws IOException {
+        List<String> in = sites();
+        String out = dir.resolve("out.txt").toString();
+        String map = dir.resolve("map.csv").toString();
+        assertEquals(4, TicketFileMerger.merge(in, out, map, IdPolicy.KEEP_UNLESS_TAKEN));
+
+        List<Ticket> merged = TicketReader.readTicketFile(out);
+        assertEquals("first", merged.get(0).getSubject());
+        assertEquals("second", merged.get(1).getSubject());
+        assertEquals("third", merged.get(2).getSubject());
+        assertEquals("-n3\n-more\n", merged.get(2).getNotes());
+        assertEquals(4, merged.get(3).getTicketId());
+        assertEquals("collides", merged.get(3).getSubject());
+        assertEquals(Arrays.asList(in.get(1) + ",1,4"), Files.readAllLines(Path.of(map)));
+    }
+
+    /**
+     * Tests renumbering every record in merge order.
+     * @throws IOException if a file cannot be read or written
+     */
+    @Test
+    void testRenumberAll() throws IOException {
+        List<String> in = sites();
+        String out = dir.resolve("out.txt").toString();
+        String map = dir.resolve("map.csv").toString();
+        assertEquals(4, TicketFileMerger.merge(in, out, map, IdPolicy.RENUMBER_ALL));
+        List<Ticket> merged = TicketReader.readTicketFile(out);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 1, merged.get(i).getTicketId());
+        }
+        assertEquals("collides", merged.get(1).getSubject());
+        assertEquals(3, Files.readAllLines(Path.of(map)).size());
+    }
+
+    /**
+     * Tests that an unsorted input is rejected.
+     * @throws IOException if a file cannot be written
+     */
+    @Test
+    void testUnsorted() throws IOException {
+        Path bad = dir.resolve("bad.txt");
+        Files.write(bad, "*2#New#Request#s#c#Network#Low##\n-n\n*1#New#Request#s#c#Network#Low##\n-n\n"
+                .getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> TicketFileMerger.merge(Arrays.asList(bad.toString()),
+                dir.resolve("o").toString(), dir.resolve("m").toString(), IdPolicy.KEEP_UNLESS_TAKEN));
+    }
+
+}
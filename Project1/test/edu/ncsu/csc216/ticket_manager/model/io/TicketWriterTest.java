@@ -0,0 +1,104 @@
+package edu.ncsu.csc216.ticket_manager.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.NoteCompressor;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the TicketWriter and TicketReader classes.
+ * @author brandonortiz
+ */
+class TicketWriterTest {
+
+    /** Temporary directory for the test files. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @param state the state name
+     * @param notes the note lines
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String state, String... notes) {
+        return new Ticket(id, state, "Request", "subject " + id, "amy", "Network", "Low", "jsmith", null,
+                new ArrayList<String>(Arrays.asList(notes)));
+    }
+
+    /**
+     * Tests that a plain file round trips and has no compressed notes.
+     * @throws IOException if the file cannot be read
+     */
+    @Test
+    void testPlainRoundTrip() throws IOException {
+        String file = dir.resolve("plain.txt").toString();
+        List<Ticket> tickets = Arrays.asList(ticket(1, Ticket.WORKING_NAME, "-first", "-second\nline"),
+                ticket(2, Ticket.CLOSED_NAME, "-done"));
+        TicketWriter.writeTicketFile(file, tickets);
+        String text = new String(Files.readAllBytes(Path.of(file)), StandardCharsets.UTF_8);
+        assertFalse(text.contains(NoteCompressor.ENCODED_PREFIX));
+        assertTrue(text.contains("-done\n"));
+
+        List<Ticket> read = TicketReader.readTicketFile(file);
+        assertEquals(2, read.size());
+        assertEquals(tickets.get(0).getNotes(), read.get(0).getNotes());
+        assertEquals(tickets.get(1).getNotes(), read.get(1).getNotes());
+    }
+
+    /**
+     * Tests that terminal tickets' notes are written compressed with the trained
+     * dictionaries, and that the file reads back, including with a fresh codec.
+     * @throws IOException if the file cannot be read
+     */
+    @Test
+    void testCompressedRoundTrip() throws IOException {
+        NoteCompressor.getShared().train(Arrays.asList("replaced the fuser assembly on the lobby printer",
+                "replaced the fuser assembly on the third floor printer"));
+        String file = dir.resolve("packed.txt").toString();
+        List<Ticket> tickets = Arrays.asList(ticket(1, Ticket.WORKING_NAME, "-open"),
+                ticket(2, Ticket.CLOSED_NAME, "-replaced the fuser assembly", "-caller confirmed\nfixed"),
+                ticket(3, Ticket.CANCELED_NAME, "-duplicate of 2"));
+        TicketWriter.writeTicketFile(file, tickets, true);
+
+        List<String> lines = Files.readAllLines(Path.of(file), StandardCharsets.UTF_8);
+        assertTrue(lines.get(0).startsWith(TicketReader.DICTIONARY_PREFIX));
+        assertTrue(lines.contains("-open"));
+        String encoded = null;
+        for (String line : lines) {
+            if (NoteCompressor.isEncoded(line)) { encoded = line; }
+        }
+        assertNotNull(encoded);
+        assertFalse(lines.contains("-duplicate of 2"));
+
+        List<Ticket> read = TicketReader.readTicketFile(file);
+        assertEquals(3, read.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(tickets.get(i).getNotes(), read.get(i).getNotes());
+            assertEquals(tickets.get(i).toString(), read.get(i).toString());
+        }
+
+        // A new process knows only the built-in dictionary until it reads the file's
+        NoteCompressor fresh = new NoteCompressor();
+        for (String line : lines) {
+            if (line.startsWith(TicketReader.DICTIONARY_PREFIX)) {
+                fresh.addDictionary(Base64.getDecoder().decode(line.substring(TicketReader.DICTIONARY_PREFIX.length())));
+            }
+        }
+        assertEquals(tickets.get(2).getNotes(), fresh.decode(encoded));
+    }
+
+}
@@ -0,0 +1,106 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.manager.BulkTransition.Failure;
+import edu.ncsu.csc216.ticket_manager.model.manager.BulkTransition.Summary;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the BulkTransition class.
+ * @author brandonortiz
+ */
+class BulkTransitionTest {
+
+    /** Command applied by the tests. */
+    private static final Command PROCESS = new Command(CommandValue.PROCESS, "jason", null, null, null, "bulk");
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @return the ticket
+     */
+    private static Ticket ticket(int id) {
+        return new Ticket(id, Ticket.NEW_NAME, "Request", "subject " + id, "amy", "Network", "Low", null, null,
+                new ArrayList<String>(Arrays.asList("-note")));
+    }
+
+    /**
+     * Ticket whose FSM rejects every Command.
+     */
+    private static class RejectingTicket extends Ticket {
+
+        /**
+         * Creates the ticket.
+         * @param id the ticket id
+         */
+        RejectingTicket(int id) {
+            super(id, Ticket.NEW_NAME, "Request", "subject", "amy", "Network", "Low", null, null,
+                    new ArrayList<String>(Arrays.asList("-note")));
+        }
+
+        @Override
+        public void updateState(Command command) {
+            throw new UnsupportedOperationException("Invalid command.");
+        }
+    }
+
+    /**
+     * Tests that only matching tickets are updated, across several forked slices.
+     */
+    @Test
+    void testAppliesToMatches() {
+        List<Ticket> tickets = new ArrayList<Ticket>();
+        for (int id = 1; id <= BulkTransition.THRESHOLD * 4; id++) { tickets.add(ticket(id)); }
+        Summary s = BulkTransition.apply(tickets, t -> t.getTicketId() % 2 == 0, PROCESS);
+        assertEquals(BulkTransition.THRESHOLD * 2, s.getSelected());
+        assertEquals(BulkTransition.THRESHOLD * 2, s.getSucceeded());
+        assertTrue(s.getFailures().isEmpty());
+        assertTrue(s.getFilterErrors().isEmpty());
+        for (Ticket t : tickets) {
+            assertEquals(t.getTicketId() % 2 == 0 ? 1 : 0, t.getVersion());
+        }
+        assertThrows(IllegalArgumentException.class, () -> BulkTransition.apply(tickets, null, PROCESS));
+    }
+
+    /**
+     * Tests that a throwing predicate and FSM rejections are recorded per ticket, including
+     * a ticket listed twice, without stopping the run.
+     */
+    @Test
+    void testFailuresDoNotStopRun() {
+        List<Ticket> tickets = new ArrayList<Ticket>();
+        for (int id = 1; id <= BulkTransition.THRESHOLD * 2; id++) { tickets.add(ticket(id)); }
+        Ticket rejecting = new RejectingTicket(BulkTransition.THRESHOLD * 2 + 1);
+        tickets.add(1, rejecting);
+        tickets.add(rejecting);
+
+        Summary s = BulkTransition.apply(tickets, t -> {
+            if (t.getTicketId() % 10 == 0) { throw new IllegalStateException("filter"); }
+            return true;
+        }, PROCESS);
+
+        int filtered = BulkTransition.THRESHOLD * 2 / 10;
+        assertEquals(filtered, s.getFilterErrors().size());
+        assertEquals(10, s.getFilterErrors().get(0).getTicketId());
+        assertTrue(s.getFilterErrors().get(0).getCause() instanceof IllegalStateException);
+
+        List<Failure> failures = s.getFailures();
+        assertEquals(2, failures.size());
+        assertSame(rejecting, failures.get(0).getTicket());
+        assertSame(rejecting, failures.get(1).getTicket());
+        assertTrue(failures.get(0).getCause() instanceof UnsupportedOperationException);
+
+        assertEquals(BulkTransition.THRESHOLD * 2 - filtered + 2, s.getSelected());
+        assertEquals(BulkTransition.THRESHOLD * 2 - filtered, s.getSucceeded());
+    }
+
+}
@@ -0,0 +1,116 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+
+/**
+ * Testing suite for the OwnerAssigner class.
+ * @author brandonortiz
+ */
+class OwnerAssignerTest {
+
+    /**
+     * Tests that the least-loaded eligible owner is chosen, with ties broken by id.
+     */
+    @Test
+    void testLeastLoaded() {
+        OwnerAssigner assigner = new OwnerAssigner();
+        assertNull(assigner.leastLoaded(Category.NETWORK));
+        assigner.addOwner("carol", Category.NETWORK, Category.DATABASE);
+        assigner.addOwner("alice", Category.NETWORK);
+        assigner.addOwner("bob", Category.DATABASE);
+        assertEquals("alice", assigner.leastLoaded(Category.NETWORK));
+        assertEquals("bob", assigner.leastLoaded(Category.DATABASE));
+        assertNull(assigner.leastLoaded(Category.HARDWARE));
+
+        assigner.taken("alice", Priority.LOW);
+        assertEquals(1, assigner.getLoad("alice"));
+        assertEquals("carol", assigner.leastLoaded(Category.NETWORK));
+        assigner.taken("carol", Priority.URGENT);
+        assertEquals(8, assigner.getLoad("carol"));
+        assertEquals("alice", assigner.leastLoaded(Category.NETWORK));
+        assertEquals("bob", assigner.leastLoaded(Category.DATABASE));
+
+        assigner.released("carol", Priority.URGENT);
+        assertEquals(0, assigner.getOpenCount("carol"));
+        assertEquals("carol", assigner.leastLoaded(Category.NETWORK));
+        assertEquals("bob", assigner.leastLoaded(Category.DATABASE));
+
+        assertTrue(assigner.removeOwner("carol"));
+        assertFalse(assigner.removeOwner("carol"));
+        assertEquals("alice", assigner.leastLoaded(Category.NETWORK));
+        assertEquals(0, assigner.getLoad("carol"));
+        assertThrows(IllegalArgumentException.class, () -> assigner.addOwner("dave"));
+    }
+
+    /**
+     * Tests that listener callbacks follow tickets loaded open and moved between open and
+     * closed states.
+     */
+    @Test
+    void testListener() {
+        OwnerAssigner assigner = new OwnerAssigner();
+        assigner.addOwner("alice", Category.NETWORK);
+        assigner.addOwner("bob", Category.NETWORK);
+        Ticket t = new Ticket(1, Ticket.WORKING_NAME, "Request", "subject", "caller", "Network", "High", "alice",
+                null, new ArrayList<String>(Arrays.asList("note")));
+        assigner.ticketCreated(t);
+        assertEquals(4, assigner.getLoad("alice"));
+        assertEquals("bob", assigner.leastLoaded(t));
+
+        assigner.stateChanged(t, Ticket.FEEDBACK_NAME, Ticket.WORKING_NAME, "alice", null);
+        assertEquals(4, assigner.getLoad("alice"));
+        Ticket resolved = new Ticket(1, Ticket.RESOLVED_NAME, "Request", "subject", "caller", "Network", "High",
+                "alice", "Completed", new ArrayList<String>(Arrays.asList("note")));
+        assigner.stateChanged(resolved, Ticket.WORKING_NAME, Ticket.RESOLVED_NAME, "alice", "Completed");
+        assertEquals(0, assigner.getLoad("alice"));
+        assertEquals(0, assigner.getOpenCount("alice"));
+        assertEquals("alice", assigner.leastLoaded(t));
+    }
+
+    /**
+     * Tests heap order against a linear scan over a random sequence of load changes and
+     * owner replacements.
+     */
+    @Test
+    void testMatchesLinearScan() {
+        OwnerAssigner assigner = new OwnerAssigner();
+        String[] ids = new String[40];
+        long[] loads = new long[ids.length];
+        int[] weights = { 8, 4, 2, 1 };
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "owner" + (char) ('a' + i % 26) + i;
+            assigner.addOwner(ids[i], Category.SOFTWARE);
+        }
+        Random random = new Random(7);
+        for (int step = 0; step < 2000; step++) {
+            int i = random.nextInt(ids.length);
+            Priority p = Priority.values()[random.nextInt(4)];
+            if (random.nextBoolean() || loads[i] < weights[p.ordinal()]) {
+                assigner.taken(ids[i], p);
+                loads[i] += weights[p.ordinal()];
+            } else {
+                assigner.released(ids[i], p);
+                loads[i] -= weights[p.ordinal()];
+            }
+            if (step % 100 == 0) { assigner.addOwner(ids[i], Category.SOFTWARE, Category.HARDWARE); }
+            int best = 0;
+            for (int j = 1; j < ids.length; j++) {
+                if (loads[j] < loads[best] || loads[j] == loads[best] && ids[j].compareTo(ids[best]) < 0) {
+                    best = j;
+                }
+            }
+            assertEquals(ids[best], assigner.leastLoaded(Category.SOFTWARE));
+        }
+    }
+
+}
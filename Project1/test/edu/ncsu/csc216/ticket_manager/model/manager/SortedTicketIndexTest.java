@@ -0,0 +1,116 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the SortedTicketIndex class.
+ * @author brandonortiz
+ */
+class SortedTicketIndexTest {
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @param state the state name
+     * @param priority the priority name
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String state, String priority) {
+        return new Ticket(id, state, "Request", "subject", "brandon", "Network", priority,
+                Ticket.NEW_NAME.equals(state) ? null : "jason", null,
+                new ArrayList<String>(Arrays.asList("-note")));
+    }
+
+    /**
+     * Returns the ids of a list of tickets.
+     * @param tickets the tickets
+     * @return their ids in order
+     */
+    private static List<Integer> ids(List<Ticket> tickets) {
+        List<Integer> ids = new ArrayList<Integer>();
+        for (Ticket t : tickets) { ids.add(t.getTicketId()); }
+        return ids;
+    }
+
+    /**
+     * Tests that tickets are ordered most urgent first, then by ticketId, and counted per
+     * state.
+     */
+    @Test
+    void testTopKOrder() {
+        SortedTicketIndex index = new SortedTicketIndex();
+        index.add(ticket(4, Ticket.NEW_NAME, "Low"));
+        index.add(ticket(2, Ticket.NEW_NAME, "Urgent"));
+        index.add(ticket(3, Ticket.WORKING_NAME, "Urgent"));
+        index.add(ticket(1, Ticket.NEW_NAME, "Medium"));
+
+        assertEquals(Arrays.asList(2, 3, 1, 4), ids(index.topK(null, 10)));
+        assertEquals(Arrays.asList(2, 1), ids(index.topK(Ticket.NEW_NAME, 2)));
+        assertEquals(4, index.count(null));
+        assertEquals(3, index.count(Ticket.NEW_NAME));
+        assertEquals(0, index.count(Ticket.CLOSED_NAME));
+        assertTrue(index.topK(Ticket.CLOSED_NAME, 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.count("Unknown"));
+        assertThrows(IllegalArgumentException.class, () -> index.topK(null, -1));
+    }
+
+    /**
+     * Tests that paging by number and paging after the last ticket shown agree, across
+     * priority groups and past the end.
+     */
+    @Test
+    void testPaging() {
+        SortedTicketIndex index = new SortedTicketIndex();
+        String[] priorities = { "Urgent", "High", "Medium", "Low" };
+        for (int id = 1; id <= 10; id++) {
+            index.add(ticket(id, Ticket.NEW_NAME, priorities[id % priorities.length]));
+        }
+
+        List<Integer> all = ids(index.topK(null, 10));
+        assertEquals(Arrays.asList(4, 8, 1, 5, 9, 2, 6, 10, 3, 7), all);
+
+        Ticket last = null;
+        for (int page = 0; page < 4; page++) {
+            List<Ticket> byNumber = index.page(Ticket.NEW_NAME, page, 3);
+            List<Ticket> byLast = index.pageAfter(Ticket.NEW_NAME, last, 3);
+            assertEquals(ids(byNumber), ids(byLast));
+            assertEquals(all.subList(Math.min(page * 3, 10), Math.min(page * 3 + 3, 10)), ids(byNumber));
+            if (!byLast.isEmpty()) { last = byLast.get(byLast.size() - 1); }
+        }
+        assertTrue(index.page(Ticket.NEW_NAME, 4, 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.page(null, -1, 3));
+        assertThrows(IllegalArgumentException.class, () -> index.page(null, 0, 0));
+    }
+
+    /**
+     * Tests that a state change moves a ticket between state lists and that removal drops
+     * it from every list.
+     */
+    @Test
+    void testStateChangedAndRemove() {
+        SortedTicketIndex index = new SortedTicketIndex();
+        Ticket a = ticket(1, Ticket.WORKING_NAME, "High");
+        Ticket b = ticket(2, Ticket.NEW_NAME, "High");
+        index.add(b);
+
+        // The listener is told both states
+        index.stateChanged(a, Ticket.NEW_NAME, Ticket.WORKING_NAME, null, null);
+        assertEquals(Arrays.asList(1), ids(index.topK(Ticket.WORKING_NAME, 5)));
+        assertEquals(Arrays.asList(2), ids(index.topK(Ticket.NEW_NAME, 5)));
+        assertEquals(1, index.count(Ticket.WORKING_NAME));
+
+        index.remove(b);
+        assertEquals(0, index.count(Ticket.NEW_NAME));
+        assertEquals(0, index.count(null));
+        assertTrue(index.topK(null, 5).isEmpty());
+    }
+
+}
@@ -0,0 +1,141 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.io.TicketArchive;
+import edu.ncsu.csc216.ticket_manager.model.manager.TicketSnapshotStore.Snapshot;
+import edu.ncsu.csc216.ticket_manager.model.manager.TicketSnapshotStore.TicketVersion;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+
+/**
+ * Testing suite for the TicketSnapshotStore class.
+ * @author brandonortiz
+ */
+class TicketSnapshotStoreTest {
+
+    /** Temporary directory for the archive. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Tests that a snapshot is unaffected by later puts and removes.
+     */
+    @Test
+    void testSnapshotIsFrozen() {
+        TicketSnapshotStore store = new TicketSnapshotStore();
+        Ticket a = new Ticket(TicketType.REQUEST, "first", "brandon", Category.NETWORK,
+                Priority.LOW, "note");
+        Ticket b = new Ticket(TicketType.INCIDENT, "second", "brandon", Category.DATABASE,
+                Priority.HIGH, "note");
+        store.put(a);
+        store.put(b);
+
+        Snapshot snap = store.snapshot();
+        store.remove(a.getTicketId());
+        Ticket c = new Ticket(TicketType.INCIDENT, "third", "brandon", Category.HARDWARE,
+                Priority.URGENT, "note");
+        store.put(c);
+
+        assertEquals(2, snap.size());
+        assertEquals("first", snap.get(a.getTicketId()).getSubject());
+        assertNull(snap.get(c.getTicketId()));
+
+        assertEquals(2, store.size());
+        assertNull(store.get(a.getTicketId()));
+        assertEquals("third", store.get(c.getTicketId()).getSubject());
+    }
+
+    /**
+     * Tests that snapshot iteration is in ascending ticketId order.
+     */
+    @Test
+    void testToListOrder() {
+        TicketSnapshotStore store = new TicketSnapshotStore();
+        Ticket a = new Ticket(TicketType.REQUEST, "first", "brandon", Category.NETWORK,
+                Priority.LOW, "note");
+        Ticket b = new Ticket(TicketType.REQUEST, "second", "brandon", Category.NETWORK,
+                Priority.LOW, "note");
+        store.put(b);
+        store.put(a);
+
+        List<TicketVersion> list = store.snapshot().toList();
+        assertEquals(2, list.size());
+        assertEquals(a.getTicketId(), list.get(0).getTicketId());
+        assertEquals(b.getTicketId(), list.get(1).getTicketId());
+        assertEquals(Ticket.NEW_NAME, list.get(0).getState());
+    }
+
+    /**
+     * Tests that an update records a new version with its notes even when the state does
+     * not change.
+     */
+    @Test
+    void testRecordsEveryUpdate() {
+        TicketSnapshotStore store = new TicketSnapshotStore();
+        Ticket a = new Ticket(TicketType.REQUEST, "first", "brandon", Category.NETWORK,
+                Priority.LOW, "note");
+        store.put(a);
+        Ticket.addTicketListener(store);
+        try {
+            a.update(new Command(CommandValue.PROCESS, "jason", null, null, null, "note"));
+        } finally {
+            Ticket.removeTicketListener(store);
+        }
+
+        TicketVersion v = store.get(a.getTicketId());
+        assertEquals(a.getVersion(), v.getVersion());
+        assertEquals(1, v.getVersion());
+        assertEquals(a.getNotes(), v.getNotes());
+        assertEquals(a.getState(), v.getState());
+    }
+
+    /**
+     * Tests that a ticket reloaded from the archive, whose version starts again at 0,
+     * still records new versions over those of the object it replaced.
+     * @throws IOException if the archive cannot be closed
+     */
+    @Test
+    void testUpdateAfterReload() throws IOException {
+        TicketArchive archive = new TicketArchive(dir.resolve("archive.dat").toString());
+        TieredTicketList list = new TieredTicketList(archive, 0, 4, () -> 0L);
+        TicketSnapshotStore store = new TicketSnapshotStore();
+        Ticket a = new Ticket(1, Ticket.CLOSED_NAME, "Request", "subject", "amy", "Network", "Low", "jsmith",
+                null, new ArrayList<String>(Arrays.asList("-note")));
+        list.addTicket(a);
+        store.put(a);
+        Command process = new Command(CommandValue.PROCESS, "jason", null, null, null, "note");
+        Ticket reloaded;
+        Ticket.addTicketListener(store);
+        try {
+            a.update(process);
+            a.update(process);
+            assertEquals(2, store.get(1).getVersion());
+
+            assertEquals(1, list.archiveIdle());
+            reloaded = list.getTicketById(1);
+            assertNotSame(a, reloaded);
+            assertEquals(0, reloaded.getVersion());
+            reloaded.update(process);
+        } finally {
+            Ticket.removeTicketListener(store);
+            list.close();
+        }
+        assertEquals(1, store.get(1).getVersion());
+        assertTrue(store.get(1).isCopyOf(reloaded));
+    }
+
+}
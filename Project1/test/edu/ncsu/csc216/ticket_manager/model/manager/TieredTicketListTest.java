@@ -0,0 +1,190 @@
+package edu.ncsu.csc216.ticket_manager.model.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.io.TicketArchive;
+import edu.ncsu.csc216.ticket_manager.model.ticket.SymbolTable;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.TransitionLog;
+
+/**
+ * Testing suite for the TieredTicketList class.
+ * @author brandonortiz
+ */
+class TieredTicketListTest {
+
+    /** Terminal age used by the tests. */
+    private static final long AGE = 1000;
+
+    /** Temporary directory for the archive. */
+    @TempDir
+    Path dir;
+
+    /** Current time of the test clock. */
+    private long now;
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @param state the state name
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String state) {
+        return new Ticket(id, state, "Request", "subject " + id, "amy", "Network", "Low", "jsmith", null,
+                new ArrayList<String>(Arrays.asList("-note " + id)));
+    }
+
+    /**
+     * Creates a list over a new archive using the test clock.
+     * @param cacheSize the reload cache size
+     * @return the list
+     */
+    private TieredTicketList list(int cacheSize) {
+        TicketArchive archive = new TicketArchive(dir.resolve("archive.dat").toString());
+        return new TieredTicketList(archive, AGE, cacheSize, () -> now);
+    }
+
+    /**
+     * Tests that only tickets terminal for the full age are archived, and that archived
+     * tickets reload transparently.
+     * @throws IOException if the archive cannot be closed
+     */
+    @Test
+    void testArchiveAndReload() throws IOException {
+        TieredTicketList list = list(2);
+        list.addTicket(ticket(1, Ticket.CLOSED_NAME));
+        list.addTicket(ticket(2, Ticket.WORKING_NAME));
+        now += AGE / 2;
+        list.addTicket(ticket(3, Ticket.CANCELED_NAME));
+        now += AGE / 2;
+
+        assertEquals(1, list.archiveIdle());
+        assertEquals(3, list.size());
+        assertEquals(2, list.getHotCount());
+        assertEquals(1, list.getArchivedCount());
+
+        Ticket reloaded = list.getTicketById(1);
+        assertEquals(ticket(1, Ticket.CLOSED_NAME).toString(), reloaded.toString());
+        assertSame(reloaded, list.getTicketById(1));
+        assertNull(list.getTicketById(99));
+
+        assertTrue(list.deleteTicketById(1));
+        assertNull(list.getTicketById(1));
+        assertFalse(list.deleteTicketById(1));
+        list.close();
+    }
+
+    /**
+     * Tests that a reloaded ticket that changes state moves back to the active set, even
+     * after it has been evicted from the reload cache.
+     * @throws IOException if the archive cannot be closed
+     */
+    @Test
+    void testReopenAfterEviction() throws IOException {
+        TieredTicketList list = list(1);
+        list.addTicket(ticket(1, Ticket.CLOSED_NAME));
+        list.addTicket(ticket(2, Ticket.CLOSED_NAME));
+        list.addTicket(ticket(3, Ticket.CLOSED_NAME));
+        now += AGE;
+        assertEquals(3, list.archiveIdle());
+
+        Ticket first = list.getTicketById(1);
+        list.getTicketById(2);
+        // The cache holds only ticket 2 now; the caller still holds ticket 1
+        list.stateChanged(first, Ticket.CLOSED_NAME, Ticket.WORKING_NAME, null, null);
+        assertEquals(1, list.getHotCount());
+        assertEquals(2, list.getArchivedCount());
+        assertSame(first, list.getTicketById(1));
+
+        // A ticket that was never reloaded is not taken over
+        list.stateChanged(ticket(3, Ticket.CLOSED_NAME), Ticket.WORKING_NAME, Ticket.CLOSED_NAME, null, null);
+        assertEquals(2, list.getArchivedCount());
+        list.close();
+    }
+
+    /**
+     * Tests that a reload stops being tracked once the ticket moves back to the active set
+     * or is no longer reachable, so tracking stays bounded like the cache.
+     * @throws Exception if the archive cannot be closed or the test is interrupted
+     */
+    @Test
+    void testReloadTrackingIsBounded() throws Exception {
+        TieredTicketList list = list(1);
+        for (int id = 1; id <= 3; id++) { list.addTicket(ticket(id, Ticket.CLOSED_NAME)); }
+        now += AGE;
+        assertEquals(3, list.archiveIdle());
+
+        Ticket first = list.getTicketById(1);
+        assertEquals(1, list.getReloadedCount());
+        list.stateChanged(first, Ticket.CLOSED_NAME, Ticket.WORKING_NAME, null, null);
+        assertEquals(0, list.getReloadedCount());
+
+        // Ticket 2 is evicted by ticket 3 and nobody holds it
+        list.getTicketById(2);
+        list.getTicketById(3);
+        for (int i = 0; i < 50 && list.getReloadedCount() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, list.getReloadedCount());
+        list.close();
+    }
+
+    /**
+     * Tests that a ticket stays in memory if its archive record cannot be written.
+     * @throws IOException if the archive cannot be closed
+     */
+    @Test
+    void testFailedAppendKeepsTicket() throws IOException {
+        TicketArchive archive = new TicketArchive(dir.resolve("closed.dat").toString());
+        TieredTicketList list = new TieredTicketList(archive, AGE, 1, () -> now);
+        Ticket t = ticket(1, Ticket.CLOSED_NAME);
+        list.addTicket(t);
+        now += AGE;
+        archive.close();
+
+        assertThrows(IllegalArgumentException.class, () -> list.archiveIdle());
+        assertEquals(1, list.getHotCount());
+        assertEquals(0, list.getArchivedCount());
+        assertSame(t, list.getTicketById(1));
+    }
+
+    /**
+     * Tests that a ticket's history survives archiving and reloading.
+     * @throws IOException if the archive cannot be closed
+     */
+    @Test
+    void testHistorySurvivesArchive() throws IOException {
+        SymbolTable symbols = SymbolTable.getShared();
+        TransitionLog log = new TransitionLog();
+        log.append(100, Ticket.stateOrdinal(Ticket.NEW_NAME), TransitionLog.CREATED, SymbolTable.NONE);
+        log.append(250, Ticket.stateOrdinal(Ticket.WORKING_NAME), 0, symbols.intern("jsmith"));
+        log.append(900, Ticket.stateOrdinal(Ticket.CLOSED_NAME), 2, symbols.intern("jsmith"));
+        Ticket t = Ticket.restore(4, Ticket.CLOSED_NAME, "Request", "subject", "amy", "Network", "Low",
+                "jsmith", null, "-note\n", log);
+        assertEquals(3, t.getHistory().size());
+
+        TieredTicketList list = list(1);
+        list.addTicket(t);
+        now += AGE;
+        assertEquals(1, list.archiveIdle());
+        TransitionLog reloaded = list.getTicketById(4).getHistory();
+        assertEquals(3, reloaded.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(log.getTime(i), reloaded.getTime(i));
+            assertEquals(log.getState(i), reloaded.getState(i));
+            assertEquals(log.getCommand(i), reloaded.getCommand(i));
+            assertEquals(log.getOwner(i), reloaded.getOwner(i));
+        }
+        list.close();
+    }
+
+}
@@ -0,0 +1,154 @@
+package edu.ncsu.csc216.ticket_manager.model.notify;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the NotificationOutbox and FileNotificationSender classes.
+ * @author brandonortiz
+ */
+class NotificationOutboxTest {
+
+    /** Window long enough that only explicit flushes run. */
+    private static final long WINDOW = 3_600_000;
+
+    /** Temporary directory. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Creates a ticket through the file constructor.
+     * @param id the ticket id
+     * @param state the state name
+     * @param caller the caller
+     * @param code the feedback or resolution code
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String state, String caller, String code) {
+        return new Ticket(id, state, "Request", "Subject " + id, caller, "Network", "Low", "owner", code,
+                new ArrayList<String>(Arrays.asList("note")));
+    }
+
+    /**
+     * Tests that only Awaiting Caller and Resolved transitions are queued, and that they
+     * are batched per caller with one notification per ticket.
+     */
+    @Test
+    void testCoalesce() {
+        List<String> sent = new ArrayList<String>();
+        NotificationOutbox outbox = new NotificationOutbox(dir, (caller, batch) -> {
+            StringBuilder sb = new StringBuilder(caller);
+            for (Notification n : batch) { sb.append(' ').append(n.getTicketId()).append(n.getState()); }
+            sent.add(sb.toString());
+        }, WINDOW);
+        outbox.stateChanged(ticket(1, Ticket.FEEDBACK_NAME, "alice", "Awaiting Caller"),
+                Ticket.WORKING_NAME, Ticket.FEEDBACK_NAME, "owner", "Awaiting Caller");
+        outbox.stateChanged(ticket(2, Ticket.FEEDBACK_NAME, "bob", "Awaiting Change"),
+                Ticket.WORKING_NAME, Ticket.FEEDBACK_NAME, "owner", "Awaiting Change");
+        outbox.stateChanged(ticket(3, Ticket.RESOLVED_NAME, "bob", "Solved"),
+                Ticket.WORKING_NAME, Ticket.RESOLVED_NAME, "owner", "Solved");
+        outbox.stateChanged(ticket(1, Ticket.RESOLVED_NAME, "alice", "Solved"),
+                Ticket.WORKING_NAME, Ticket.RESOLVED_NAME, "owner", "Solved");
+        outbox.stateChanged(ticket(4, Ticket.WORKING_NAME, "alice", null),
+                Ticket.NEW_NAME, Ticket.WORKING_NAME, "owner", null);
+        assertEquals(3, outbox.getQueuedCount());
+
+        assertEquals(2, outbox.flush());
+        assertEquals(Arrays.asList("alice 1Resolved", "bob 3Resolved"), sent);
+        assertEquals(0, outbox.getSpooledCount());
+        assertEquals(0, outbox.flush());
+        outbox.close();
+    }
+
+    /**
+     * Tests that a failed batch stays spooled and is sent by a later outbox.
+     * @throws IOException if the output cannot be read
+     */
+    @Test
+    void testRetry() throws IOException {
+        NotificationOutbox failing = new NotificationOutbox(dir.resolve("spool"), (caller, batch) -> {
+            throw new IOException("Relay down");
+        }, WINDOW);
+        failing.stateChanged(ticket(5, Ticket.RESOLVED_NAME, "a@b c", "Solved"), Ticket.WORKING_NAME,
+                Ticket.RESOLVED_NAME, "owner", "Solved");
+        assertEquals(0, failing.flush());
+        assertEquals(1, failing.getFailureCount());
+        assertEquals(1, failing.getSpooledCount());
+        failing.close();
+
+        NotificationOutbox outbox = new NotificationOutbox(dir.resolve("spool"),
+                new FileNotificationSender(dir.resolve("out")), WINDOW);
+        assertEquals(1, outbox.flush());
+        assertEquals(0, outbox.getSpooledCount());
+        outbox.close();
+        assertEquals("To: a@b c\nTicket 5 (Subject 5) is Resolved: Solved\n\n",
+                Files.readString(dir.resolve("out").resolve("a_b_c.txt")));
+    }
+
+    /**
+     * Tests that a batch that cannot be spooled is kept and merged with later notifications
+     * for the same caller, and that a very long caller id still spools and sends.
+     * @throws IOException if the spool directory cannot be changed
+     */
+    @Test
+    void testSpoolFailureKeepsBatch() throws IOException {
+        List<String> sent = new ArrayList<String>();
+        Path spool = dir.resolve("spool");
+        NotificationOutbox outbox = new NotificationOutbox(spool, (caller, batch) -> {
+            StringBuilder sb = new StringBuilder(caller);
+            for (Notification n : batch) { sb.append(' ').append(n.getTicketId()).append(n.getState()); }
+            sent.add(sb.toString());
+        }, WINDOW);
+        outbox.stateChanged(ticket(1, Ticket.FEEDBACK_NAME, "alice", "Awaiting Caller"),
+                Ticket.WORKING_NAME, Ticket.FEEDBACK_NAME, "owner", "Awaiting Caller");
+        Files.delete(spool);
+        assertThrows(IllegalArgumentException.class, outbox::flush);
+        assertEquals(1, outbox.getPendingCount());
+
+        Files.createDirectories(spool);
+        outbox.stateChanged(ticket(1, Ticket.RESOLVED_NAME, "alice", "Solved"),
+                Ticket.FEEDBACK_NAME, Ticket.RESOLVED_NAME, "owner", "Solved");
+        String longCaller = "x".repeat(300);
+        outbox.stateChanged(ticket(2, Ticket.RESOLVED_NAME, longCaller, "Solved"),
+                Ticket.WORKING_NAME, Ticket.RESOLVED_NAME, "owner", "Solved");
+        assertEquals(2, outbox.flush());
+        assertEquals(Arrays.asList("alice 1Resolved", longCaller + " 2Resolved"), sent);
+        assertEquals(0, outbox.getPendingCount());
+        assertNotEquals(NotificationOutbox.fileSafe(longCaller), NotificationOutbox.fileSafe(longCaller + "y"));
+        outbox.close();
+    }
+
+    /**
+     * Tests that a malformed batch is quarantined and does not block the batches behind it.
+     * @throws IOException if the spool cannot be written
+     */
+    @Test
+    void testQuarantine() throws IOException {
+        Path spool = dir.resolve("spool");
+        Files.createDirectories(spool);
+        Files.writeString(spool.resolve("0000000000000-000000-bad.batch"), "bob\nnot a notification\n");
+        List<String> callers = new ArrayList<String>();
+        NotificationOutbox outbox = new NotificationOutbox(spool, (caller, batch) -> callers.add(caller), WINDOW);
+        outbox.stateChanged(ticket(3, Ticket.RESOLVED_NAME, "carol", "Solved"),
+                Ticket.WORKING_NAME, Ticket.RESOLVED_NAME, "owner", "Solved");
+
+        assertEquals(1, outbox.flush());
+        assertEquals(Arrays.asList("carol"), callers);
+        assertEquals(1, outbox.getQuarantinedCount());
+        assertEquals(0, outbox.getSpooledCount());
+        assertTrue(Files.exists(spool.resolve("0000000000000-000000-bad" + NotificationOutbox.QUARANTINE_SUFFIX)));
+        outbox.close();
+    }
+
+}
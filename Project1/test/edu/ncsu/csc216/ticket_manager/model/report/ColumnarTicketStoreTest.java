@@ -0,0 +1,121 @@
+package edu.ncsu.csc216.ticket_manager.model.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.report.ColumnarTicketStore.Column;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the ColumnarTicketStore class.
+ * @author brandonortiz
+ */
+class ColumnarTicketStoreTest {
+
+    /**
+     * Creates a ticket through the IO constructor.
+     * @param id the ticket id
+     * @param state the state name
+     * @param category the category name
+     * @param priority the priority name
+     * @param owner the owner, or null
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String state, String category, String priority, String owner) {
+        return new Ticket(id, state, "Request", "subject", "brandon", category, priority, owner, null,
+                new ArrayList<String>(Arrays.asList("-note")));
+    }
+
+    /**
+     * Tests single and paired column counts, and that replacing a ticket does not add a row.
+     */
+    @Test
+    void testCountBy() {
+        ColumnarTicketStore store = new ColumnarTicketStore();
+        store.add(ticket(1, Ticket.NEW_NAME, "Network", "Low", null), 0);
+        store.add(ticket(2, Ticket.WORKING_NAME, "Network", "High", "jason"), 0);
+        store.add(ticket(3, Ticket.WORKING_NAME, "Database", "High", "jason"), 0);
+        store.add(ticket(3, Ticket.WORKING_NAME, "Database", "Urgent", "jason"), 0);
+        assertEquals(3, store.size());
+
+        int[] byState = store.countBy(Column.STATE);
+        assertEquals(Ticket.STATE_COUNT, byState.length);
+        assertEquals(1, byState[Ticket.stateOrdinal(Ticket.NEW_NAME)]);
+        assertEquals(2, byState[Ticket.stateOrdinal(Ticket.WORKING_NAME)]);
+        assertEquals(1, store.count(Column.PRIORITY, Ticket.priorityOrdinal("High")));
+        assertEquals(1, store.count(Column.PRIORITY, Ticket.priorityOrdinal("Urgent")));
+
+        int[][] pairs = store.countBy(Column.CATEGORY, Column.STATE);
+        assertEquals(1, pairs[Ticket.categoryOrdinal("Network")][Ticket.stateOrdinal(Ticket.NEW_NAME)]);
+        assertEquals(1, pairs[Ticket.categoryOrdinal("Network")][Ticket.stateOrdinal(Ticket.WORKING_NAME)]);
+        assertEquals(1, pairs[Ticket.categoryOrdinal("Database")][Ticket.stateOrdinal(Ticket.WORKING_NAME)]);
+        assertEquals(0, pairs[Ticket.categoryOrdinal("Database")][Ticket.stateOrdinal(Ticket.NEW_NAME)]);
+    }
+
+    /**
+     * Tests that removing a row moves the last row into its place and growing past the
+     * initial capacity keeps every row.
+     */
+    @Test
+    void testRemoveAndGrow() {
+        ColumnarTicketStore store = new ColumnarTicketStore();
+        for (int id = 1; id <= 2000; id++) {
+            store.add(ticket(id, id % 2 == 0 ? Ticket.NEW_NAME : Ticket.CLOSED_NAME, "Network", "Low", "jason"), 0);
+        }
+        assertEquals(2000, store.size());
+        assertTrue(store.remove(1));
+        assertFalse(store.remove(1));
+        assertEquals(999, store.count(Column.STATE, Ticket.stateOrdinal(Ticket.CLOSED_NAME)));
+
+        // Ticket 2000 took row 0; its row must still be found by id
+        store.stateChanged(ticket(2000, Ticket.WORKING_NAME, "Network", "Low", "jason"), Ticket.NEW_NAME,
+                Ticket.WORKING_NAME, "jason", null);
+        assertEquals(1, store.count(Column.STATE, Ticket.stateOrdinal(Ticket.WORKING_NAME)));
+        assertTrue(store.remove(2000));
+        assertEquals(0, store.count(Column.STATE, Ticket.stateOrdinal(Ticket.WORKING_NAME)));
+        assertEquals(1998, store.size());
+    }
+
+    /**
+     * Tests idle counts and mean ages against explicit times.
+     */
+    @Test
+    void testCountIdleAndMeanAge() {
+        ColumnarTicketStore store = new ColumnarTicketStore();
+        store.add(ticket(1, Ticket.FEEDBACK_NAME, "Network", "Low", "jason"), 1000);
+        store.add(ticket(2, Ticket.FEEDBACK_NAME, "Network", "Low", "jason"), 3000);
+        store.add(ticket(3, Ticket.NEW_NAME, "Network", "Low", null), 0);
+
+        assertEquals(1, store.countIdle(Ticket.FEEDBACK_NAME, 2000));
+        assertEquals(2, store.countIdle(Ticket.FEEDBACK_NAME, 4000));
+        assertEquals(3000, store.meanAge(Ticket.FEEDBACK_NAME, 5000));
+        assertEquals(0, store.meanAge(Ticket.CLOSED_NAME, 5000));
+        assertThrows(IllegalArgumentException.class, () -> store.countIdle("Unknown", 0));
+        assertThrows(IllegalArgumentException.class, () -> store.meanAge("Unknown", 0));
+    }
+
+    /**
+     * Tests per owner counts within a state, ignoring tickets with no owner.
+     */
+    @Test
+    void testCountByOwner() {
+        ColumnarTicketStore store = new ColumnarTicketStore();
+        store.add(ticket(1, Ticket.WORKING_NAME, "Network", "Low", "jason"), 0);
+        store.add(ticket(2, Ticket.WORKING_NAME, "Network", "Low", "maria"), 0);
+        store.add(ticket(3, Ticket.WORKING_NAME, "Network", "Low", "jason"), 0);
+        store.add(ticket(4, Ticket.NEW_NAME, "Network", "Low", null), 0);
+
+        Map<String, Integer> working = store.countByOwner(Ticket.WORKING_NAME);
+        assertEquals(2, working.size());
+        assertEquals(2, working.get("jason"));
+        assertEquals(1, working.get("maria"));
+        assertTrue(store.countByOwner(Ticket.NEW_NAME).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.countByOwner("Unknown"));
+    }
+
+}
@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.ticket_manager.model.report;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+
+/**
+ * Testing suite for the TicketCube class.
+ * @author brandonortiz
+ */
+class TicketCubeTest {
+
+    /**
+     * Tests that added tickets are counted in their cell and in every roll-up.
+     */
+    @Test
+    void testAddAndRollUp() {
+        TicketCube cube = new TicketCube();
+        cube.add(new Ticket(TicketType.INCIDENT, "subject", "brandon", Category.NETWORK,
+                Priority.HIGH, "note"));
+        cube.add(new Ticket(TicketType.REQUEST, "subject", "brandon", Category.NETWORK,
+                Priority.LOW, "note"));
+        cube.add(new Ticket(TicketType.REQUEST, "subject", "brandon", Category.DATABASE,
+                Priority.LOW, "note"));
+
+        assertEquals(3, cube.size());
+        assertEquals(3, cube.count(Ticket.NEW_NAME, null, null, null));
+        assertEquals(0, cube.count(Ticket.CLOSED_NAME, null, null, null));
+        assertEquals(2, cube.count(null, Category.NETWORK, null, null));
+        assertEquals(2, cube.count(null, null, Priority.LOW, TicketType.REQUEST));
+        assertEquals(1, cube.count(Ticket.NEW_NAME, Category.NETWORK, Priority.HIGH, TicketType.INCIDENT));
+        assertEquals(2, cube.countsByType()[TicketType.REQUEST.ordinal()]);
+    }
+
+    /**
+     * Tests that a transition moves a count between states and removal drops it.
+     */
+    @Test
+    void testStateChangedAndRemove() {
+        TicketCube cube = new TicketCube();
+        cube.add(new Ticket(TicketType.REQUEST, "subject", "brandon", Category.SOFTWARE,
+                Priority.HIGH, "note"));
+        assertEquals(1, cube.count(Ticket.NEW_NAME, null, null, null));
+
+        // The same ticket after a PROCESS command moved it to Working
+        Ticket working = new Ticket(7, "Working", "Request", "subject", "brandon", "Software",
+                "High", "jason", null, new ArrayList<String>());
+        cube.stateChanged(working, Ticket.NEW_NAME, Ticket.WORKING_NAME, "jason", null);
+        assertEquals(0, cube.count(Ticket.NEW_NAME, null, null, null));
+        assertEquals(1, cube.count(Ticket.WORKING_NAME, Category.SOFTWARE, Priority.HIGH, TicketType.REQUEST));
+        assertEquals(1, cube.size());
+
+        cube.remove(working);
+        assertEquals(0, cube.count(Ticket.WORKING_NAME, null, null, null));
+        assertEquals(0, cube.size());
+    }
+
+    /**
+     * Tests that two transitions whose callbacks run after the ticket has moved on are each
+     * counted from the states they were given, not from the ticket's current state.
+     */
+    @Test
+    void testOverlappingTransitions() {
+        TicketCube cube = new TicketCube();
+        cube.add(new Ticket(TicketType.REQUEST, "subject", "brandon", Category.SOFTWARE,
+                Priority.HIGH, "note"));
+        // New -> Working -> Resolved, but both callbacks see the ticket already Resolved
+        Ticket resolved = new Ticket(7, Ticket.RESOLVED_NAME, "Request", "subject", "brandon", "Software",
+                "High", "jason", "Solved", new ArrayList<String>());
+        cube.stateChanged(resolved, Ticket.NEW_NAME, Ticket.WORKING_NAME, "jason", null);
+        cube.stateChanged(resolved, Ticket.WORKING_NAME, Ticket.RESOLVED_NAME, "jason", "Solved");
+        assertEquals(0, cube.count(Ticket.NEW_NAME, null, null, null));
+        assertEquals(0, cube.count(Ticket.WORKING_NAME, null, null, null));
+        assertEquals(1, cube.count(Ticket.RESOLVED_NAME, null, null, null));
+        assertEquals(1, cube.size());
+    }
+
+    /**
+     * Tests that invalid coordinates are rejected.
+     */
+    @Test
+    void testInvalidCoordinates() {
+        TicketCube cube = new TicketCube();
+        assertThrows(IllegalArgumentException.class, () -> cube.count(6, TicketCube.ANY, TicketCube.ANY, TicketCube.ANY));
+        assertThrows(IllegalArgumentException.class, () -> cube.count("Unknown", null, null, null));
+    }
+
+}
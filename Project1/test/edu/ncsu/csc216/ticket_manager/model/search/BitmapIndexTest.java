@@ -0,0 +1,75 @@
+package edu.ncsu.csc216.ticket_manager.model.search;
+
+import static edu.ncsu.csc216.ticket_manager.model.search.TicketQuery.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+
+/**
+ * Testing suite for the BitmapIndex and TicketQuery classes.
+ * @author brandonortiz
+ */
+class BitmapIndexTest {
+
+    /**
+     * Creates a ticket through the file constructor.
+     * @param id the ticket id
+     * @param state the state name
+     * @param category the category name
+     * @param priority the priority name
+     * @param owner the owner id
+     * @return the ticket
+     */
+    private static Ticket ticket(int id, String state, String category, String priority, String owner) {
+        return new Ticket(id, state, "Incident", "subject", "caller", category, priority, owner, null,
+                new ArrayList<String>(Arrays.asList("-note")));
+    }
+
+    /**
+     * Tests a compound query and that removal drops a ticket from every bitmap.
+     */
+    @Test
+    void testQuery() {
+        BitmapIndex index = new BitmapIndex();
+        index.add(ticket(1, Ticket.WORKING_NAME, "Network", "Urgent", "a"));
+        index.add(ticket(2, Ticket.CLOSED_NAME, "Network", "Urgent", "a"));
+        index.add(ticket(3, Ticket.WORKING_NAME, "Database", "High", "b"));
+        index.add(ticket(4, Ticket.WORKING_NAME, "Database", "Low", "b"));
+        Ticket five = ticket(5, Ticket.WORKING_NAME, "Inquiry", "High", "a");
+        index.add(five);
+        index.add(ticket(6, Ticket.WORKING_NAME, "Network", "High", "c"));
+
+        TicketQuery q = and(priority(Priority.URGENT, Priority.HIGH), category(Category.NETWORK, Category.DATABASE),
+                not(state(Ticket.CLOSED_NAME)), owner("a", "b"));
+        assertArrayEquals(new int[] {1, 3}, index.find(q));
+        assertEquals(4, index.count(or(owner("a"), priority(Priority.LOW))));
+        assertEquals(0, index.count(owner("nobody")));
+
+        index.remove(five);
+        assertEquals(2, index.count(owner("a")));
+        assertEquals(5, index.size());
+        assertThrows(IllegalArgumentException.class, () -> state("Lost"));
+    }
+
+    /**
+     * Tests that a state change moves the ticket between state bitmaps.
+     */
+    @Test
+    void testStateChanged() {
+        BitmapIndex index = new BitmapIndex();
+        Ticket t = ticket(1, Ticket.CLOSED_NAME, "Network", "Low", "a");
+        index.add(t);
+        assertEquals(0, index.count(state(Ticket.WORKING_NAME)));
+        index.stateChanged(t, Ticket.WORKING_NAME, Ticket.CLOSED_NAME, "a", null);
+        assertEquals(1, index.count(state(Ticket.CLOSED_NAME)));
+        assertEquals(1, index.count(not(state(Ticket.WORKING_NAME))));
+    }
+
+}
@@ -0,0 +1,71 @@
+package edu.ncsu.csc216.ticket_manager.model.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.search.DuplicateDetector.Candidate;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
+
+/**
+ * Testing suite for the DuplicateDetector class.
+ * @author brandonortiz
+ */
+class DuplicateDetectorTest {
+
+    /**
+     * Tests that a near copy of an indexed ticket is suggested and an unrelated one is not.
+     */
+    @Test
+    void testSuggest() {
+        DuplicateDetector d = new DuplicateDetector();
+        Ticket vpn = new Ticket(TicketType.INCIDENT, "VPN down in building 5", "alice", Category.NETWORK,
+                Priority.HIGH, "Cannot connect to VPN from building 5 since this morning");
+        Ticket printer = new Ticket(TicketType.INCIDENT, "Printer jam", "bob", Category.HARDWARE,
+                Priority.LOW, "paper stuck in tray 2");
+        assertTrue(d.suggest(vpn).isEmpty());
+        assertTrue(d.suggest(printer).isEmpty());
+
+        Ticket vpnAgain = new Ticket(TicketType.INCIDENT, "VPN down in building 5", "alice", Category.NETWORK,
+                Priority.HIGH, "Cannot connect to VPN from building 5 this morning");
+        List<Candidate> c = d.findCandidates(vpnAgain);
+        assertEquals(1, c.size());
+        assertEquals(vpn.getTicketId(), c.get(0).getTicketId());
+
+        Ticket email = new Ticket(TicketType.INCIDENT, "Email slow", "carol", Category.SOFTWARE,
+                Priority.MEDIUM, "outlook hangs when opening attachments");
+        assertTrue(d.findCandidates(email).isEmpty());
+
+        d.remove(vpn.getTicketId());
+        assertTrue(d.findCandidates(vpnAgain).isEmpty());
+        assertEquals(1, d.size());
+    }
+
+    /**
+     * Tests bulk mode reports both members of a duplicate pair.
+     */
+    @Test
+    void testFindAll() {
+        DuplicateDetector d = new DuplicateDetector();
+        Ticket a = new Ticket(TicketType.REQUEST, "New laptop for onboarding", "dana", Category.HARDWARE,
+                Priority.MEDIUM, "Please order a laptop for the new hire starting Monday");
+        Ticket b = new Ticket(TicketType.REQUEST, "New laptop for onboarding", "dana", Category.HARDWARE,
+                Priority.MEDIUM, "Please order a laptop for the new hire starting Monday");
+        Ticket c = new Ticket(TicketType.REQUEST, "Database access", "erin", Category.DATABASE,
+                Priority.LOW, "Need read access to the reporting schema");
+
+        Map<Integer, List<Candidate>> all = d.findAll(Arrays.asList(a, b, c));
+        assertEquals(2, all.size());
+        assertEquals(b.getTicketId(), all.get(a.getTicketId()).get(0).getTicketId());
+        assertEquals(a.getTicketId(), all.get(b.getTicketId()).get(0).getTicketId());
+        assertFalse(all.containsKey(c.getTicketId()));
+    }
+
+}
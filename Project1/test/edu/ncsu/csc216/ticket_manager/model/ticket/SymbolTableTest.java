@@ -0,0 +1,98 @@
+package edu.ncsu.csc216.ticket_manager.model.ticket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing suite for the SymbolTable class.
+ * @author brandonortiz
+ */
+class SymbolTableTest {
+
+    /**
+     * Tests intern, lookup and name round trips, and the handling of null.
+     */
+    @Test
+    void testRoundTrip() {
+        SymbolTable table = new SymbolTable();
+        assertEquals(SymbolTable.NONE, table.intern(null));
+        assertEquals(SymbolTable.NONE, table.lookup(null));
+        assertNull(table.name(SymbolTable.NONE));
+
+        assertEquals(SymbolTable.NONE, table.lookup("amy"));
+        int amy = table.intern("amy");
+        int bob = table.intern("bob");
+        assertEquals(0, amy);
+        assertEquals(1, bob);
+        assertEquals(amy, table.intern("amy"));
+        assertEquals(amy, table.lookup(new String("amy")));
+        assertEquals("amy", table.name(amy));
+        assertEquals("bob", table.name(bob));
+        assertEquals(2, table.size());
+
+        assertThrows(IllegalArgumentException.class, () -> table.name(2));
+        assertThrows(IllegalArgumentException.class, () -> table.name(-2));
+    }
+
+    /**
+     * Tests that symbols stay dense and resolvable past the initial capacity of 64.
+     */
+    @Test
+    void testGrowth() {
+        SymbolTable table = new SymbolTable();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, table.intern("name" + i));
+        }
+        assertEquals(1000, table.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("name" + i, table.name(i));
+            assertEquals(i, table.lookup("name" + i));
+        }
+    }
+
+    /**
+     * Tests that threads interning the same names at once all get one symbol per name.
+     * @throws InterruptedException if interrupted while joining the threads
+     */
+    @Test
+    void testConcurrentIntern() throws InterruptedException {
+        SymbolTable table = new SymbolTable();
+        int threads = 8;
+        int names = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < names; i++) {
+                    seen.add(i + "=" + table.intern("caller" + i));
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread w : workers) { w.join(); }
+
+        assertEquals(names, table.size());
+        assertEquals(names, seen.size());
+        Set<Integer> symbols = new HashSet<Integer>();
+        for (int i = 0; i < names; i++) {
+            int s = table.lookup("caller" + i);
+            assertEquals("caller" + i, table.name(s));
+            symbols.add(s);
+        }
+        assertEquals(names, symbols.size());
+    }
+
+}
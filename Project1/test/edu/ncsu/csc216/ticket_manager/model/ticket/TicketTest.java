@@ -3,9 +3,12 @@ package edu.ncsu.csc216.ticket_manager.model.ticket;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
 import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Category;
 import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.Priority;
 import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
@@ -16,6 +19,30 @@ import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket.TicketType;
  */
 class TicketTest {
 
+    /**
+     * Ticket whose FSM ignores every Command, or rejects every Command once told to, so
+     * version and concurrency tests do not depend on the transitions.
+     */
+    private static class StubTicket extends Ticket {
+
+        /** True if Commands are rejected. */
+        volatile boolean rejecting;
+
+        /**
+         * Creates the ticket through the IO constructor.
+         * @param state the state name
+         */
+        StubTicket(String state) {
+            super(1, state, "Request", "subject", "brandon", "Network", "Low", "jason", null,
+                    new ArrayList<String>(Arrays.asList("-note")));
+        }
+
+        @Override
+        public void updateState(Command command) {
+            if (rejecting) { throw new UnsupportedOperationException("Invalid command."); }
+        }
+    }
+
     /**
      * Tests the constructor intended to receive instantiation parameters from the GUI.
      * This test only considers valid parameters.
@@ -202,13 +229,48 @@ class TicketTest {
         fail("Not yet implemented");
     }
 
+    /**
+     * Tests the conditional update succeeds only at the expected version, and that a
+     * rejected Command still advances the version.
+     */
+    @Test
+    void testUpdateWithVersion() {
+        StubTicket a = new StubTicket(Ticket.WORKING_NAME);
+        Command process = new Command(CommandValue.PROCESS, "jason", null, null, null, "note");
+        assertEquals(0, a.getVersion());
+
+        assertTrue(a.update(process, 0));
+        assertEquals(1, a.getVersion());
+
+        // A writer that read version 0 has lost the race
+        assertFalse(a.update(process, 0));
+        assertEquals(1, a.getVersion());
+
+        a.update(process);
+        assertEquals(2, a.getVersion());
+        assertFalse(a.update(process, -1));
+
+        // The stub changes neither the state nor the owner, so these are not transitions
+        assertEquals(1, a.getHistory().size());
+
+        a.rejecting = true;
+        assertThrows(UnsupportedOperationException.class, () -> a.update(process, 2));
+        assertEquals(3, a.getVersion());
+        assertThrows(UnsupportedOperationException.class, () -> a.update(process));
+        assertEquals(4, a.getVersion());
+        assertEquals(1, a.getHistory().size());
+    }
+
     @Test
     void testToString() {
         Ticket a = new Ticket(TicketType.REQUEST, "subject", "brandon", Category.NETWORK,
                 Priority.LOW, "note");
-        String b = "";
+        String b = "*" + a.getTicketId() + "#New#Request#subject#brandon#Network#Low##\n-note\n";
         String c = a.toString();
         assertEquals(b, c);
+
+        // Cached record is reused until the ticket is updated
+        assertEquals(b, a.toString());
     }
 
 
@@ -246,4 +308,26 @@ class TicketTest {
         assertEquals(a, b);
     }
 
+    /**
+     * Tests that notes read while updates inflate and compress them are never torn.
+     * @throws InterruptedException if interrupted while joining the writer
+     */
+    @Test
+    void testConcurrentReads() throws InterruptedException {
+        // Closed, so every update inflates the notes and compresses them again
+        Ticket a = new StubTicket(Ticket.CLOSED_NAME);
+        Command process = new Command(CommandValue.PROCESS, "jason", null, null, null, "note");
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) { a.update(process); }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertEquals("-note\n", a.getNotes());
+            assertTrue(a.toString().endsWith("\n-note\n"));
+        }
+        writer.join();
+        assertEquals(20000L, a.getVersion());
+        assertEquals("jason", a.read(Ticket::getOwner));
+    }
+
 }
@@ -0,0 +1,64 @@
+package edu.ncsu.csc216.ticket_manager.model.ticket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing suite for the TransitionLog class.
+ * @author brandonortiz
+ */
+class TransitionLogTest {
+
+    /**
+     * Tests as-of lookups before, on, between, and after entries, across a checkpoint.
+     */
+    @Test
+    void testStateAt() {
+        TransitionLog log = new TransitionLog();
+        int owner = SymbolTable.getShared().intern("jsmith");
+        for (int i = 0; i < 40; i++) {
+            log.append(1000 + i * 100, i % Ticket.STATE_COUNT, i == 0 ? TransitionLog.CREATED : 0, owner);
+        }
+        assertEquals(40, log.size());
+        assertEquals(-1, log.stateAt(999));
+        assertEquals(0, log.stateAt(1000));
+        assertEquals(0, log.stateAt(1099));
+        assertEquals(1, log.stateAt(1100));
+        assertEquals(17 % Ticket.STATE_COUNT, log.stateAt(2750));
+        assertEquals(39 % Ticket.STATE_COUNT, log.stateAt(Long.MAX_VALUE));
+        assertEquals("jsmith", SymbolTable.getShared().name(log.ownerAt(2000)));
+        assertEquals(TransitionLog.CREATED, log.getCommand(0));
+        assertEquals(1000 + 33 * 100, log.getTime(33));
+        assertThrows(IndexOutOfBoundsException.class, () -> log.getTime(40));
+    }
+
+    /**
+     * Tests time in state, including an out of order entry that is clamped.
+     */
+    @Test
+    void testTimeInState() {
+        TransitionLog log = new TransitionLog();
+        log.append(100, 0, TransitionLog.CREATED, SymbolTable.NONE);
+        log.append(400, 1, 0, SymbolTable.NONE);
+        log.append(300, 2, 1, SymbolTable.NONE);
+        assertEquals(400, log.getTime(2));
+        long[] spent = log.timeInState(1000);
+        assertEquals(300, spent[0]);
+        assertEquals(0, spent[1]);
+        assertEquals(600, spent[2]);
+        assertEquals(2, log.indexAt(400));
+    }
+
+    /**
+     * Tests that a new ticket starts its history in the New state.
+     */
+    @Test
+    void testTicketHistory() {
+        Ticket t = new Ticket(Ticket.TicketType.REQUEST, "subject", "caller", Ticket.Category.INQUIRY,
+                Ticket.Priority.LOW, "note");
+        assertEquals(1, t.getHistory().size());
+        assertEquals(Ticket.stateOrdinal(Ticket.NEW_NAME), t.getHistory().stateAt(Long.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,130 @@
+package edu.ncsu.csc216.ticket_manager.model.trace;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.command.Command.CommandValue;
+import edu.ncsu.csc216.ticket_manager.model.io.TicketReader;
+import edu.ncsu.csc216.ticket_manager.model.io.TicketWriter;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.SettingDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Testing suite for the TicketCreatedEvent, TicketTransitionEvent, TicketParseEvent and
+ * TicketFileEvent classes.
+ * @author brandonortiz
+ */
+class TicketEventsTest {
+
+    /** Temporary directory. */
+    @TempDir
+    Path dir;
+
+    /**
+     * Returns the events of one type from a recording.
+     * @param events the recorded events
+     * @param type the event class
+     * @return the events of that type, in the order they were read
+     */
+    private static List<RecordedEvent> of(List<RecordedEvent> events, Class<? extends jdk.jfr.Event> type) {
+        String name = EventType.getEventType(type).getName();
+        List<RecordedEvent> matches = new ArrayList<RecordedEvent>();
+        for (RecordedEvent e : events) {
+            if (e.getEventType().getName().equals(name)) { matches.add(e); }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the default threshold of an event type.
+     * @param type the event class
+     * @return the threshold setting
+     */
+    private static String threshold(Class<? extends jdk.jfr.Event> type) {
+        for (SettingDescriptor d : EventType.getEventType(type).getSettingDescriptors()) {
+            if ("threshold".equals(d.getName())) { return d.getDefaultValue(); }
+        }
+        return null;
+    }
+
+    /**
+     * Tests that each event records its fields when its threshold is lowered to zero,
+     * including a transition whose Command has no CommandValue.
+     * @throws IOException if the recording cannot be written or read
+     */
+    @Test
+    void testEventsRecorded() throws IOException {
+        Path file = dir.resolve("tickets.txt");
+        Path jfr = dir.resolve("events.jfr");
+        Ticket t;
+        try (Recording r = new Recording()) {
+            r.enable(TicketCreatedEvent.class).withThreshold(Duration.ZERO);
+            r.enable(TicketTransitionEvent.class).withThreshold(Duration.ZERO);
+            r.enable(TicketParseEvent.class).withThreshold(Duration.ZERO);
+            r.enable(TicketFileEvent.class).withThreshold(Duration.ZERO);
+            r.start();
+            t = new Ticket(Ticket.TicketType.REQUEST, "subject", "amy", Ticket.Category.NETWORK,
+                    Ticket.Priority.LOW, "note");
+            t.update(new Command(CommandValue.PROCESS, "jason", null, null, null, "note"));
+            t.update(new Command(null, "jason", null, null, null, "note"));
+            TicketWriter.writeTicketFile(file.toString(), Arrays.asList(t));
+            assertEquals(1, TicketReader.readTicketFile(file.toString()).size());
+            r.stop();
+            r.dump(jfr);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+
+        List<RecordedEvent> created = of(events, TicketCreatedEvent.class);
+        assertEquals(2, created.size());
+        assertEquals(t.getTicketId(), created.get(0).getInt("ticketId"));
+        assertFalse(created.get(0).getBoolean("fromFile"));
+        assertTrue(created.get(1).getBoolean("fromFile"));
+
+        List<RecordedEvent> transitions = of(events, TicketTransitionEvent.class);
+        assertEquals(2, transitions.size());
+        assertEquals("PROCESS", transitions.get(0).getString("command"));
+        assertEquals(Ticket.NEW_NAME, transitions.get(0).getString("fromState"));
+        assertEquals(t.getState(), transitions.get(1).getString("toState"));
+        assertNull(transitions.get(1).getString("command"));
+        assertTrue(transitions.get(0).getBoolean("applied"));
+
+        List<RecordedEvent> parses = of(events, TicketParseEvent.class);
+        assertEquals(1, parses.size());
+        assertEquals(t.getTicketId(), parses.get(0).getInt("ticketId"));
+        assertTrue(parses.get(0).getInt("recordLength") > 0);
+
+        List<String> operations = new ArrayList<String>();
+        for (RecordedEvent e : of(events, TicketFileEvent.class)) {
+            operations.add(e.getString("operation"));
+            assertEquals(file.toString(), e.getString("file"));
+            assertEquals(1, e.getInt("tickets"));
+        }
+        assertEquals(Arrays.asList(TicketFileEvent.SAVE, TicketFileEvent.LOAD), operations);
+    }
+
+    /**
+     * Tests the default thresholds, which keep fast operations out of a recording.
+     */
+    @Test
+    void testThresholds() {
+        assertEquals("1 ms", threshold(TicketCreatedEvent.class));
+        assertEquals("1 ms", threshold(TicketTransitionEvent.class));
+        assertEquals("1 ms", threshold(TicketParseEvent.class));
+        assertEquals("10 ms", threshold(TicketFileEvent.class));
+    }
+
+}
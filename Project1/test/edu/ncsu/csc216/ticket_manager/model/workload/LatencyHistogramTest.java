@@ -0,0 +1,56 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing suite for the LatencyHistogram class.
+ * @author brandonortiz
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Tests that small values are exact and that an empty histogram reports 0.
+     */
+    @Test
+    void testSmallValues() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getPercentile(50));
+        for (int v = 0; v < 10; v++) { h.record(v); }
+        h.record(-5);
+        assertEquals(11, h.getCount());
+        assertEquals(9, h.getMax());
+        assertEquals(0, h.getPercentile(0));
+        assertEquals(4, h.getPercentile(50));
+        assertEquals(9, h.getPercentile(100));
+    }
+
+    /**
+     * Tests that percentiles of random latencies over six orders of magnitude are within
+     * the documented 6% of the exact values, and never above the maximum.
+     */
+    @Test
+    void testPercentileAccuracy() {
+        LatencyHistogram h = new LatencyHistogram();
+        SplittableRandom random = new SplittableRandom(3);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.pow(10, 2 + random.nextDouble() * 6);
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double p : new double[] { 1, 10, 50, 90, 99, 99.9, 99.99 }) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = h.getPercentile(p);
+            assertTrue(reported >= exact, p + ": " + reported + " < " + exact);
+            assertTrue(reported <= exact * 1.0625, p + ": " + reported + " > " + exact);
+        }
+        assertEquals(values[values.length - 1], h.getMax());
+        assertEquals(h.getMax(), h.getPercentile(100));
+    }
+
+}
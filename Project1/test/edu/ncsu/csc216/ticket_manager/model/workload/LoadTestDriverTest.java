@@ -0,0 +1,32 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.workload.LoadTestDriver.Report;
+
+/**
+ * Testing suite for the LoadTestDriver class.
+ * @author brandonortiz
+ */
+class LoadTestDriverTest {
+
+    /**
+     * Tests that every Command is counted once, and that the report is labelled exactly
+     * when no accepted Command changed a ticket's state.
+     */
+    @Test
+    void testReport() {
+        LoadTestDriver driver = new LoadTestDriver(200, 0, 5);
+        Report r = driver.run();
+        assertEquals(200, driver.getTickets().size());
+        assertEquals(200, r.getCreateLatency().getCount());
+        assertTrue(r.getUpdateLatency().getCount() >= 200);
+        assertTrue(r.getRejected() + r.getUnchanged() <= r.getUpdateLatency().getCount());
+        assertEquals(r.isWithoutTransitions(), r.toString().contains("WARNING"));
+        assertEquals(r.getUnchanged() == r.getUpdateLatency().getCount() - r.getRejected(),
+                r.isWithoutTransitions());
+    }
+
+}
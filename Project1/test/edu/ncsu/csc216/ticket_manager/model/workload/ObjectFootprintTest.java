@@ -0,0 +1,51 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the ObjectFootprint class, and the per-ticket footprint limit.
+ * @author brandonortiz
+ */
+class ObjectFootprintTest {
+
+    /**
+     * Tests sizes under compressed oops and class pointers.
+     */
+    @Test
+    void testShallowSize() {
+        ObjectFootprint f = new ObjectFootprint(true, true);
+        assertEquals(16, f.shallowSize(new Object()));
+        assertEquals(56, f.shallowSize(new int[10]));
+        assertEquals(16, f.shallowSize(new byte[0]));
+        assertEquals(24, f.shallowSize(new long[1]));
+        assertEquals(32, f.shallowSize(new Object[4]));
+        assertEquals(32, new ObjectFootprint(false, false).shallowSize(new Object[1]));
+    }
+
+    /**
+     * Tests that shared objects are counted once and excluded statics not at all.
+     */
+    @Test
+    void testRetainedSize() {
+        ObjectFootprint f = new ObjectFootprint(true, true);
+        int[] shared = new int[10];
+        Object[] pair = { shared, shared };
+        assertEquals(24 + 56, f.retainedSize(pair));
+        assertTrue(f.layout(Ticket.class).contains("Ticket.ticketId"));
+    }
+
+    /**
+     * Fails if a generated Ticket grows past the footprint limit.
+     */
+    @Test
+    void testTicketFootprint() {
+        Ticket t = new WorkloadGenerator(1L, 10, 10).nextTicket();
+        long size = FootprintBenchmark.footprint().retainedSize(t);
+        assertTrue(size <= FootprintBenchmark.DEFAULT_MAX_BYTES_PER_TICKET, "Ticket retained size " + size);
+    }
+
+}
@@ -0,0 +1,110 @@
+package edu.ncsu.csc216.ticket_manager.model.workload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.ticket_manager.model.command.Command;
+import edu.ncsu.csc216.ticket_manager.model.ticket.Ticket;
+
+/**
+ * Testing suite for the WorkloadGenerator class.
+ * @author brandonortiz
+ */
+class WorkloadGeneratorTest {
+
+    /**
+     * Describes the generated fields of a ticket, which exclude its id.
+     * @param t the ticket
+     * @return the description
+     */
+    private static String describe(Ticket t) {
+        return t.getTicketTypeString() + "|" + t.getSubject() + "|" + t.getCaller() + "|" + t.getCategory()
+                + "|" + t.getPriority() + "|" + t.getNotes();
+    }
+
+    /**
+     * Describes a Command.
+     * @param c the Command
+     * @return the description
+     */
+    private static String describe(Command c) {
+        return c.getCommand() + "|" + c.getOwnerId() + "|" + c.getCodeString() + "|" + c.getNote();
+    }
+
+    /**
+     * Generates tickets and walks each through its Command sequence.
+     * @param seed the seed
+     * @return a description of every ticket and Command, in order
+     */
+    private static List<String> workload(long seed) {
+        WorkloadGenerator gen = new WorkloadGenerator(seed, 50, 5);
+        List<String> out = new ArrayList<String>();
+        for (Ticket t : gen.nextTickets(200)) {
+            out.add(describe(t));
+            int stage = Ticket.stateOrdinal(Ticket.NEW_NAME);
+            for (Command c = gen.nextCommand(t, stage); c != null; c = gen.nextCommand(t, stage)) {
+                out.add(describe(c));
+                stage = WorkloadGenerator.nextStage(stage, c);
+                if (stage == WorkloadGenerator.DONE) { break; }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Tests that the same seed produces the same tickets and Commands, and a different
+     * seed a different workload.
+     */
+    @Test
+    void testSeedDeterminism() {
+        List<String> first = workload(42);
+        assertEquals(first, workload(42));
+        assertNotEquals(first, workload(43));
+    }
+
+    /**
+     * Tests that every sequence follows the documented transitions and ends.
+     */
+    @Test
+    void testSequences() {
+        WorkloadGenerator gen = new WorkloadGenerator(7, 10, 3);
+        for (Ticket t : gen.nextTickets(500)) {
+            int stage = Ticket.stateOrdinal(Ticket.NEW_NAME);
+            int steps = 0;
+            for (Command c = gen.nextCommand(t, stage); c != null; c = gen.nextCommand(t, stage)) {
+                String state = Ticket.stateName(stage);
+                switch (c.getCommand()) {
+                    case PROCESS:
+                        assertTrue(Ticket.NEW_NAME.equals(state) || Ticket.FEEDBACK_NAME.equals(state));
+                        assertTrue(c.getOwnerId().startsWith("owner"));
+                        break;
+                    case FEEDBACK:
+                        assertEquals(Ticket.WORKING_NAME, state);
+                        assertNotNull(c.getFeedbackCode());
+                        break;
+                    case RESOLVE:
+                        assertEquals(Ticket.WORKING_NAME, state);
+                        assertNotNull(c.getResolutionCode());
+                        break;
+                    case CONFIRM:
+                        assertEquals(Ticket.RESOLVED_NAME, state);
+                        break;
+                    case REOPEN:
+                        assertEquals(Ticket.CLOSED_NAME, state);
+                        break;
+                    default:
+                        assertNotNull(c.getCancellationCode());
+                }
+                stage = WorkloadGenerator.nextStage(stage, c);
+                if (stage == WorkloadGenerator.DONE) { break; }
+                assertTrue(++steps < 1000);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadGenerator(1, 0, 1));
+    }
+
+}